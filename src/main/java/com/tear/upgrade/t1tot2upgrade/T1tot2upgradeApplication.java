@@ -2,8 +2,10 @@ package com.tear.upgrade.t1tot2upgrade;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class T1tot2upgradeApplication {
 
 	public static void main(String[] args) {
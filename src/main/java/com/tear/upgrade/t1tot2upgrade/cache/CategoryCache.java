@@ -0,0 +1,232 @@
+package com.tear.upgrade.t1tot2upgrade.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tear.upgrade.t1tot2upgrade.entity.Category;
+import com.tear.upgrade.t1tot2upgrade.entity.User;
+import com.tear.upgrade.t1tot2upgrade.repository.CategoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.Nonnull;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Size-bounded cache from a user's category name to the category id and description, used to resolve
+ * categories on the expense write path without a query.
+ *
+ * <p>Categories created by {@link #getOrCreate} are inserted in the caller's transaction, so they commit or
+ * roll back together with the expenses using them, and no second connection is taken from the pool. A created
+ * category is evicted once that transaction completes and cached by the next lookup of the committed row.
+ * Concurrent writers of the same new name are reconciled by the atomic {@link CategoryRepository#getOrCreateId}
+ * on the (user_id, name) key.</p>
+ *
+ * <p>Hit, miss, eviction and size metrics are published through Micrometer under the
+ * {@code categories.by-name} cache name.</p>
+ */
+@Component
+@Slf4j
+public class CategoryCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "categories.by-name";
+
+    private final CategoryRepository categoryRepository;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Cache<CategoryKey, CachedCategory> cache;
+
+    public CategoryCache(CategoryRepository categoryRepository, Validator validator,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${expenses.category-cache.max-size:100000}") long maximumSize) {
+        this.categoryRepository = categoryRepository;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        log.info("Category cache created with maximum size {}", maximumSize);
+    }
+
+    /**
+     * Returns the category of a user with the given name, loading it on a miss.
+     *
+     * @param userId the identifier of the user
+     * @param name   the category name
+     * @return the cached category, or empty if the user has no category with that name
+     */
+    public Optional<CachedCategory> find(Long userId, String name) {
+        return Optional.ofNullable(cache.get(new CategoryKey(userId, name), key ->
+                categoryRepository.findByUserIdAndName(userId, name)
+                        .map(CachedCategory::of)
+                        .orElse(null)));
+    }
+
+    /**
+     * Returns the category of a user with the given name, creating it in the current transaction if it
+     * does not exist yet.
+     *
+     * @param user        the owner of the category
+     * @param name        the category name
+     * @param description the description used when the category has to be created
+     * @return the existing or newly created category
+     */
+    public CachedCategory getOrCreate(User user, String name, String description) {
+        return find(user.getId(), name).orElseGet(() -> create(user, name, description));
+    }
+
+    /**
+     * Resolves several categories of a user at once: hits are served from memory, the misses are loaded with
+     * one query and the names that still do not exist are created, in name order so that concurrent transactions
+     * lock the new (user_id, name) keys in the same order.
+     *
+     * @param user               the owner of the categories
+     * @param descriptionsByName the requested names mapped to the description used when one has to be created
+     * @return the categories keyed by name
+     */
+    public Map<String, CachedCategory> getOrCreateAll(User user, Map<String, String> descriptionsByName) {
+        Set<CategoryKey> keys = descriptionsByName.keySet().stream()
+                .map(name -> new CategoryKey(user.getId(), name))
+                .collect(Collectors.toSet());
+        Map<String, CachedCategory> categories = new HashMap<>();
+        cache.getAll(keys, missing -> {
+            Set<String> names = missing.stream()
+                    .map(CategoryKey::name)
+                    .collect(Collectors.toSet());
+            log.debug("Loading {} categories missing from the cache for user ID: {}", names.size(), user.getId());
+            return categoryRepository.findByUserIdAndNameIn(user.getId(), names).stream()
+                    .collect(Collectors.toMap(category -> new CategoryKey(user.getId(), category.getName()),
+                            CachedCategory::of));
+        }).forEach((key, category) -> categories.put(key.name(), category));
+
+        new TreeMap<>(descriptionsByName).forEach((name, description) -> {
+            if (!categories.containsKey(name)) {
+                categories.put(name, getOrCreate(user, name, description));
+            }
+        });
+        return categories;
+    }
+
+    /**
+     * Drops a category of a user now and again once the current transaction completes, so a lookup that
+     * raced with the change cannot keep the old row.
+     *
+     * @param userId the identifier of the user
+     * @param name   the category name
+     */
+    public void evict(Long userId, String name) {
+        CategoryKey key = new CategoryKey(userId, name);
+        cache.invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(key);
+                }
+            });
+        }
+        log.debug("Evicted category '{}' of user ID: {}", name, userId);
+    }
+
+    /**
+     * Drops every cached category of a user, e.g. after a bulk delete.
+     *
+     * @param userId the identifier of the user
+     */
+    public void evictUser(Long userId) {
+        cache.asMap().keySet().removeIf(key -> key.userId().equals(userId));
+        log.debug("Evicted cached categories of user ID: {}", userId);
+    }
+
+    @Override
+    public void bindTo(@Nonnull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    private CachedCategory create(User user, String name, String description) {
+        Category category = new Category();
+        category.setName(name);
+        category.setDescription(description);
+        category.setUser(user);
+        Set<ConstraintViolation<Category>> violations = validator.validate(category);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            log.error("Invalid new category '{}' for user ID: {}: {}", name, user.getId(), message);
+            throw new IllegalArgumentException(message);
+        }
+
+        CategoryKey key = new CategoryKey(user.getId(), name);
+        CachedCategory created = transactionTemplate.execute(status -> {
+            Long id = categoryRepository.getOrCreateId(user.getId(), name, description);
+            evictOnCompletion(key);
+            return new CachedCategory(id, name, description);
+        });
+        log.debug("Category '{}' resolved to ID: {} for user ID: {}", name, created.id(), user.getId());
+        return created;
+    }
+
+    /**
+     * Evicts a category resolved by {@link #create} once the current transaction completes. A lookup in the same
+     * transaction may already have cached the uncommitted row, which must go on a rollback; after a commit the
+     * next lookup caches the committed row, whose description may differ from the requested one when another
+     * writer created it first.
+     */
+    private void evictOnCompletion(CategoryKey key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidate(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cache.invalidate(key);
+            }
+        });
+    }
+
+    private record CategoryKey(Long userId, String name) {
+    }
+
+    /**
+     * Id, name and description of a category.
+     */
+    public record CachedCategory(Long id, String name, String description) {
+
+        public static CachedCategory of(Category category) {
+            return new CachedCategory(category.getId(), category.getName(), category.getDescription());
+        }
+
+        /**
+         * Builds a detached {@link Category} carrying the id, so it can be assigned to an expense without
+         * loading the row.
+         */
+        public Category toReference() {
+            Category category = new Category();
+            category.setId(id);
+            category.setName(name);
+            category.setDescription(description);
+            return category;
+        }
+    }
+}
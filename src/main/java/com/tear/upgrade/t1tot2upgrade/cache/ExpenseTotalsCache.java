@@ -0,0 +1,391 @@
+package com.tear.upgrade.t1tot2upgrade.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseDailyTotalModel;
+import com.tear.upgrade.t1tot2upgrade.repository.ExpenseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.UnaryOperator;
+
+/**
+ * Optional per-user, in-memory index of expense totals for fast date-range sums.
+ *
+ * <p>Each user is held as three parallel arrays: the distinct expense dates as epoch days in ascending
+ * order, and prefix sums of the amounts (in cents) and of the expense counts. A range total is two binary
+ * searches and two subtractions, without touching the database or allocating entities. Users are loaded
+ * lazily with one {@code GROUP BY date} query and patched after every committed write. The changes of a
+ * transaction are summed per user and day first and applied as one patch per user, so a bulk insert costs
+ * one copy of the arrays rather than one per row.</p>
+ *
+ * <p>The cache is bounded by an approximate memory budget in bytes ({@code expenses.totals-cache.max-bytes})
+ * and evicts the least valuable users first. Hit, miss and eviction counters are published through
+ * Micrometer under the {@code expenses.totals} cache name. It is disabled unless
+ * {@code expenses.totals-cache.enabled} is set.</p>
+ *
+ * <p>The cache is single-node only: it is patched by writes committed on this node and never hears about
+ * writes made on other nodes. Every user is therefore reloaded once {@code expenses.totals-cache.max-age}
+ * has passed since the load, however often it was patched in between, which bounds how stale a total can
+ * get when several nodes serve the same users.</p>
+ */
+@Component
+@Slf4j
+public class ExpenseTotalsCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "expenses.totals";
+
+    private static final int STRIPES = 64;
+
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private static final int BYTES_PER_DAY = Integer.BYTES + 2 * Long.BYTES;
+
+    private final ExpenseRepository expenseRepository;
+
+    private final boolean enabled;
+
+    private final Cache<Long, UserTotals> cache;
+
+    /**
+     * Bumped whenever a user's entry is patched or dropped, so a load that raced with a write is not cached.
+     */
+    private final AtomicLongArray versions = new AtomicLongArray(STRIPES);
+
+    /**
+     * Writes registered in a transaction that has not completed yet.
+     */
+    private final AtomicIntegerArray pendingWrites = new AtomicIntegerArray(STRIPES);
+
+    public ExpenseTotalsCache(ExpenseRepository expenseRepository,
+                              @Value("${expenses.totals-cache.enabled:false}") boolean enabled,
+                              @Value("${expenses.totals-cache.max-bytes:67108864}") long maximumBytes,
+                              @Value("${expenses.totals-cache.max-age:PT5M}") Duration maximumAge) {
+        this.expenseRepository = expenseRepository;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((Long userId, UserTotals totals) -> totals.weight())
+                .expireAfter(new ExpireAfterLoad(maximumAge))
+                .recordStats()
+                .build();
+        log.info("Expense totals cache {} with a budget of {} bytes and a maximum age of {}",
+                enabled ? "enabled" : "disabled", maximumBytes, maximumAge);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sums the expenses of a user between two dates, loading the user into the cache on a miss.
+     *
+     * @param userId    the identifier of the user
+     * @param startDate the first date included
+     * @param endDate   the last date included
+     * @return the total amount and count in the range
+     */
+    public RangeTotal getTotal(Long userId, Date startDate, Date endDate) {
+        UserTotals totals = cache.getIfPresent(userId);
+        if (totals == null) {
+            totals = load(userId);
+        }
+        return totals.sum(toEpochDay(startDate), toEpochDay(endDate));
+    }
+
+    /**
+     * Adds an amount and count to the day of a user once the current transaction commits. Negative values
+     * remove expenses. Changes recorded in the same transaction are combined and applied as one patch per user.
+     * Outside a transaction the user is dropped instead, since the change is already visible.
+     *
+     * @param userId the identifier of the user
+     * @param date   the expense date
+     * @param amount the amount to add
+     * @param count  the number of expenses to add
+     */
+    public void recordChange(Long userId, Date date, BigDecimal amount, long count) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(userId, stripe(userId), totals -> null);
+            return;
+        }
+        pendingPatch().add(userId, toEpochDay(date), toCents(amount), count);
+    }
+
+    /**
+     * Drops a user once the current transaction commits, e.g. after a bulk delete.
+     *
+     * @param userId the identifier of the user
+     */
+    public void invalidate(Long userId) {
+        if (enabled) {
+            afterCommit(userId, totals -> null);
+        }
+    }
+
+    @Override
+    public void bindTo(@Nonnull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    private UserTotals load(Long userId) {
+        int stripe = stripe(userId);
+        long version = versions.get(stripe);
+        UserTotals loaded = UserTotals.of(expenseRepository.findDailyTotalsByUserId(userId));
+        cache.asMap().compute(userId, (key, current) -> {
+            if (current != null) {
+                return current;
+            }
+            return pendingWrites.get(stripe) == 0 && versions.get(stripe) == version ? loaded : null;
+        });
+        log.debug("Loaded {} days of expense totals for user ID: {}", loaded.days.length, userId);
+        return loaded;
+    }
+
+    private void afterCommit(Long userId, UnaryOperator<UserTotals> change) {
+        int stripe = stripe(userId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(userId, stripe, totals -> null);
+            return;
+        }
+        pendingWrites.incrementAndGet(stripe);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        apply(userId, stripe, change);
+                    }
+                } finally {
+                    pendingWrites.decrementAndGet(stripe);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the patch collecting the changes of the current transaction, registering it on first use. It is
+     * looked up among the transaction's synchronizations, so a suspended outer transaction keeps its own patch.
+     */
+    private PendingPatch pendingPatch() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingPatch patch && patch.belongsTo(this)) {
+                return patch;
+            }
+        }
+        PendingPatch patch = new PendingPatch();
+        TransactionSynchronizationManager.registerSynchronization(patch);
+        return patch;
+    }
+
+    private void apply(Long userId, int stripe, UnaryOperator<UserTotals> change) {
+        cache.asMap().compute(userId, (key, totals) -> {
+            versions.incrementAndGet(stripe);
+            return totals == null ? null : change.apply(totals);
+        });
+    }
+
+    private int stripe(Long userId) {
+        return (int) (userId & (STRIPES - 1));
+    }
+
+    private static int toEpochDay(Date date) {
+        return Math.toIntExact(date.toLocalDate().toEpochDay());
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Expires a user a fixed time after it was loaded; patches keep the remaining time instead of restarting it.
+     */
+    private record ExpireAfterLoad(Duration maximumAge) implements Expiry<Long, UserTotals> {
+
+        @Override
+        public long expireAfterCreate(Long userId, UserTotals totals, long currentTime) {
+            return maximumAge.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long userId, UserTotals totals, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(Long userId, UserTotals totals, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Changes of one transaction, summed per user and day until it completes.
+     */
+    private final class PendingPatch implements TransactionSynchronization {
+
+        private final Map<Long, SortedMap<Integer, DayChange>> changesByUser = new HashMap<>();
+
+        boolean belongsTo(ExpenseTotalsCache cache) {
+            return ExpenseTotalsCache.this == cache;
+        }
+
+        void add(Long userId, int day, long cents, long count) {
+            changesByUser.computeIfAbsent(userId, id -> {
+                pendingWrites.incrementAndGet(stripe(id));
+                return new TreeMap<>();
+            }).computeIfAbsent(day, key -> new DayChange()).add(cents, count);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            changesByUser.forEach((userId, changes) -> {
+                int stripe = stripe(userId);
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        apply(userId, stripe, totals -> totals.patch(changes));
+                    }
+                } finally {
+                    pendingWrites.decrementAndGet(stripe);
+                }
+            });
+            log.debug("Applied expense totals changes of {} users after transaction completion", changesByUser.size());
+        }
+    }
+
+    /**
+     * Sum of the changes to one day.
+     */
+    static final class DayChange {
+
+        private long cents;
+
+        private long count;
+
+        void add(long cents, long count) {
+            this.cents += cents;
+            this.count += count;
+        }
+    }
+
+    /**
+     * Total amount in cents and number of expenses in a date range.
+     */
+    public record RangeTotal(long cents, long count) {
+
+        public BigDecimal amount() {
+            return BigDecimal.valueOf(cents, 2);
+        }
+    }
+
+    /**
+     * Immutable snapshot of one user; {@code centsPrefix[i]} and {@code countPrefix[i]} hold the sums of the
+     * first {@code i} days. Patches copy the arrays, so readers never see a partial update.
+     */
+    static final class UserTotals {
+
+        private final int[] days;
+
+        private final long[] centsPrefix;
+
+        private final long[] countPrefix;
+
+        private UserTotals(int[] days, long[] centsPrefix, long[] countPrefix) {
+            this.days = days;
+            this.centsPrefix = centsPrefix;
+            this.countPrefix = countPrefix;
+        }
+
+        static UserTotals of(List<ExpenseDailyTotalModel> dailyTotals) {
+            int size = dailyTotals.size();
+            int[] days = new int[size];
+            long[] centsPrefix = new long[size + 1];
+            long[] countPrefix = new long[size + 1];
+            for (int i = 0; i < size; i++) {
+                ExpenseDailyTotalModel dailyTotal = dailyTotals.get(i);
+                days[i] = toEpochDay(dailyTotal.date());
+                centsPrefix[i + 1] = centsPrefix[i] + toCents(dailyTotal.total());
+                countPrefix[i + 1] = countPrefix[i] + dailyTotal.count();
+            }
+            return new UserTotals(days, centsPrefix, countPrefix);
+        }
+
+        RangeTotal sum(int fromDay, int toDay) {
+            if (fromDay > toDay) {
+                return new RangeTotal(0, 0);
+            }
+            int from = lowerBound(fromDay);
+            int to = lowerBound(toDay + 1);
+            return new RangeTotal(centsPrefix[to] - centsPrefix[from], countPrefix[to] - countPrefix[from]);
+        }
+
+        /**
+         * Applies the summed changes of several days in one pass, adding the days that are not present yet.
+         */
+        UserTotals patch(SortedMap<Integer, DayChange> changes) {
+            int added = 0;
+            for (int day : changes.keySet()) {
+                if (Arrays.binarySearch(days, day) < 0) {
+                    added++;
+                }
+            }
+            int[] newDays = new int[days.length + added];
+            long[] newCents = new long[newDays.length + 1];
+            long[] newCounts = new long[newDays.length + 1];
+            Iterator<Map.Entry<Integer, DayChange>> pending = changes.entrySet().iterator();
+            Map.Entry<Integer, DayChange> change = pending.hasNext() ? pending.next() : null;
+            int i = 0;
+            for (int j = 0; j < newDays.length; j++) {
+                boolean fromExisting = i < days.length && (change == null || days[i] <= change.getKey());
+                boolean fromChange = change != null && (i == days.length || change.getKey() <= days[i]);
+                newDays[j] = fromExisting ? days[i] : change.getKey();
+                long cents = 0;
+                long count = 0;
+                if (fromExisting) {
+                    cents += centsPrefix[i + 1] - centsPrefix[i];
+                    count += countPrefix[i + 1] - countPrefix[i];
+                    i++;
+                }
+                if (fromChange) {
+                    cents += change.getValue().cents;
+                    count += change.getValue().count;
+                    change = pending.hasNext() ? pending.next() : null;
+                }
+                newCents[j + 1] = newCents[j] + cents;
+                newCounts[j + 1] = newCounts[j] + count;
+            }
+            return new UserTotals(newDays, newCents, newCounts);
+        }
+
+        int weight() {
+            return ENTRY_OVERHEAD_BYTES + days.length * BYTES_PER_DAY;
+        }
+
+        private int lowerBound(int day) {
+            int index = Arrays.binarySearch(days, day);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
@@ -1,13 +1,27 @@
 package com.tear.upgrade.t1tot2upgrade.configuration;
 
+import com.tear.upgrade.t1tot2upgrade.security.JwtKeyRing;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
 import io.github.cdimascio.dotenv.Dotenv;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 @Configuration
+@Slf4j
 public class EnvConfig {
 
     @Bean
@@ -15,18 +29,148 @@ public class EnvConfig {
         return Dotenv.load();
     }
 
+    /**
+     * Creates the connection pool for {@code DB_URL}. When {@code DB_REPLICA_URLS} lists one or more replica
+     * URLs, every replica gets a pool of its own and read-only transactions are routed to them, see
+     * {@link ReplicaRoutingDataSource}. Replicas use the primary's credentials unless
+     * {@code DB_REPLICA_USERNAME} and {@code DB_REPLICA_PASSWORD} are set, and {@code DB_REPLICA_LAG_BUDGET_MS}
+     * sets how long a user's reads stay on the primary after the user wrote. Replica pools start even when the
+     * replica is unreachable, are not warmed up and wait at most {@code DB_REPLICA_CONNECTION_TIMEOUT_MS} for a
+     * connection, so a replica outage never blocks startup and reads fail over to the primary quickly.
+     */
+    @Bean(destroyMethod = "close")
+    public DataSource dataSource(Dotenv dotenv, ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        String poolName = dotenv.get("DB_POOL_NAME", "expense-pool");
+        HikariDataSource primary = createPool(dotenv, registry, poolName, dotenv.get("DB_URL"),
+                dotenv.get("DB_USERNAME"), dotenv.get("DB_PASSWORD"), false);
+
+        String replicaUrls = dotenv.get("DB_REPLICA_URLS");
+        if (replicaUrls == null || replicaUrls.isBlank()) {
+            return primary;
+        }
+        List<String> urls = Arrays.stream(replicaUrls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
+        List<DataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            replicas.add(createPool(dotenv, registry, poolName + "-replica-" + (i + 1), urls.get(i),
+                    dotenv.get("DB_REPLICA_USERNAME", dotenv.get("DB_USERNAME")),
+                    dotenv.get("DB_REPLICA_PASSWORD", dotenv.get("DB_PASSWORD")), true));
+        }
+        Duration lagBudget = Duration.ofMillis(getLong(dotenv, "DB_REPLICA_LAG_BUDGET_MS", 5_000L));
+        log.info("Read-only transactions routed to {} replicas, reads pinned to the primary for {} after a write",
+                replicas.size(), lagBudget);
+        return new ReplicaRoutingDataSource(primary, replicas, lagBudget);
+    }
+
+    /**
+     * Builds the JWT key ring from {@code JWT_KEYS}, a comma separated list of key ids. Each id needs a
+     * {@code JWT_KEY_<id>} entry with the Base64 secret and may set {@code JWT_KEY_<id>_ACTIVE_FROM}
+     * (ISO-8601 instant) to schedule when it takes over signing. A single {@code JWT_SECRET} is still
+     * accepted as a key with id {@value JwtKeyRing#DEFAULT_KEY_ID}.
+     */
     @Bean
-    public DataSource dataSource(Dotenv dotenv) {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setUrl(dotenv.get("DB_URL"));
-        dataSource.setUsername(dotenv.get("DB_USERNAME"));
-        dataSource.setPassword(dotenv.get("DB_PASSWORD"));
+    public JwtKeyRing jwtKeyRing(Dotenv dotenv) {
+        String keyIds = dotenv.get("JWT_KEYS");
+        if (keyIds != null && !keyIds.isBlank()) {
+            List<JwtKeyRing.JwtKey> keys = Arrays.stream(keyIds.split(","))
+                    .map(String::trim)
+                    .filter(keyId -> !keyId.isEmpty())
+                    .map(keyId -> JwtKeyRing.decode(keyId, getRequired(dotenv, "JWT_KEY_" + keyId),
+                            Instant.parse(dotenv.get("JWT_KEY_" + keyId + "_ACTIVE_FROM", Instant.EPOCH.toString()))))
+                    .toList();
+            log.info("Loaded {} JWT keys", keys.size());
+            return new JwtKeyRing(keys);
+        }
+        String secret = dotenv.get("JWT_SECRET");
+        if (secret != null && !secret.isBlank()) {
+            return new JwtKeyRing(List.of(JwtKeyRing.decode(JwtKeyRing.DEFAULT_KEY_ID, secret, Instant.EPOCH)));
+        }
+        return JwtKeyRing.generated();
+    }
+
+    private HikariDataSource createPool(Dotenv dotenv, MeterRegistry registry, String poolName, String jdbcUrl,
+                                       String username, String password, boolean replica) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setReadOnly(replica);
+        config.setMaximumPoolSize(getInt(dotenv, "DB_POOL_MAX_SIZE", 10));
+        config.setMinimumIdle(getInt(dotenv, "DB_POOL_MIN_IDLE", config.getMaximumPoolSize()));
+        config.setConnectionTimeout(getLong(dotenv, "DB_POOL_CONNECTION_TIMEOUT_MS", 30_000L));
+        config.setValidationTimeout(getLong(dotenv, "DB_POOL_VALIDATION_TIMEOUT_MS", 5_000L));
+        config.setIdleTimeout(getLong(dotenv, "DB_POOL_IDLE_TIMEOUT_MS", 600_000L));
+        config.setMaxLifetime(getLong(dotenv, "DB_POOL_MAX_LIFETIME_MS", 1_800_000L));
+        config.setKeepaliveTime(getLong(dotenv, "DB_POOL_KEEPALIVE_MS", 0L));
+        config.setLeakDetectionThreshold(getLong(dotenv, "DB_POOL_LEAK_DETECTION_MS", 0L));
+        if (replica) {
+            config.setInitializationFailTimeout(-1);
+            config.setConnectionTimeout(getLong(dotenv, "DB_REPLICA_CONNECTION_TIMEOUT_MS", 2_000L));
+        }
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize", "250");
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        config.addDataSourceProperty("useServerPrepStmts", "true");
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        config.addDataSourceProperty("useCursorFetch", "true");
+
+        if (registry != null) {
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+
+        HikariDataSource dataSource = new HikariDataSource(config);
+        log.info("Connection pool '{}' created with max size {} and min idle {}",
+                config.getPoolName(), config.getMaximumPoolSize(), config.getMinimumIdle());
 
+        if (!replica && Boolean.parseBoolean(dotenv.get("DB_POOL_WARM_UP", "true"))) {
+            warmUp(dataSource, config.getMinimumIdle());
+        }
         return dataSource;
     }
 
-    @Bean
-    public String jwtSecret(Dotenv dotenv) {
-        return dotenv.get("JWT_SECRET");
+    /**
+     * Opens {@code connections} physical connections up front and returns them to the pool,
+     * so the first requests after startup do not pay the TCP and authentication handshake.
+     */
+    void warmUp(HikariDataSource dataSource, int connections) {
+        List<Connection> opened = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                opened.add(dataSource.getConnection());
+            }
+            log.info("Connection pool '{}' warmed up with {} connections", dataSource.getPoolName(), opened.size());
+        } catch (SQLException e) {
+            log.warn("Connection pool warm-up stopped after {} connections: {}", opened.size(), e.getMessage());
+        } finally {
+            for (Connection connection : opened) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Failed to return warm-up connection to the pool", e);
+                }
+            }
+        }
+    }
+
+    private String getRequired(Dotenv dotenv, String key) {
+        String value = dotenv.get(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException("Missing required environment entry: " + key);
+        }
+        return value;
+    }
+
+    private int getInt(Dotenv dotenv, String key, int defaultValue) {
+        String value = dotenv.get(key);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private long getLong(Dotenv dotenv, String key, long defaultValue) {
+        String value = dotenv.get(key);
+        return value == null || value.isBlank() ? defaultValue : Long.parseLong(value.trim());
     }
 }
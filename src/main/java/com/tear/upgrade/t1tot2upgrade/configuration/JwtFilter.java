@@ -1,6 +1,10 @@
 package com.tear.upgrade.t1tot2upgrade.configuration;
 
+import com.tear.upgrade.t1tot2upgrade.entity.model.ParsedJwtModel;
+import com.tear.upgrade.t1tot2upgrade.security.AuthenticatedUser;
 import com.tear.upgrade.t1tot2upgrade.security.CustomUserDetailService;
+import com.tear.upgrade.t1tot2upgrade.security.TokenRevocationRegistry;
+import com.tear.upgrade.t1tot2upgrade.security.VerifiedTokenCache;
 import com.tear.upgrade.t1tot2upgrade.service.JwtToken;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.annotation.Nonnull;
@@ -10,7 +14,10 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -18,6 +25,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Component
 @Slf4j
@@ -29,39 +39,83 @@ public class JwtFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailService userDetailService;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Value("${security.jwt.stateless:false}")
+    private boolean stateless;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull FilterChain filterChain) throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            try {
-                username = jwtTokenService.extractUserName(token);
-                log.info("JWT token extracted for user: {}", username);
-            } catch (IllegalArgumentException e) {
-                log.error("Unable to get JWT token from request: {}", e.getMessage());
-                throw new RuntimeException("Unable to get JWT token");
-            } catch (ExpiredJwtException e) {
-                log.error("JWT token has expired: {}", token);
-                throw new RuntimeException("Jwt token has expired");
+        if (authHeader != null && authHeader.startsWith("Bearer ") && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String token = authHeader.substring(7);
+            Optional<UserDetails> cachedUser = verifiedTokenCache.get(token);
+            if (cachedUser.isPresent()) {
+                log.debug("JWT token found in verified token cache for user: {}", cachedUser.get().getUsername());
+                authenticate(request, cachedUser.get());
+            } else {
+                authenticateWithToken(request, token);
             }
         }
+        filterChain.doFilter(request, response);
+    }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            log.info("JWT token validated successfully for user: {}", username);
-            UserDetails userDetails = userDetailService.loadUserByUsername(username);
+    private void authenticateWithToken(HttpServletRequest request, String token) {
+        ParsedJwtModel parsedToken;
+        try {
+            parsedToken = jwtTokenService.parseToken(token);
+            log.info("JWT token extracted for user: {}", parsedToken.subject());
+        } catch (IllegalArgumentException e) {
+            log.error("Unable to get JWT token from request: {}", e.getMessage());
+            throw new RuntimeException("Unable to get JWT token");
+        } catch (ExpiredJwtException e) {
+            log.error("JWT token has expired: {}", token);
+            throw new RuntimeException("Jwt token has expired");
+        }
 
-            if (jwtTokenService.validateToken(token, userDetails)) {
-                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-                log.info("User authentication successful for: {}", username);
-            } else {
-                log.warn("JWT token validation failed for user: {}", username);
-            }
+        String username = parsedToken.subject();
+        if (username == null) {
+            return;
         }
-        filterChain.doFilter(request, response);
+        boolean fromClaims = stateless && parsedToken.userId() != null;
+        if (fromClaims && tokenRevocationRegistry.isRevoked(parsedToken.userId(), parsedToken.issuedAt())) {
+            log.warn("JWT token issued at {} has been revoked for user: {}", parsedToken.issuedAt(), username);
+            return;
+        }
+        log.info("JWT token validated successfully for user: {}", username);
+        UserDetails userDetails = fromClaims
+                ? buildUserFromClaims(parsedToken)
+                : userDetailService.loadUserByUsername(username);
+
+        if (jwtTokenService.validateToken(parsedToken, userDetails)) {
+            verifiedTokenCache.put(token, userDetails, parsedToken.expiration());
+            authenticate(request, userDetails);
+        } else {
+            log.warn("JWT token validation failed for user: {}", username);
+        }
+    }
+
+    /**
+     * Builds the principal from the verified claims alone, without reading the user from the database.
+     * Role changes and deletions are enforced through the {@link TokenRevocationRegistry}.
+     */
+    private UserDetails buildUserFromClaims(ParsedJwtModel parsedToken) {
+        log.debug("Building principal from token claims for user: {}", parsedToken.subject());
+        List<GrantedAuthority> authorities = parsedToken.roles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+        return new AuthenticatedUser(parsedToken.userId(), parsedToken.subject(), "", authorities);
+    }
+
+    private void authenticate(HttpServletRequest request, UserDetails userDetails) {
+        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+        log.info("User authentication successful for: {}", userDetails.getUsername());
     }
 }
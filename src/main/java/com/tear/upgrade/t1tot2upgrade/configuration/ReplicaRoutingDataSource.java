@@ -0,0 +1,298 @@
+package com.tear.upgrade.t1tot2upgrade.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to replica databases and everything else to the primary.
+ *
+ * <p>Replicas are used round-robin. A replica that fails to hand out a connection is taken out of rotation
+ * until the next health check finds it valid again; when no replica is available reads fall back to the
+ * primary. Health checks run on a dedicated executor and give up after a short timeout, so a replica that
+ * hangs neither blocks the shared scheduler nor stays in rotation.</p>
+ *
+ * <p>Once a read-write transaction of an authenticated user commits, that user's reads are pinned to the
+ * primary for the replication lag budget, so they see their own writes. The pins are held in memory and
+ * therefore apply to the node that handled the write.</p>
+ *
+ * <p>The routing decision needs to know whether the current transaction is read-only, which Spring only
+ * records after the transaction manager has opened its connection. The physical connection is therefore
+ * fetched lazily, when the first statement runs.</p>
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final Duration HEALTH_CHECK_TIMEOUT = Duration.ofSeconds(2);
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final Duration lagBudget;
+
+    private final Clock clock;
+
+    private final Map<String, Instant> pinnedUntil = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final Duration healthCheckTimeout;
+
+    private final ExecutorService healthCheckExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "replica-health-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration lagBudget) {
+        this(primary, replicas, lagBudget, HEALTH_CHECK_TIMEOUT, Clock.systemUTC());
+    }
+
+    ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration lagBudget,
+                             Duration healthCheckTimeout, Clock clock) {
+        if (replicas == null || replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica data source must be configured");
+        }
+        this.primary = primary;
+        this.replicas = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica("replica-" + (i + 1), replicas.get(i)));
+        }
+        this.lagBudget = lagBudget;
+        this.healthCheckTimeout = healthCheckTimeout;
+        this.clock = clock;
+        setTargetDataSource(new Router());
+    }
+
+    /**
+     * Pins the user's reads to the primary until the lag budget has passed.
+     *
+     * @param username the name of the authenticated user who committed a write
+     */
+    public void recordWrite(String username) {
+        Instant now = clock.instant();
+        pinnedUntil.put(username, now.plus(lagBudget));
+        pinnedUntil.values().removeIf(until -> until.isBefore(now));
+        log.debug("Reads of user {} pinned to the primary for {}", username, lagBudget);
+    }
+
+    /**
+     * Checks whether the user's reads still have to go to the primary.
+     *
+     * @param username the name of the authenticated user
+     * @return {@code true} if the user committed a write within the lag budget
+     */
+    public boolean isPinnedToPrimary(String username) {
+        Instant until = pinnedUntil.get(username);
+        return until != null && clock.instant().isBefore(until);
+    }
+
+    /**
+     * Validates every replica in parallel and puts the ones that respond back into rotation. A replica whose
+     * check does not finish within the health check timeout stays out of rotation, and no new check is started
+     * for it until the pending one returns.
+     */
+    @Scheduled(fixedDelayString = "${expenses.datasource.replica-health-check-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            if (replica.pendingCheck() == null || replica.pendingCheck().isDone()) {
+                replica.setPendingCheck(healthCheckExecutor.submit(() -> isValid(replica)));
+            }
+        }
+        long deadline = System.nanoTime() + healthCheckTimeout.toNanos();
+        for (Replica replica : replicas) {
+            boolean valid;
+            try {
+                valid = replica.pendingCheck().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                log.warn("Health check of {} did not finish within {}", replica.name(), healthCheckTimeout);
+                valid = false;
+            } catch (ExecutionException e) {
+                valid = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            replica.setHealthy(valid);
+        }
+    }
+
+    /**
+     * Closes the primary and replica data sources that can be closed, e.g. connection pools.
+     */
+    @Override
+    public void close() {
+        healthCheckExecutor.shutdownNow();
+        closeQuietly(primary);
+        replicas.forEach(replica -> closeQuietly(replica.dataSource()));
+    }
+
+    private boolean isValid(Replica replica) {
+        try (Connection connection = replica.dataSource().getConnection()) {
+            return connection.isValid((int) Math.max(1, healthCheckTimeout.toSeconds()));
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection getReadConnection(ConnectionOpener opener) throws SQLException {
+        String username = currentUsername();
+        if (username != null && isPinnedToPrimary(username)) {
+            log.debug("Read of user {} routed to the primary within the lag budget", username);
+            return opener.open(primary);
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.isHealthy()) {
+                continue;
+            }
+            try {
+                return opener.open(replica.dataSource());
+            } catch (SQLException e) {
+                log.warn("Failed to get a connection from {}: {}", replica.name(), e.getMessage());
+                replica.setHealthy(false);
+            }
+        }
+        log.debug("No replica available, read routed to the primary");
+        return opener.open(primary);
+    }
+
+    private Connection getWriteConnection(ConnectionOpener opener) throws SQLException {
+        String username = currentUsername();
+        if (username != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordWrite(username);
+                }
+            });
+        }
+        return opener.open(primary);
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close data source: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Opens a connection on the data source the router picked, with or without explicit credentials.
+     */
+    @FunctionalInterface
+    private interface ConnectionOpener {
+
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    /**
+     * Picks the physical data source for the connection the proxy is about to use.
+     */
+    private class Router extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return route(DataSource::getConnection);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return route(dataSource -> dataSource.getConnection(username, password));
+        }
+
+        private Connection route(ConnectionOpener opener) throws SQLException {
+            if (TransactionSynchronizationManager.isActualTransactionActive()
+                    && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                return getReadConnection(opener);
+            }
+            return getWriteConnection(opener);
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        private volatile boolean healthy = true;
+
+        private Future<Boolean> pendingCheck;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private String name() {
+            return name;
+        }
+
+        private DataSource dataSource() {
+            return dataSource;
+        }
+
+        private Future<Boolean> pendingCheck() {
+            return pendingCheck;
+        }
+
+        private void setPendingCheck(Future<Boolean> pendingCheck) {
+            this.pendingCheck = pendingCheck;
+        }
+
+        private boolean isHealthy() {
+            return healthy;
+        }
+
+        private void setHealthy(boolean healthy) {
+            if (this.healthy != healthy) {
+                if (healthy) {
+                    log.info("Replica {} is back in rotation", name);
+                } else {
+                    log.warn("Replica {} taken out of rotation, reads fall back to other replicas or the primary", name);
+                }
+            }
+            this.healthy = healthy;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.tear.upgrade.t1tot2upgrade.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Opt-in Hibernate second-level cache for the read-mostly {@code Role}, {@code Category} and {@code Profile}
+ * entities, backed by Caffeine through JCache.
+ *
+ * <p>Every region is bounded by {@code expenses.second-level-cache.max-entries} and expires entries
+ * {@code expenses.second-level-cache.ttl} after they are written. Hibernate statistics are switched on
+ * together with the cache, so per-region hits, misses and puts are exposed as the
+ * {@code hibernate.second.level.cache.requests} and {@code hibernate.second.level.cache.puts} metrics.</p>
+ *
+ * <p>Only active when {@code expenses.second-level-cache.enabled} is set. Otherwise
+ * {@code hibernate.cache.use_second_level_cache} stays {@code false} in {@code application.properties}, because
+ * Hibernate would pick up the JCache region factory from the classpath on its own.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "expenses.second-level-cache.enabled", havingValue = "true")
+@Slf4j
+public class SecondLevelCacheConfig {
+
+    public static final String ROLE_REGION = "roles";
+
+    public static final String CATEGORY_REGION = "categories";
+
+    public static final String PROFILE_REGION = "profiles";
+
+    /**
+     * Suffix Hibernate appends to an entity region to name the region of its natural-id lookups.
+     */
+    public static final String NATURAL_ID_SUFFIX = "##NaturalId";
+
+    private static final List<String> REGIONS = List.of(
+            ROLE_REGION, ROLE_REGION + NATURAL_ID_SUFFIX, CATEGORY_REGION, PROFILE_REGION);
+
+    @Value("${expenses.second-level-cache.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${expenses.second-level-cache.ttl:PT1H}")
+    private Duration ttl;
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        CacheManager cacheManager = createCacheManager();
+        log.info("Hibernate second-level cache enabled for regions {} with max {} entries and TTL {}",
+                REGIONS, maxEntries, ttl);
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    /**
+     * Creates a cache manager of its own, so several application contexts in one JVM do not share regions,
+     * and pre-creates every region with the configured bounds.
+     */
+    private CacheManager createCacheManager() {
+        CaffeineCachingProvider provider = (CaffeineCachingProvider) Caching.getCachingProvider(
+                CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("second-level-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            configuration.setStatisticsEnabled(true);
+            configuration.setStoreByValue(false);
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+}
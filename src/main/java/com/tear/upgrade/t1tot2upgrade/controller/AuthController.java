@@ -1,9 +1,9 @@
 package com.tear.upgrade.t1tot2upgrade.controller;
 
-import com.tear.upgrade.t1tot2upgrade.entity.User;
 import com.tear.upgrade.t1tot2upgrade.entity.model.AuthModel;
 import com.tear.upgrade.t1tot2upgrade.entity.model.JwtResponseModel;
 import com.tear.upgrade.t1tot2upgrade.dto.UserDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.UserResponseDTO;
 import com.tear.upgrade.t1tot2upgrade.security.CustomUserDetailService;
 import com.tear.upgrade.t1tot2upgrade.service.JwtToken;
 import com.tear.upgrade.t1tot2upgrade.service.UserService;
@@ -48,7 +48,7 @@ public class AuthController {
 
 
     @PostMapping("/register")
-    public ResponseEntity<User> save(@Valid @RequestBody UserDTO userDTO) {
+    public ResponseEntity<UserResponseDTO> save(@Valid @RequestBody UserDTO userDTO) {
         log.info("Registering new user with email: {}", userDTO.getEmail());
         return new ResponseEntity<>(userService.createUser(userDTO), HttpStatus.CREATED);
     }
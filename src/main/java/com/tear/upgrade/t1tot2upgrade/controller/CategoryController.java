@@ -6,6 +6,7 @@ import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +17,10 @@ import java.util.List;
 @Slf4j
 public class CategoryController {
 
+    private static final String DELETED_COUNT_HEADER = "X-Deleted-Count";
+
+    private static final int DELETE_BATCH_SIZE = 500;
+
     @Autowired
     private CategoryService categoryService;
 
@@ -49,10 +54,12 @@ public class CategoryController {
 
     @ResponseStatus(value = HttpStatus.NO_CONTENT)
     @DeleteMapping("/categories")
-    public ResponseEntity<HttpStatus> deleteAllCategoriesForUser(Pageable pageable) {
+    public ResponseEntity<HttpStatus> deleteAllCategoriesForUser(@PageableDefault(size = DELETE_BATCH_SIZE) Pageable pageable) {
         log.info("Deleting all categories for user with pagination: {}", pageable);
-        categoryService.deleteAllCategoriesForUser(pageable);
-        log.info("All categories deleted successfully");
-        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        long deleted = categoryService.deleteAllCategoriesForUser(pageable);
+        log.info("{} categories deleted successfully", deleted);
+        return ResponseEntity.noContent()
+                .header(DELETED_COUNT_HEADER, String.valueOf(deleted))
+                .build();
     }
 }
\ No newline at end of file
@@ -1,22 +1,43 @@
 package com.tear.upgrade.t1tot2upgrade.controller;
 
+import com.tear.upgrade.t1tot2upgrade.dto.CursorPageDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseBatchResultDTO;
 import com.tear.upgrade.t1tot2upgrade.dto.ExpenseDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseSummaryDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseTotalDTO;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExportFormat;
+import com.tear.upgrade.t1tot2upgrade.entity.model.SummaryGroupBy;
 import com.tear.upgrade.t1tot2upgrade.service.ExpenseService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.sql.Date;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @Slf4j
 public class ExpenseController {
 
+    private static final String DELETED_COUNT_HEADER = "X-Deleted-Count";
+
+    private static final int DELETE_BATCH_SIZE = 500;
+
+    private static final String DEFAULT_CURSOR_PAGE_SIZE = "20";
+
     @Autowired
     private ExpenseService expenseService;
 
@@ -43,11 +64,13 @@ public class ExpenseController {
 
     @ResponseStatus(value = HttpStatus.NO_CONTENT)
     @DeleteMapping("/expenses")
-    public ResponseEntity<HttpStatus> deleteAllExpensesForUser(Pageable pageable) {
+    public ResponseEntity<HttpStatus> deleteAllExpensesForUser(@PageableDefault(size = DELETE_BATCH_SIZE) Pageable pageable) {
         log.info("Request to delete all expenses for the user with pagination: {}", pageable);
-        expenseService.deleteAllExpensesForUser(pageable);
-        log.info("All expenses deleted successfully for the user");
-        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        long deleted = expenseService.deleteAllExpensesForUser(pageable);
+        log.info("{} expenses deleted successfully for the user", deleted);
+        return ResponseEntity.noContent()
+                .header(DELETED_COUNT_HEADER, String.valueOf(deleted))
+                .build();
     }
 
     @ResponseStatus(value = HttpStatus.CREATED)
@@ -57,6 +80,12 @@ public class ExpenseController {
         return expenseService.saveExpanseDetails(expenseDTO);
     }
 
+    @PostMapping("/expenses/batch")
+    public List<ExpenseBatchResultDTO> saveExpensesBatch(@RequestBody List<ExpenseDTO> expenseDTOs) {
+        log.info("Request to save a batch of {} expenses", expenseDTOs.size());
+        return expenseService.saveExpensesBatch(expenseDTOs);
+    }
+
     @PutMapping("/expenses/{id}")
     public ExpenseDTO updateExpenseDetails(@PathVariable Long id, @RequestBody ExpenseDTO expenseDTO) {
         log.info("Request to update expense with ID: {} and details: {}", id, expenseDTO);
@@ -81,9 +110,78 @@ public class ExpenseController {
         return expenseService.readByName(keyword, page);
     }
 
+    @GetMapping("/expenses/search")
+    public List<ExpenseDTO> searchExpenses(@RequestParam String q, Pageable page) {
+        log.info("Request to search expenses for: {} with pagination: {}", q, page);
+        return expenseService.searchExpenses(q, page);
+    }
+
     @GetMapping("/expenses/date")
     public List<ExpenseDTO> getAllExpensesByDate(@RequestParam(required = false) Date startDate, @RequestParam(required = false) Date endDate, Pageable page) {
         log.info("Request to get expenses by date range from: {} to: {} with pagination: {}", startDate, endDate, page);
         return expenseService.readByDate(startDate, endDate, page);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/expenses/cursor")
+    public CursorPageDTO<ExpenseDTO> getAllExpenses(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = DEFAULT_CURSOR_PAGE_SIZE) int size) {
+        log.info("Fetching expenses after cursor: {} with size: {}", cursor, size);
+        return expenseService.getAllExpenses(cursor, size);
+    }
+
+    @GetMapping("/expenses/name/cursor")
+    public CursorPageDTO<ExpenseDTO> getAllExpensesByName(@RequestParam String keyword,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = DEFAULT_CURSOR_PAGE_SIZE) int size) {
+        log.info("Request to get expenses by name containing keyword: {} after cursor: {} with size: {}", keyword, cursor, size);
+        return expenseService.readByName(keyword, cursor, size);
+    }
+
+    @GetMapping("/expenses/date/cursor")
+    public CursorPageDTO<ExpenseDTO> getAllExpensesByDate(@RequestParam(required = false) Date startDate,
+                                                         @RequestParam(required = false) Date endDate,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = DEFAULT_CURSOR_PAGE_SIZE) int size) {
+        log.info("Request to get expenses by date range from: {} to: {} after cursor: {} with size: {}", startDate, endDate, cursor, size);
+        return expenseService.readByDate(startDate, endDate, cursor, size);
+    }
+
+    @GetMapping("/expenses/export")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(@RequestParam(defaultValue = "csv") String format,
+                                                                @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        log.info("Request to export expenses as {} with gzip: {}", exportFormat, gzip);
+        String fileName = "expenses." + exportFormat.getFileExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream);
+                expenseService.exportExpenses(exportFormat, gzipOutputStream);
+                gzipOutputStream.finish();
+            } else {
+                expenseService.exportExpenses(exportFormat, outputStream);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    @GetMapping("/expenses/summary")
+    public List<ExpenseSummaryDTO> getExpenseSummary(@RequestParam(defaultValue = "category") List<String> groupBy,
+                                                     @RequestParam(required = false) Date startDate,
+                                                     @RequestParam(required = false) Date endDate) {
+        Set<SummaryGroupBy> dimensions = groupBy.stream()
+                .map(SummaryGroupBy::fromValue)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(SummaryGroupBy.class)));
+        log.info("Request to get expense summary grouped by {} from: {} to: {}", dimensions, startDate, endDate);
+        return expenseService.getExpenseSummary(dimensions, startDate, endDate);
+    }
+
+    @GetMapping("/expenses/total")
+    public ExpenseTotalDTO getExpenseTotal(@RequestParam(required = false) Date startDate,
+                                           @RequestParam(required = false) Date endDate) {
+        log.info("Request to get expense total from: {} to: {}", startDate, endDate);
+        return expenseService.getExpenseTotal(startDate, endDate);
+    }
+}
@@ -0,0 +1,37 @@
+package com.tear.upgrade.t1tot2upgrade.controller;
+
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseImportDTO;
+import com.tear.upgrade.t1tot2upgrade.service.ExpenseImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RestController
+@Slf4j
+public class ExpenseImportController {
+
+    @Autowired
+    private ExpenseImportService expenseImportService;
+
+    @ResponseStatus(value = HttpStatus.CREATED)
+    @PostMapping("/expenses/import")
+    public ExpenseImportDTO createImport(@RequestParam(required = false) String fileName) {
+        log.info("Request to create expense import for file: {}", fileName);
+        return expenseImportService.createImport(fileName);
+    }
+
+    @PutMapping(value = "/expenses/import/{id}", consumes = "text/csv")
+    public ExpenseImportDTO importExpenses(@PathVariable Long id, InputStream inputStream) {
+        log.info("Request to upload CSV content for expense import with ID: {}", id);
+        return expenseImportService.importExpenses(id, inputStream);
+    }
+
+    @GetMapping("/expenses/import/{id}")
+    public ExpenseImportDTO getImport(@PathVariable Long id) {
+        log.info("Request to fetch expense import with ID: {}", id);
+        return expenseImportService.getImport(id);
+    }
+}
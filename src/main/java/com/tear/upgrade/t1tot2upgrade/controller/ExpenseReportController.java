@@ -0,0 +1,43 @@
+package com.tear.upgrade.t1tot2upgrade.controller;
+
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseReportDTO;
+import com.tear.upgrade.t1tot2upgrade.service.ExpenseRollupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@Slf4j
+public class ExpenseReportController {
+
+    @Autowired
+    private ExpenseRollupService expenseRollupService;
+
+    @GetMapping("/expenses/reports/monthly")
+    public List<ExpenseReportDTO> getMonthlyReport(@RequestParam(required = false) YearMonth from,
+                                                   @RequestParam(required = false) YearMonth to,
+                                                   @RequestParam(defaultValue = "false") boolean byCategory) {
+        log.info("Request to get monthly report from: {} to: {} by category: {}", from, to, byCategory);
+        return expenseRollupService.getMonthlyReport(from, to, byCategory);
+    }
+
+    @GetMapping("/expenses/reports/yearly")
+    public List<ExpenseReportDTO> getYearlyReport(@RequestParam(required = false) Integer from,
+                                                  @RequestParam(required = false) Integer to,
+                                                  @RequestParam(defaultValue = "false") boolean byCategory) {
+        log.info("Request to get yearly report from: {} to: {} by category: {}", from, to, byCategory);
+        return expenseRollupService.getYearlyReport(from, to, byCategory);
+    }
+
+    @PostMapping("/expenses/reports/rebuild")
+    public long rebuildReports() {
+        log.info("Request to rebuild the monthly rollup");
+        return expenseRollupService.rebuildForLoggedInUser();
+    }
+}
@@ -1,10 +1,12 @@
 package com.tear.upgrade.t1tot2upgrade.controller;
 
 import com.tear.upgrade.t1tot2upgrade.dto.RoleDTO;
+import com.tear.upgrade.t1tot2upgrade.entity.model.RoleMemberModel;
 import com.tear.upgrade.t1tot2upgrade.service.RoleService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -36,6 +38,12 @@ public class RoleController {
         return new ResponseEntity<>(roleService.readRole(id), HttpStatus.OK);
     }
 
+    @GetMapping("/roles/{id}/users")
+    public List<RoleMemberModel> readRoleMembers(@PathVariable Long id, Pageable page) {
+        log.info("Received request to retrieve members of role with ID: {} with pagination: {}", id, page);
+        return roleService.readRoleMembers(id, page).toList();
+    }
+
     @PutMapping("/roles/{id}")
     public ResponseEntity<RoleDTO> updateRole(@PathVariable Long id, @RequestBody RoleDTO roleDTO) {
         log.info("Received request to update role with ID: {}", id);
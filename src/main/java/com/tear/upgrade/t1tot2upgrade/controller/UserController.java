@@ -1,5 +1,6 @@
 package com.tear.upgrade.t1tot2upgrade.controller;
 
+import com.tear.upgrade.t1tot2upgrade.dto.UserResponseDTO;
 import com.tear.upgrade.t1tot2upgrade.entity.User;
 import com.tear.upgrade.t1tot2upgrade.service.UserService;
 import lombok.extern.slf4j.Slf4j;
@@ -16,19 +17,19 @@ public class UserController {
     private UserService userService;
 
     @GetMapping("/user")
-    public ResponseEntity<User> readUser() {
+    public ResponseEntity<UserResponseDTO> readUser() {
         log.info("Received request to retrieve user details.");
         return new ResponseEntity<>(userService.readUser(), HttpStatus.OK);
     }
 
     @PutMapping("/user")
-    public ResponseEntity<User> updateUser(@RequestBody User user) {
+    public ResponseEntity<UserResponseDTO> updateUser(@RequestBody User user) {
         log.info("Received request to update user details: {}", user.getEmail());
         return new ResponseEntity<>(userService.updateUser(user), HttpStatus.OK);
     }
 
     @PutMapping("/user/{id}")
-    public ResponseEntity<User> updateUserById(@PathVariable Long id, @RequestBody User user) {
+    public ResponseEntity<UserResponseDTO> updateUserById(@PathVariable Long id, @RequestBody User user) {
         log.info("Received request to update user with ID: {}", id);
         return new ResponseEntity<>(userService.updateUserById(id, user), HttpStatus.OK);
     }
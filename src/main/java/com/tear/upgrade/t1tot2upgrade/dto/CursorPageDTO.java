@@ -0,0 +1,21 @@
+package com.tear.upgrade.t1tot2upgrade.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+
+    private String nextCursor;
+
+    private boolean hasNext;
+}
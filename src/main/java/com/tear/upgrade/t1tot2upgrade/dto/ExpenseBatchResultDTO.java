@@ -0,0 +1,28 @@
+package com.tear.upgrade.t1tot2upgrade.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ExpenseBatchResultDTO {
+
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    private int index;
+
+    private Status status;
+
+    private ExpenseDTO expense;
+
+    private List<String> errors;
+}
@@ -0,0 +1,34 @@
+package com.tear.upgrade.t1tot2upgrade.dto;
+
+import com.tear.upgrade.t1tot2upgrade.entity.ExpenseImport;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ExpenseImportDTO {
+
+    private Long id;
+
+    private String fileName;
+
+    private ExpenseImport.Status status;
+
+    private long processedRows;
+
+    private long importedRows;
+
+    private long failedRows;
+
+    private String lastError;
+
+    private Timestamp createdAt;
+
+    private Timestamp updatedAt;
+}
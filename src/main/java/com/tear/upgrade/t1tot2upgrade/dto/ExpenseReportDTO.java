@@ -0,0 +1,23 @@
+package com.tear.upgrade.t1tot2upgrade.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ExpenseReportDTO {
+
+    private String period;
+
+    private String category;
+
+    private BigDecimal total;
+
+    private long count;
+}
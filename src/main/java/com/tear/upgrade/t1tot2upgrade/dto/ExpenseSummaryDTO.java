@@ -0,0 +1,27 @@
+package com.tear.upgrade.t1tot2upgrade.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ExpenseSummaryDTO {
+
+    private String category;
+
+    private String period;
+
+    private BigDecimal total;
+
+    private long count;
+
+    private BigDecimal min;
+
+    private BigDecimal max;
+}
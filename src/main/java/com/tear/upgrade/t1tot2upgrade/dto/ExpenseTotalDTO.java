@@ -0,0 +1,24 @@
+package com.tear.upgrade.t1tot2upgrade.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ExpenseTotalDTO {
+
+    private Date startDate;
+
+    private Date endDate;
+
+    private BigDecimal total;
+
+    private long count;
+}
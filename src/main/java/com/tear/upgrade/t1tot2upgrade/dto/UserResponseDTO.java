@@ -0,0 +1,24 @@
+package com.tear.upgrade.t1tot2upgrade.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserResponseDTO {
+
+    private Long id;
+    private String username;
+    private String email;
+    private List<RoleDTO> roles;
+    private ProfileDTO profile;
+    private Timestamp createdAt;
+    private Timestamp updatedAt;
+}
@@ -22,7 +22,10 @@ import java.sql.Timestamp;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "expenses")
+@Table(name = "expenses", indexes = {
+        @Index(name = "idx_expenses_user_date_id", columnList = "user_id, date, id"),
+        @Index(name = "idx_expenses_user_category", columnList = "user_id, category_id")
+})
 public class Expense {
 
     @Id
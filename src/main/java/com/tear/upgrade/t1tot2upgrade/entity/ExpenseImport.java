@@ -0,0 +1,68 @@
+package com.tear.upgrade.t1tot2upgrade.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.sql.Timestamp;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "expense_imports")
+public class ExpenseImport {
+
+    public enum Status {
+        CREATED,
+        IN_PROGRESS,
+        COMPLETED,
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(nullable = false)
+    private long processedRows;
+
+    @Column(nullable = false)
+    private long importedRows;
+
+    @Column(nullable = false)
+    private long failedRows;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private User user;
+
+    @Column(nullable = false, updatable = false)
+    @CreationTimestamp
+    private Timestamp createdAt;
+
+    @Column(nullable = false)
+    @UpdateTimestamp
+    private Timestamp updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+}
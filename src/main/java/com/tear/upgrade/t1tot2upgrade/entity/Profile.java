@@ -1,17 +1,20 @@
 package com.tear.upgrade.t1tot2upgrade.entity;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.tear.upgrade.t1tot2upgrade.configuration.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "profiles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PROFILE_REGION)
 public class Profile {
 
     @Id
@@ -29,9 +32,4 @@ public class Profile {
 
     @NotBlank(message = "Address is required")
     private String address;
-
-    @OneToOne
-    @JoinColumn(name = "user_id")
-    @JsonIgnore
-    private User user;
 }
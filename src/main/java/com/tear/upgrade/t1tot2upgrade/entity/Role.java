@@ -1,31 +1,32 @@
 package com.tear.upgrade.t1tot2upgrade.entity;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.tear.upgrade.t1tot2upgrade.configuration.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
-import java.util.HashSet;
 import java.util.Objects;
-import java.util.Set;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "roles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.ROLE_REGION)
+@NaturalIdCache
 public class Role {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     private String roleName;
 
-    @JsonIgnore
-    @ManyToMany(mappedBy = "roles", fetch = FetchType.EAGER)
-    private Set<User> users = new HashSet<>();
-
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -15,7 +15,7 @@ import java.util.Set;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = "uk_users_profile", columnNames = "profile_id"))
 public class User {
 
     @Id
@@ -38,7 +38,9 @@ public class User {
     )
     private Set<Role> roles = new HashSet<>();
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    @JoinColumn(name = "profile_id")
+    @ToString.Exclude
     private Profile profile;
 
     @Column(nullable = false, updatable = false)
@@ -49,6 +51,10 @@ public class User {
     @UpdateTimestamp
     private Timestamp updatedAt;
 
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private Timestamp tokensValidAfter;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,49 @@
+package com.tear.upgrade.t1tot2upgrade.entity.model;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last expense returned by a keyset page. Expenses are ordered by date and id, both
+ * descending, so the next page starts strictly after this pair.
+ *
+ * @param date the date of the last expense returned
+ * @param id   the identifier of the last expense returned
+ */
+public record ExpenseCursorModel(Date date, Long id) {
+
+    private static final String SEPARATOR = ",";
+
+    /**
+     * Encodes the cursor as an opaque URL-safe string.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        String value = date.toLocalDate() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously returned by {@link #encode()}.
+     *
+     * @param cursor the encoded cursor
+     * @return the decoded {@link ExpenseCursorModel}
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static ExpenseCursorModel decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = value.split(SEPARATOR);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new ExpenseCursorModel(Date.valueOf(LocalDate.parse(parts[0])), Long.parseLong(parts[1]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.tear.upgrade.t1tot2upgrade.entity.model;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+
+/**
+ * Sum and count of the expenses of one user on one day.
+ *
+ * @param date  the expense date
+ * @param total the sum of the amounts
+ * @param count the number of expenses
+ */
+public record ExpenseDailyTotalModel(Date date, BigDecimal total, Long count) {
+}
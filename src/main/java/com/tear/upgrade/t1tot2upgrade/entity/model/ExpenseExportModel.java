@@ -0,0 +1,20 @@
+package com.tear.upgrade.t1tot2upgrade.entity.model;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+
+/**
+ * Flat, unmanaged row of the expense export. Selected with a constructor expression so streamed rows never
+ * enter the persistence context.
+ *
+ * @param id          the expense identifier
+ * @param name        the expense name
+ * @param description the expense description
+ * @param amount      the expense amount
+ * @param date        the expense date
+ * @param notes       the expense notes
+ * @param category    the name of the expense category
+ */
+public record ExpenseExportModel(Long id, String name, String description, BigDecimal amount, Date date,
+                                 String notes, String category) {
+}
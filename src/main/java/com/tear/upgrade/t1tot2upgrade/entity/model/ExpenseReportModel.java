@@ -0,0 +1,28 @@
+package com.tear.upgrade.t1tot2upgrade.entity.model;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of a monthly or yearly report read from the rollup table. {@code month} is {@code null} in yearly
+ * reports and {@code category} is {@code null} when the report is not split by category.
+ *
+ * @param year     the year
+ * @param month    the month of the year (1-12)
+ * @param category the category name
+ * @param total    the sum of the amounts
+ * @param count    the number of expenses
+ */
+public record ExpenseReportModel(Integer year, Integer month, String category, BigDecimal total, Long count) {
+
+    public ExpenseReportModel(Integer year, Integer month, BigDecimal total, Long count) {
+        this(year, month, null, total, count);
+    }
+
+    public ExpenseReportModel(Integer year, String category, BigDecimal total, Long count) {
+        this(year, null, category, total, count);
+    }
+
+    public ExpenseReportModel(Integer year, BigDecimal total, Long count) {
+        this(year, null, null, total, count);
+    }
+}
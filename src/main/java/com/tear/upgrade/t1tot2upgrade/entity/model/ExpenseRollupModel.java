@@ -0,0 +1,24 @@
+package com.tear.upgrade.t1tot2upgrade.entity.model;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Sum and count of the expenses of one category in one month, as aggregated from the expenses table.
+ *
+ * @param categoryId the category identifier
+ * @param year       the year
+ * @param month      the month of the year (1-12)
+ * @param total      the sum of the amounts
+ * @param count      the number of expenses
+ */
+public record ExpenseRollupModel(Long categoryId, Integer year, Integer month, BigDecimal total, Long count) {
+
+    /**
+     * @return the first day of the month, as stored in the rollup table
+     */
+    public Date monthStart() {
+        return Date.valueOf(LocalDate.of(year, month, 1));
+    }
+}
@@ -0,0 +1,20 @@
+package com.tear.upgrade.t1tot2upgrade.entity.model;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+
+/**
+ * One group of the expense summary. Dimension fields that were not grouped by are {@code null}.
+ *
+ * @param category the category name
+ * @param year     the year, when grouped by month
+ * @param month    the month of the year (1-12), when grouped by month
+ * @param day      the expense date, when grouped by day
+ * @param total    the sum of the amounts in the group
+ * @param count    the number of expenses in the group
+ * @param min      the smallest amount in the group
+ * @param max      the largest amount in the group
+ */
+public record ExpenseSummaryModel(String category, Integer year, Integer month, Date day, BigDecimal total,
+                                  long count, BigDecimal min, BigDecimal max) {
+}
@@ -0,0 +1,43 @@
+package com.tear.upgrade.t1tot2upgrade.entity.model;
+
+import java.util.Arrays;
+
+/**
+ * Output formats supported by the expense export.
+ */
+public enum ExportFormat {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String mediaType;
+
+    private final String fileExtension;
+
+    ExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Resolves a format from its case-insensitive name.
+     *
+     * @param value the requested format, e.g. {@code csv}
+     * @return the matching {@link ExportFormat}
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static ExportFormat fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(format -> format.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported export format: " + value));
+    }
+}
@@ -0,0 +1,24 @@
+package com.tear.upgrade.t1tot2upgrade.entity.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable view of a JWT whose signature has already been verified.
+ *
+ * @param subject    the token subject (user email)
+ * @param userId     the user identifier from the {@code uid} claim, {@code null} for tokens issued without it
+ * @param roles      the role names carried in the {@code roles} claim
+ * @param issuedAt   the instant the token was issued
+ * @param expiration the instant after which the token is no longer valid
+ */
+public record ParsedJwtModel(String subject, Long userId, List<String> roles, Instant issuedAt, Instant expiration) {
+
+    public ParsedJwtModel {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    public boolean isExpired() {
+        return expiration.isBefore(Instant.now());
+    }
+}
@@ -0,0 +1,11 @@
+package com.tear.upgrade.t1tot2upgrade.entity.model;
+
+/**
+ * A user holding a role, without the user's roles, profile or credentials.
+ *
+ * @param id       the user identifier
+ * @param username the username
+ * @param email    the email address
+ */
+public record RoleMemberModel(Long id, String username, String email) {
+}
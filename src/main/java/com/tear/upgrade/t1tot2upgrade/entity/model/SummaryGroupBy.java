@@ -0,0 +1,27 @@
+package com.tear.upgrade.t1tot2upgrade.entity.model;
+
+import java.util.Arrays;
+
+/**
+ * Dimensions the expense summary can be grouped by.
+ */
+public enum SummaryGroupBy {
+
+    CATEGORY,
+    MONTH,
+    DAY;
+
+    /**
+     * Resolves a dimension from its case-insensitive name.
+     *
+     * @param value the requested dimension, e.g. {@code month}
+     * @return the matching {@link SummaryGroupBy}
+     * @throws IllegalArgumentException if the dimension is not supported
+     */
+    public static SummaryGroupBy fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(groupBy -> groupBy.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported summary dimension: " + value));
+    }
+}
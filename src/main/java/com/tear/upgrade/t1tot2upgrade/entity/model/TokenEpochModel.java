@@ -0,0 +1,13 @@
+package com.tear.upgrade.t1tot2upgrade.entity.model;
+
+import java.sql.Timestamp;
+
+/**
+ * The token revocation epoch of a user.
+ *
+ * @param userId           the user identifier
+ * @param tokensValidAfter the instant up to which issued tokens are rejected, or {@code null} if the user's
+ *                         tokens were never revoked
+ */
+public record TokenEpochModel(Long userId, Timestamp tokensValidAfter) {
+}
@@ -2,11 +2,20 @@ package com.tear.upgrade.t1tot2upgrade.repository;
 
 import com.tear.upgrade.t1tot2upgrade.entity.Category;
 import com.tear.upgrade.t1tot2upgrade.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,5 +29,43 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     Optional<Category> findByNameAndUser(String name, User user);
 
-    Optional<Category> findByName(String name);
+    Optional<Category> findByUserIdAndName(Long userId, String name);
+
+    List<Category> findByUserIdAndNameIn(Long userId, Collection<String> names);
+
+    /**
+     * Inserts the category unless the user already has one with that name. On a duplicate the update turns the
+     * statement into a no-op that records the existing row's id as the connection's {@code LAST_INSERT_ID()},
+     * so parallel writers never fail on first use of a category and both learn the same id. The native query
+     * names the table it writes, so Hibernate only evicts the categories cache region instead of every region.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "categories"))
+    @Query(value = "INSERT INTO categories (name, description, user_id, created_at, updated_at) " +
+            "VALUES (:name, :description, :userId, CURRENT_TIMESTAMP(6), CURRENT_TIMESTAMP(6)) " +
+            "ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("name") String name, @Param("description") String description);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "categories"))
+    @Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+    Long lastInsertId();
+
+    /**
+     * Returns the id of the user's category with the given name, creating it first if needed. Must run in a
+     * transaction; keep it short, since a concurrent insert of the same name waits for it to commit.
+     *
+     * <p>The id comes from {@code LAST_INSERT_ID()} rather than a read of the row: a {@code REPEATABLE READ}
+     * transaction that already read {@code categories} does not see a row another transaction committed
+     * since, so the read would miss the row the insert just collided with.</p>
+     */
+    default Long getOrCreateId(Long userId, String name, String description) {
+        insertIfAbsent(userId, name, description);
+        return lastInsertId();
+    }
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "categories"))
+    @Query(value = "DELETE FROM categories WHERE user_id = :userId LIMIT :limit", nativeQuery = true)
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
 }
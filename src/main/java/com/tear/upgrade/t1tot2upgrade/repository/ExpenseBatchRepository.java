@@ -0,0 +1,17 @@
+package com.tear.upgrade.t1tot2upgrade.repository;
+
+import com.tear.upgrade.t1tot2upgrade.entity.Expense;
+
+import java.util.List;
+
+public interface ExpenseBatchRepository {
+
+    /**
+     * Inserts expenses with JDBC batching, bypassing the persistence context. The generated identifiers
+     * and timestamps are written back to the given instances.
+     *
+     * @param userId   the identifier of the user owning the expenses
+     * @param expenses the expenses to insert, each with a persisted category
+     */
+    void batchInsert(Long userId, List<Expense> expenses);
+}
@@ -0,0 +1,69 @@
+package com.tear.upgrade.t1tot2upgrade.repository;
+
+import com.tear.upgrade.t1tot2upgrade.entity.Expense;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+public class ExpenseBatchRepositoryImpl implements ExpenseBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO expenses " +
+            "(name, description, amount, date, notes, user_id, category_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${expenses.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    public void batchInsert(Long userId, List<Expense> expenses) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int from = 0; from < expenses.size(); from += chunkSize) {
+            List<Expense> chunk = expenses.subList(from, Math.min(from + chunkSize, expenses.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Expense expense = chunk.get(i);
+                            ps.setString(1, expense.getName());
+                            ps.setString(2, expense.getDescription());
+                            ps.setBigDecimal(3, expense.getAmount());
+                            ps.setDate(4, expense.getDate());
+                            ps.setString(5, expense.getNotes());
+                            ps.setLong(6, userId);
+                            ps.setLong(7, expense.getCategory().getId());
+                            ps.setTimestamp(8, now);
+                            ps.setTimestamp(9, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    }, keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < chunk.size(); i++) {
+                Expense expense = chunk.get(i);
+                expense.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+                expense.setCreatedAt(now);
+                expense.setUpdatedAt(now);
+            }
+            log.debug("Inserted batch of {} expenses for user ID: {}", chunk.size(), userId);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.tear.upgrade.t1tot2upgrade.repository;
+
+import com.tear.upgrade.t1tot2upgrade.entity.ExpenseImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Optional;
+
+@Repository
+public interface ExpenseImportRepository extends JpaRepository<ExpenseImport, Long> {
+
+    Optional<ExpenseImport> findByUserIdAndId(Long userId, Long importId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ExpenseImport i SET i.status = :inProgress, i.version = i.version + 1, i.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE i.id = :importId AND i.user.id = :userId " +
+            "AND (i.status IN :claimable OR (i.status = :inProgress AND i.updatedAt < :staleBefore))")
+    int claim(@Param("userId") Long userId, @Param("importId") Long importId,
+              @Param("claimable") Collection<ExpenseImport.Status> claimable,
+              @Param("inProgress") ExpenseImport.Status inProgress, @Param("staleBefore") Timestamp staleBefore);
+
+    /**
+     * Atomically moves the import to {@code IN_PROGRESS}, so only one upload processes it at a time. A
+     * {@code CREATED} or {@code FAILED} import can always be claimed. An {@code IN_PROGRESS} import can only be
+     * claimed once its progress has not advanced since {@code staleBefore}, i.e. its upload died with the node
+     * running it. The claim bumps the version, so a stale upload that is still alive fails its next chunk.
+     *
+     * @return {@code true} if the import was claimed, {@code false} if another upload is running or it is completed
+     */
+    default boolean claim(Long userId, Long importId, Timestamp staleBefore) {
+        return claim(userId, importId, EnumSet.of(ExpenseImport.Status.CREATED, ExpenseImport.Status.FAILED),
+                ExpenseImport.Status.IN_PROGRESS, staleBefore) == 1;
+    }
+}
@@ -0,0 +1,79 @@
+package com.tear.upgrade.t1tot2upgrade.repository;
+
+import com.tear.upgrade.t1tot2upgrade.entity.ExpenseMonthlyRollup;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseReportModel;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.List;
+
+@Repository
+public interface ExpenseMonthlyRollupRepository extends JpaRepository<ExpenseMonthlyRollup, Long> {
+
+    // The native upserts name the table they write, otherwise Hibernate evicts every second-level cache region.
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "expense_monthly_rollups"))
+    @Query(value = "INSERT INTO expense_monthly_rollups (user_id, category_id, month_start, total_amount, expense_count) " +
+            "VALUES (:userId, :categoryId, :monthStart, :amount, :count) " +
+            "ON DUPLICATE KEY UPDATE total_amount = total_amount + :amount, expense_count = expense_count + :count",
+            nativeQuery = true)
+    int addToRollup(@Param("userId") Long userId, @Param("categoryId") Long categoryId, @Param("monthStart") Date monthStart,
+                    @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "expense_monthly_rollups"))
+    @Query(value = "INSERT INTO expense_monthly_rollups (user_id, category_id, month_start, total_amount, expense_count) " +
+            "VALUES (:userId, :categoryId, :monthStart, :amount, :count) " +
+            "ON DUPLICATE KEY UPDATE total_amount = :amount, expense_count = :count",
+            nativeQuery = true)
+    int replaceRollup(@Param("userId") Long userId, @Param("categoryId") Long categoryId, @Param("monthStart") Date monthStart,
+                      @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM ExpenseMonthlyRollup r WHERE r.user.id = :userId")
+    List<ExpenseMonthlyRollup> findByUserIdForUpdate(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM ExpenseMonthlyRollup r WHERE r.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT r.user.id FROM ExpenseMonthlyRollup r")
+    List<Long> findDistinctUserIds();
+
+    @Query("SELECT new com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseReportModel(" +
+            "extract(year from r.monthStart), extract(month from r.monthStart), SUM(r.totalAmount), SUM(r.expenseCount)) " +
+            "FROM ExpenseMonthlyRollup r WHERE r.user.id = :userId AND r.monthStart BETWEEN :from AND :to AND r.expenseCount > 0 " +
+            "GROUP BY r.monthStart ORDER BY r.monthStart")
+    List<ExpenseReportModel> findMonthlyReport(@Param("userId") Long userId, @Param("from") Date from, @Param("to") Date to);
+
+    @Query("SELECT new com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseReportModel(" +
+            "extract(year from r.monthStart), extract(month from r.monthStart), c.name, SUM(r.totalAmount), SUM(r.expenseCount)) " +
+            "FROM ExpenseMonthlyRollup r JOIN r.category c " +
+            "WHERE r.user.id = :userId AND r.monthStart BETWEEN :from AND :to AND r.expenseCount > 0 " +
+            "GROUP BY r.monthStart, c.name ORDER BY r.monthStart, c.name")
+    List<ExpenseReportModel> findMonthlyReportByCategory(@Param("userId") Long userId, @Param("from") Date from, @Param("to") Date to);
+
+    @Query("SELECT new com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseReportModel(" +
+            "extract(year from r.monthStart), SUM(r.totalAmount), SUM(r.expenseCount)) " +
+            "FROM ExpenseMonthlyRollup r WHERE r.user.id = :userId AND r.monthStart BETWEEN :from AND :to AND r.expenseCount > 0 " +
+            "GROUP BY extract(year from r.monthStart) ORDER BY extract(year from r.monthStart)")
+    List<ExpenseReportModel> findYearlyReport(@Param("userId") Long userId, @Param("from") Date from, @Param("to") Date to);
+
+    @Query("SELECT new com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseReportModel(" +
+            "extract(year from r.monthStart), c.name, SUM(r.totalAmount), SUM(r.expenseCount)) " +
+            "FROM ExpenseMonthlyRollup r JOIN r.category c " +
+            "WHERE r.user.id = :userId AND r.monthStart BETWEEN :from AND :to AND r.expenseCount > 0 " +
+            "GROUP BY extract(year from r.monthStart), c.name ORDER BY extract(year from r.monthStart), c.name")
+    List<ExpenseReportModel> findYearlyReportByCategory(@Param("userId") Long userId, @Param("from") Date from, @Param("to") Date to);
+}
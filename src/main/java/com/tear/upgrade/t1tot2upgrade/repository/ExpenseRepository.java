@@ -3,27 +3,125 @@ package com.tear.upgrade.t1tot2upgrade.repository;
 import com.tear.upgrade.t1tot2upgrade.entity.Category;
 import com.tear.upgrade.t1tot2upgrade.entity.Expense;
 import com.tear.upgrade.t1tot2upgrade.entity.User;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseDailyTotalModel;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseExportModel;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseRollupModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Date;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, ExpenseBatchRepository,
+        ExpenseSummaryRepository {
 
-    Page<Expense> findByUserIdAndNameContaining(Long userId, String keyword, Pageable page);
+    @EntityGraph(attributePaths = "category")
+    Slice<Expense> findByUserIdAndNameContaining(Long userId, String keyword, Pageable page);
 
-    Page<Expense> findByUserIdAndDateBetween(Long userId, Date startDate, Date endDate, Pageable page);
+    @EntityGraph(attributePaths = "category")
+    Slice<Expense> findByUserIdAndDateBetween(Long userId, Date startDate, Date endDate, Pageable page);
 
+    @EntityGraph(attributePaths = "category")
     Page<Expense> findByUserId(Long userId, Pageable page);
 
+    @EntityGraph(attributePaths = "category")
     Optional<Expense> findByUserIdAndId(Long userId, Long expenseId);
 
+    @EntityGraph(attributePaths = "category")
     List<Expense> findByCategory(Category category);
 
+    @EntityGraph(attributePaths = "category")
     List<Expense> findByUserAndCategory(User user, Category category);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseExportModel(" +
+            "e.id, e.name, e.description, e.amount, e.date, e.notes, c.name) " +
+            "FROM Expense e JOIN e.category c WHERE e.user.id = :userId ORDER BY e.id")
+    Stream<ExpenseExportModel> streamExportByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "expenses"))
+    @Query(value = "DELETE FROM expenses WHERE user_id = :userId LIMIT :limit", nativeQuery = true)
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId ORDER BY e.date DESC, e.id DESC")
+    List<Expense> findKeysetByUserId(@Param("userId") Long userId, Pageable page);
+
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId " +
+            "AND (e.date < :date OR (e.date = :date AND e.id < :id)) ORDER BY e.date DESC, e.id DESC")
+    List<Expense> findKeysetByUserIdAfter(@Param("userId") Long userId, @Param("date") Date date,
+            @Param("id") Long id, Pageable page);
+
+    /**
+     * Keyset variant of {@link #findByUserIdAndNameContaining}; like the derived query, {@code %}, {@code _} and
+     * the escape character in the keyword match literally.
+     */
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId " +
+            "AND e.name LIKE CONCAT('%', :#{escape(#keyword)}, '%') ESCAPE :#{escapeCharacter()} " +
+            "ORDER BY e.date DESC, e.id DESC")
+    List<Expense> findKeysetByUserIdAndNameContaining(@Param("userId") Long userId,
+            @Param("keyword") String keyword, Pageable page);
+
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId " +
+            "AND e.name LIKE CONCAT('%', :#{escape(#keyword)}, '%') ESCAPE :#{escapeCharacter()} " +
+            "AND (e.date < :date OR (e.date = :date AND e.id < :id)) ORDER BY e.date DESC, e.id DESC")
+    List<Expense> findKeysetByUserIdAndNameContainingAfter(@Param("userId") Long userId, @Param("keyword") String keyword,
+            @Param("date") Date date, @Param("id") Long id, Pageable page);
+
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId AND e.date BETWEEN :startDate AND :endDate " +
+            "ORDER BY e.date DESC, e.id DESC")
+    List<Expense> findKeysetByUserIdAndDateBetween(@Param("userId") Long userId, @Param("startDate") Date startDate,
+            @Param("endDate") Date endDate, Pageable page);
+
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId AND e.date BETWEEN :startDate AND :endDate " +
+            "AND (e.date < :date OR (e.date = :date AND e.id < :id)) ORDER BY e.date DESC, e.id DESC")
+    List<Expense> findKeysetByUserIdAndDateBetweenAfter(@Param("userId") Long userId, @Param("startDate") Date startDate,
+            @Param("endDate") Date endDate, @Param("date") Date date, @Param("id") Long id, Pageable page);
+
+    @Query("SELECT new com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseRollupModel(" +
+            "e.category.id, extract(year from e.date), extract(month from e.date), SUM(e.amount), COUNT(e)) " +
+            "FROM Expense e WHERE e.user.id = :userId " +
+            "GROUP BY e.category.id, extract(year from e.date), extract(month from e.date)")
+    List<ExpenseRollupModel> aggregateMonthlyByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT e.user.id FROM Expense e")
+    List<Long> findDistinctUserIds();
+
+    @Query("SELECT new com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseDailyTotalModel(e.date, SUM(e.amount), COUNT(e)) " +
+            "FROM Expense e WHERE e.user.id = :userId GROUP BY e.date ORDER BY e.date")
+    List<ExpenseDailyTotalModel> findDailyTotalsByUserId(@Param("userId") Long userId);
+
+    @Query(value = "SELECT e.id FROM expenses e WHERE e.user_id = :userId " +
+            "AND MATCH(e.name, e.description, e.notes) AGAINST (:query IN BOOLEAN MODE) " +
+            "ORDER BY MATCH(e.name, e.description, e.notes) AGAINST (:query IN BOOLEAN MODE) DESC, e.id DESC",
+            nativeQuery = true)
+    List<Long> searchIdsByUserId(@Param("userId") Long userId, @Param("query") String query, Pageable page);
+
+    @EntityGraph(attributePaths = "category")
+    List<Expense> findByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,22 @@
+package com.tear.upgrade.t1tot2upgrade.repository;
+
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseSummaryModel;
+import com.tear.upgrade.t1tot2upgrade.entity.model.SummaryGroupBy;
+
+import java.sql.Date;
+import java.util.List;
+import java.util.Set;
+
+public interface ExpenseSummaryRepository {
+
+    /**
+     * Aggregates the expenses of a user with a single {@code GROUP BY} query.
+     *
+     * @param userId    the identifier of the user owning the expenses
+     * @param groupBy   the dimensions to group by, empty for a single overall total
+     * @param startDate the first date included
+     * @param endDate   the last date included
+     * @return one {@link ExpenseSummaryModel} per group, ordered by the grouped dimensions
+     */
+    List<ExpenseSummaryModel> summarizeByUserId(Long userId, Set<SummaryGroupBy> groupBy, Date startDate, Date endDate);
+}
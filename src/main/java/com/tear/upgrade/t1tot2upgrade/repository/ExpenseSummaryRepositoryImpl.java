@@ -0,0 +1,70 @@
+package com.tear.upgrade.t1tot2upgrade.repository;
+
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseSummaryModel;
+import com.tear.upgrade.t1tot2upgrade.entity.model.SummaryGroupBy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+public class ExpenseSummaryRepositoryImpl implements ExpenseSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ExpenseSummaryModel> summarizeByUserId(Long userId, Set<SummaryGroupBy> groupBy, Date startDate, Date endDate) {
+        boolean byCategory = groupBy.contains(SummaryGroupBy.CATEGORY);
+        boolean byMonth = groupBy.contains(SummaryGroupBy.MONTH);
+        boolean byDay = groupBy.contains(SummaryGroupBy.DAY);
+
+        List<String> columns = new ArrayList<>();
+        if (byCategory) {
+            columns.add("c.name");
+        }
+        if (byMonth) {
+            columns.add("extract(year from e.date)");
+            columns.add("extract(month from e.date)");
+        }
+        if (byDay) {
+            columns.add("e.date");
+        }
+
+        String dimensions = String.join(", ", columns);
+        String query = "SELECT " + (columns.isEmpty() ? "" : dimensions + ", ") +
+                "SUM(e.amount), COUNT(e), MIN(e.amount), MAX(e.amount) " +
+                "FROM Expense e" + (byCategory ? " JOIN e.category c" : "") +
+                " WHERE e.user.id = :userId AND e.date BETWEEN :startDate AND :endDate" +
+                (columns.isEmpty() ? "" : " GROUP BY " + dimensions + " ORDER BY " + dimensions);
+        log.debug("Running expense summary query: {}", query);
+
+        List<Object[]> rows = entityManager.createQuery(query, Object[].class)
+                .setParameter("userId", userId)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .getResultList();
+
+        List<ExpenseSummaryModel> summary = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            int i = 0;
+            String category = byCategory ? (String) row[i++] : null;
+            Integer year = byMonth ? ((Number) row[i++]).intValue() : null;
+            Integer month = byMonth ? ((Number) row[i++]).intValue() : null;
+            Date day = byDay ? (Date) row[i++] : null;
+            BigDecimal total = (BigDecimal) row[i++];
+            long count = ((Number) row[i++]).longValue();
+            BigDecimal min = (BigDecimal) row[i++];
+            BigDecimal max = (BigDecimal) row[i];
+            if (count > 0) {
+                summary.add(new ExpenseSummaryModel(category, year, month, day, total, count, min, max));
+            }
+        }
+        return summary;
+    }
+}
@@ -2,6 +2,8 @@ package com.tear.upgrade.t1tot2upgrade.repository;
 
 import com.tear.upgrade.t1tot2upgrade.entity.Profile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,5 +11,6 @@ import java.util.Optional;
 @Repository
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
 
-    Optional<Profile> findByUserId(Long userId);
+    @Query("SELECT u.profile FROM User u WHERE u.id = :userId")
+    Optional<Profile> findByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
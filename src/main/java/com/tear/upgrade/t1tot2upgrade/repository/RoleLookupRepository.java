@@ -0,0 +1,17 @@
+package com.tear.upgrade.t1tot2upgrade.repository;
+
+import com.tear.upgrade.t1tot2upgrade.entity.Role;
+
+import java.util.Optional;
+
+public interface RoleLookupRepository {
+
+    /**
+     * Loads a role by its natural id, so the lookup is answered from the second-level cache when it is
+     * enabled instead of running a query.
+     *
+     * @param roleName the name of the role
+     * @return the role, or empty if no role has that name
+     */
+    Optional<Role> findByRoleName(String roleName);
+}
@@ -0,0 +1,23 @@
+package com.tear.upgrade.t1tot2upgrade.repository;
+
+import com.tear.upgrade.t1tot2upgrade.entity.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class RoleLookupRepositoryImpl implements RoleLookupRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Role> findByRoleName(String roleName) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Role.class)
+                .loadOptional(roleName);
+    }
+}
@@ -4,12 +4,8 @@ import com.tear.upgrade.t1tot2upgrade.entity.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
 @Repository
-public interface RoleRepository extends JpaRepository<Role, Long> {
-
-    Optional<Role> findByRoleName(String roleName);
+public interface RoleRepository extends JpaRepository<Role, Long>, RoleLookupRepository {
 
     Boolean existsByRoleName(String roleName);
 }
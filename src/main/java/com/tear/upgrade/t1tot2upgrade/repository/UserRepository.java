@@ -1,9 +1,22 @@
 package com.tear.upgrade.t1tot2upgrade.repository;
 
 import com.tear.upgrade.t1tot2upgrade.entity.User;
+import com.tear.upgrade.t1tot2upgrade.entity.model.RoleMemberModel;
+import com.tear.upgrade.t1tot2upgrade.entity.model.TokenEpochModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +26,34 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
    Optional<User> findByEmail(String email);
 
+   @EntityGraph(attributePaths = {"roles", "profile"})
+   Optional<User> findWithProfileById(Long id);
+
+   @Query(value = "SELECT new com.tear.upgrade.t1tot2upgrade.entity.model.RoleMemberModel(u.id, u.username, u.email) " +
+           "FROM User u JOIN u.roles r WHERE r.id = :roleId",
+           countQuery = "SELECT COUNT(u) FROM User u JOIN u.roles r WHERE r.id = :roleId")
+   Page<RoleMemberModel> findMembersByRoleId(@Param("roleId") Long roleId, Pageable pageable);
+
+   /**
+    * Sets the revocation epoch of one user; the column is not written through the entity, so a later flush
+    * of a loaded user cannot reset it.
+    */
+   @Modifying
+   @Transactional
+   @Query("UPDATE User u SET u.tokensValidAfter = :validAfter WHERE u.id = :userId")
+   int updateTokensValidAfter(@Param("userId") Long userId, @Param("validAfter") Timestamp validAfter);
+
+   @Modifying
+   @Transactional
+   @Query(value = "UPDATE users SET tokens_valid_after = :validAfter " +
+           "WHERE id IN (SELECT user_id FROM user_role WHERE role_id = :roleId)", nativeQuery = true)
+   @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+   int updateTokensValidAfterByRoleId(@Param("roleId") Long roleId, @Param("validAfter") Timestamp validAfter);
+
+   /**
+    * Reads the revocation epoch of a user; empty if the user does not exist.
+    */
+   @Query("SELECT new com.tear.upgrade.t1tot2upgrade.entity.model.TokenEpochModel(u.id, u.tokensValidAfter) " +
+           "FROM User u WHERE u.id = :userId")
+   Optional<TokenEpochModel> findTokenEpochById(@Param("userId") Long userId);
 }
@@ -0,0 +1,28 @@
+package com.tear.upgrade.t1tot2upgrade.security;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.io.Serial;
+import java.util.Collection;
+
+/**
+ * Spring Security principal that also carries the database identifier of the user,
+ * so callers can scope queries by user id without looking the user up again.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class AuthenticatedUser extends User {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    public AuthenticatedUser(Long id, String username, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.id = id;
+    }
+}
@@ -1,6 +1,5 @@
 package com.tear.upgrade.t1tot2upgrade.security;
 
-import com.tear.upgrade.t1tot2upgrade.dto.ProfileDTO;
 import com.tear.upgrade.t1tot2upgrade.dto.UserDTO;
 import com.tear.upgrade.t1tot2upgrade.entity.Role;
 import com.tear.upgrade.t1tot2upgrade.entity.User;
@@ -40,7 +39,7 @@ public class CustomUserDetailService implements UserDetailsService {
      * Loads a user by their email address.
      *
      * @param email the email address of the user
-     * @return a {@link UserDetails} object containing user information and authorities
+     * @return an {@link AuthenticatedUser} containing user information, the user id and authorities
      * @throws UsernameNotFoundException if the user with the specified email is not found
      */
     @Override
@@ -62,21 +61,14 @@ public class CustomUserDetailService implements UserDetailsService {
                 .collect(Collectors.toList());
         log.info("Authorities assigned to user: {}", authorities);
 
-        return new org.springframework.security.core.userdetails.User(userDTO.getEmail(), userDTO.getPassword(), authorities);
+        return new AuthenticatedUser(existingUser.getId(), userDTO.getEmail(), userDTO.getPassword(), authorities);
     }
 
+    /**
+     * Copies the credentials and role names of a user. The profile is not needed for authentication and is
+     * left unloaded.
+     */
     private UserDTO convertToDTO(User user) {
-        ProfileDTO profileDTO = null;
-
-        if (user.getProfile() != null) {
-            profileDTO = new ProfileDTO();
-            profileDTO.setId(user.getProfile().getId());
-            profileDTO.setFirstName(user.getProfile().getFirstName());
-            profileDTO.setLastName(user.getProfile().getLastName());
-            profileDTO.setPhoneNumber(user.getProfile().getPhoneNumber());
-            profileDTO.setAddress(user.getProfile().getAddress());
-        }
-
         return new UserDTO(
                 user.getUsername(),
                 user.getEmail(),
@@ -84,7 +76,7 @@ public class CustomUserDetailService implements UserDetailsService {
                 user.getRoles().stream()
                         .map(Role::getRoleName)
                         .collect(Collectors.toSet()),
-                profileDTO
+                null
         );
     }
 }
@@ -0,0 +1,107 @@
+package com.tear.upgrade.t1tot2upgrade.security;
+
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Set of HMAC keys used to sign and verify JWTs, identified by their key id ({@code kid}).
+ *
+ * <p>Every key in the ring is accepted for verification, so tokens signed by any node or by a key
+ * that has just been rotated out stay valid until they expire. The signing key is the most recent
+ * key whose activation instant has passed; because all nodes share the same configuration they switch
+ * to a new key at the same moment without coordination. Keys are decoded once when the ring is built.</p>
+ */
+@Slf4j
+public class JwtKeyRing {
+
+    public static final String DEFAULT_KEY_ID = "default";
+
+    private final Map<String, JwtKey> keys;
+
+    private volatile JwtKey signingKey;
+
+    public JwtKeyRing(List<JwtKey> keys) {
+        if (keys == null || keys.isEmpty()) {
+            throw new IllegalArgumentException("At least one JWT key must be configured");
+        }
+        this.keys = keys.stream().collect(Collectors.toUnmodifiableMap(JwtKey::keyId, Function.identity()));
+        rotate();
+    }
+
+    /**
+     * Builds a ring with a single random key, for local development without shared configuration.
+     *
+     * @return a ring whose tokens are only valid on this node until restart
+     */
+    public static JwtKeyRing generated() {
+        try {
+            SecretKey secretKey = KeyGenerator.getInstance("HmacSHA256").generateKey();
+            log.warn("No JWT keys configured, generated a random signing key. Tokens will not be accepted by other nodes or after a restart.");
+            return new JwtKeyRing(List.of(new JwtKey(DEFAULT_KEY_ID, secretKey, Instant.EPOCH)));
+        } catch (NoSuchAlgorithmException e) {
+            log.error("Error generating secret key for JWT", e);
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Decodes a Base64 encoded HMAC secret into a key of the ring.
+     *
+     * @param keyId        the key id written to the token header
+     * @param base64Secret the Base64 encoded secret, at least 256 bits long
+     * @param activeFrom   the instant from which the key is used for signing
+     * @return the decoded {@link JwtKey}
+     */
+    public static JwtKey decode(String keyId, String base64Secret, Instant activeFrom) {
+        return new JwtKey(keyId, Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret)), activeFrom);
+    }
+
+    public JwtKey getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * Looks up the verification key for a token header.
+     *
+     * @param keyId the {@code kid} header, may be {@code null} for tokens issued without it
+     * @return the matching key, or the current signing key when no key id is given
+     */
+    public Optional<SecretKey> findVerificationKey(String keyId) {
+        if (keyId == null) {
+            return Optional.of(signingKey.secretKey());
+        }
+        return Optional.ofNullable(keys.get(keyId)).map(JwtKey::secretKey);
+    }
+
+    /**
+     * Selects the newest key whose activation instant has passed as the signing key.
+     */
+    @Scheduled(fixedDelayString = "${security.jwt.key-rotation-check-ms:60000}")
+    public void rotate() {
+        Instant now = Instant.now();
+        JwtKey current = keys.values().stream()
+                .filter(key -> !key.activeFrom().isAfter(now))
+                .max(Comparator.comparing(JwtKey::activeFrom))
+                .orElseGet(() -> keys.values().stream().min(Comparator.comparing(JwtKey::activeFrom)).orElseThrow());
+        if (signingKey != current) {
+            log.info("JWT signing key rotated to key id: {}", current.keyId());
+            signingKey = current;
+        }
+    }
+
+    public record JwtKey(String keyId, SecretKey secretKey, Instant activeFrom) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.tear.upgrade.t1tot2upgrade.security;
+
+import com.tear.upgrade.t1tot2upgrade.entity.User;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Holds the logged-in {@link User} resolved during the current HTTP request, so that every service
+ * taking part in the request shares a single lookup.
+ *
+ * <p>The user is stored as a request attribute together with the email it was resolved for. Outside
+ * of a request (scheduled jobs, async tasks) nothing is cached and callers fall back to a lookup.</p>
+ */
+@Component
+public class LoggedInUserContext {
+
+    private static final String USER_ATTRIBUTE = LoggedInUserContext.class.getName() + ".user";
+
+    /**
+     * Returns the user resolved earlier in this request for the given email.
+     *
+     * @param email the email of the authenticated principal
+     * @return the cached {@link User}, or empty if none was resolved yet
+     */
+    public Optional<User> getUser(String email) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return Optional.empty();
+        }
+        Object cached = attributes.getAttribute(USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof ResolvedUser resolvedUser && resolvedUser.email().equals(email)) {
+            return Optional.of(resolvedUser.user());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Remembers the user resolved for the given email until the end of the current request.
+     *
+     * @param email the email of the authenticated principal
+     * @param user  the resolved user
+     */
+    public void setUser(String email, User user) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(USER_ATTRIBUTE, new ResolvedUser(email, user), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Forgets the user resolved in the current request, e.g. after it was updated or deleted.
+     */
+    public void clear() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private record ResolvedUser(String email, User user) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.tear.upgrade.t1tot2upgrade.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tear.upgrade.t1tot2upgrade.entity.model.TokenEpochModel;
+import com.tear.upgrade.t1tot2upgrade.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Keeps a per-user revocation epoch: every token of a user issued at or before that user's epoch is rejected.
+ *
+ * <p>The epoch is bumped whenever a user's roles or email change, or a role the user holds is renamed, which
+ * lets claims-only authentication trust the roles inside a token without reading the user from the database.
+ * Tokens of users that no longer exist are rejected as well.</p>
+ *
+ * <p>The epoch is stored in {@code users.tokens_valid_after}, so a revocation made on one node applies on
+ * every node. Since {@code iat} only has second precision, a token issued in the same second as the
+ * revocation is rejected too.</p>
+ *
+ * <p>Epochs are read through a small in-memory cache, so checking a token does not query the database. A
+ * revocation evicts the affected users on this node, both right away and once its transaction completes;
+ * other nodes pick it up when their entry reaches {@code security.jwt.revocation-cache.max-age}. Hit, miss
+ * and eviction counters are published through Micrometer under the {@code jwt.revocation-epochs} cache
+ * name.</p>
+ */
+@Component
+@Slf4j
+public class TokenRevocationRegistry implements MeterBinder {
+
+    private static final String CACHE_NAME = "jwt.revocation-epochs";
+
+    private static final Epoch MISSING_USER = new Epoch(false, null);
+
+    private final UserRepository userRepository;
+
+    private final Cache<Long, Epoch> epochs;
+
+    public TokenRevocationRegistry(UserRepository userRepository,
+                                   @Value("${security.jwt.revocation-cache.max-size:10000}") long maximumSize,
+                                   @Value("${security.jwt.revocation-cache.max-age:PT30S}") Duration maximumAge) {
+        this.userRepository = userRepository;
+        this.epochs = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(maximumAge)
+                .recordStats()
+                .build();
+        log.info("Token revocation cache created with maximum size {} and maximum age {}", maximumSize, maximumAge);
+    }
+
+    /**
+     * Revokes every token issued to the user up to now.
+     *
+     * @param userId the identifier of the user
+     */
+    public void revoke(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        userRepository.updateTokensValidAfter(userId, Timestamp.from(now));
+        evictOnCompletion(() -> epochs.invalidate(userId));
+        log.info("Revoked tokens issued up to {} for user ID: {}", now, userId);
+    }
+
+    /**
+     * Revokes every token issued up to now to the users holding the role.
+     *
+     * @param roleId the identifier of the role
+     */
+    public void revokeRoleMembers(Long roleId) {
+        Instant now = Instant.now();
+        int revoked = userRepository.updateTokensValidAfterByRoleId(roleId, Timestamp.from(now));
+        evictOnCompletion(epochs::invalidateAll);
+        log.info("Revoked tokens issued up to {} for {} users holding role ID: {}", now, revoked, roleId);
+    }
+
+    /**
+     * Checks whether a token issued at the given instant has been revoked for the user.
+     *
+     * @param userId   the identifier of the user, may be {@code null} for tokens without a user-id claim
+     * @param issuedAt the token's {@code iat} claim
+     * @return {@code true} if the user no longer exists or the token was not issued after the user's
+     * revocation epoch
+     */
+    public boolean isRevoked(Long userId, Instant issuedAt) {
+        if (userId == null || issuedAt == null) {
+            return false;
+        }
+        Epoch epoch = epochs.get(userId, this::load);
+        return !epoch.exists() || (epoch.validAfter() != null && !issuedAt.isAfter(epoch.validAfter()));
+    }
+
+    @Override
+    public void bindTo(@Nonnull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, epochs, CACHE_NAME);
+    }
+
+    private Epoch load(Long userId) {
+        log.debug("Loading token revocation epoch for user ID: {}", userId);
+        return userRepository.findTokenEpochById(userId)
+                .map(Epoch::of)
+                .orElse(MISSING_USER);
+    }
+
+    /**
+     * Evicts now, so this node stops accepting revoked tokens at once, and again once the current transaction
+     * completes, so an epoch loaded from the database before the commit is not kept.
+     */
+    private void evictOnCompletion(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private record Epoch(boolean exists, Instant validAfter) {
+
+        static Epoch of(TokenEpochModel model) {
+            Timestamp validAfter = model.tokensValidAfter();
+            return new Epoch(true, validAfter == null ? null : validAfter.toInstant());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.tear.upgrade.t1tot2upgrade.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Size-bounded cache of bearer tokens that have already been verified and resolved to a user.
+ *
+ * <p>Entries are keyed by a SHA-256 digest of the token, so raw tokens are never kept in memory,
+ * and each entry expires together with the token's {@code exp} claim, but is kept no longer than
+ * {@code security.jwt.cache.max-age}. A hit lets the {@code JwtFilter} skip signature verification,
+ * the user lookup and the revocation check entirely, so the cap bounds how long a change made on another
+ * node (a role change, a revocation) can go unnoticed here. Changes made on this node evict the affected
+ * entries directly.</p>
+ *
+ * <p>Hit, miss and eviction counters are published through Micrometer under the
+ * {@code jwt.verified-tokens} cache name.</p>
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "jwt.verified-tokens";
+
+    private final Cache<String, CachedAuthentication> cache;
+
+    public VerifiedTokenCache(@Value("${security.jwt.cache.max-size:10000}") long maximumSize,
+                              @Value("${security.jwt.cache.max-age:PT1M}") Duration maximumAge) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry(maximumAge))
+                .recordStats()
+                .build();
+        log.info("Verified token cache created with maximum size {} and maximum age {}", maximumSize, maximumAge);
+    }
+
+    /**
+     * Returns the user resolved for the given token if it was verified earlier and has not expired.
+     *
+     * @param token the compact JWT string
+     * @return the cached {@link UserDetails}, or empty on a miss
+     */
+    public Optional<UserDetails> get(String token) {
+        CachedAuthentication cached = cache.getIfPresent(digest(token));
+        if (cached == null || cached.expiration().isBefore(Instant.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(cached.userDetails());
+    }
+
+    /**
+     * Stores the user resolved for a verified token until the token expires.
+     *
+     * @param token       the compact JWT string
+     * @param userDetails the user the token was validated against
+     * @param expiration  the token's expiry instant
+     */
+    public void put(String token, UserDetails userDetails, Instant expiration) {
+        if (expiration.isAfter(Instant.now())) {
+            cache.put(digest(token), new CachedAuthentication(userDetails, expiration));
+        }
+    }
+
+    /**
+     * Drops every cached token that belongs to the given user, e.g. after a role change or deletion.
+     *
+     * @param username the username (email) of the user
+     */
+    public void evictUser(String username) {
+        cache.asMap().values().removeIf(cached -> cached.userDetails().getUsername().equals(username));
+        log.debug("Evicted cached tokens for user: {}", username);
+    }
+
+    /**
+     * Drops every cached token whose user holds the given role, e.g. after the role was renamed.
+     *
+     * @param roleName the name of the role
+     */
+    public void evictRole(String roleName) {
+        cache.asMap().values().removeIf(cached -> cached.userDetails().getAuthorities().stream()
+                .anyMatch(authority -> roleName.equals(authority.getAuthority())));
+        log.debug("Evicted cached tokens for role: {}", roleName);
+    }
+
+    @Override
+    public void bindTo(@Nonnull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    private String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record CachedAuthentication(UserDetails userDetails, Instant expiration) {
+    }
+
+    private record TokenExpiry(Duration maximumAge) implements Expiry<String, CachedAuthentication> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedAuthentication value, long currentTime) {
+            long untilExpiration = Math.max(0L, Duration.between(Instant.now(), value.expiration()).toNanos());
+            return Math.min(untilExpiration, maximumAge.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -40,9 +40,10 @@ public interface CategoryService {
     void deleteCategoryById(Long id);
 
     /**
-     * Deletes all categories associated with a user.
+     * Deletes all categories associated with a user in batches, each batch committed on its own.
      *
-     * @param pageable the pagination information to handle potentially large deletions
+     * @param pageable the page size is used as the batch size to handle potentially large deletions
+     * @return the number of deleted categories
      */
-    void deleteAllCategoriesForUser(Pageable pageable);
+    long deleteAllCategoriesForUser(Pageable pageable);
 }
@@ -0,0 +1,38 @@
+package com.tear.upgrade.t1tot2upgrade.service;
+
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseImportDTO;
+
+import java.io.InputStream;
+
+public interface ExpenseImportService {
+
+    /**
+     * Registers a new CSV import for logged-in user.
+     *
+     * @param fileName the name of the imported file, used for display only
+     * @return the created {@link ExpenseImportDTO}
+     */
+    ExpenseImportDTO createImport(String fileName);
+
+    /**
+     * Retrieves the status and progress of an import of logged-in user.
+     *
+     * @param importId the identifier of the import
+     * @return the {@link ExpenseImportDTO} with the current progress
+     */
+    ExpenseImportDTO getImport(Long importId);
+
+    /**
+     * Parses the CSV stream incrementally and saves its rows in fixed-size chunks, each committed together
+     * with the import progress. When the import already committed rows in an earlier attempt, the same file
+     * is expected and those rows are skipped, so a failed import resumes after its last committed chunk.
+     * Only one upload processes an import at a time; a second one is rejected with
+     * {@link com.tear.upgrade.t1tot2upgrade.exceptions.ItemAlreadyExistsException}.
+     *
+     * @param importId    the identifier of the import
+     * @param inputStream the CSV content with a header row (name, description, amount, date, notes, category)
+     * @return the {@link ExpenseImportDTO} with the final progress, with status {@code FAILED} and the error
+     * if the upload stopped before the end of the file
+     */
+    ExpenseImportDTO importExpenses(Long importId, InputStream inputStream);
+}
@@ -0,0 +1,83 @@
+package com.tear.upgrade.t1tot2upgrade.service;
+
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseReportDTO;
+import com.tear.upgrade.t1tot2upgrade.entity.Expense;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+
+public interface ExpenseRollupService {
+
+    /**
+     * Adds saved expenses to the monthly rollup of their user. Must run in the transaction that saved them.
+     *
+     * @param userId   the identifier of the user owning the expenses
+     * @param expenses the saved expenses, each with a category
+     */
+    void addExpenses(Long userId, Collection<Expense> expenses);
+
+    /**
+     * Adds a saved expense to the monthly rollup of its user. Must run in the transaction that saved it.
+     *
+     * @param expense the saved expense, with user and category
+     */
+    void addExpense(Expense expense);
+
+    /**
+     * Removes an expense from the monthly rollup of its user, using its currently persisted category, date and
+     * amount. Must run in the transaction that deletes or changes it, before it is changed.
+     *
+     * @param expense the persisted expense, with user and category
+     */
+    void removeExpense(Expense expense);
+
+    /**
+     * Deletes the whole monthly rollup of a user, after all of their expenses were deleted.
+     *
+     * @param userId the identifier of the user
+     */
+    void clearUser(Long userId);
+
+    /**
+     * Recomputes the monthly rollup of a user from the expenses table and corrects every group that drifted.
+     *
+     * @param userId the identifier of the user
+     * @return the number of groups that were corrected
+     */
+    long reconcileUser(Long userId);
+
+    /**
+     * Reconciles the monthly rollup of every user, each in its own transaction.
+     *
+     * @return the number of groups that were corrected
+     */
+    long reconcileAll();
+
+    /**
+     * Recomputes the monthly rollup of logged-in user.
+     *
+     * @return the number of groups that were corrected
+     */
+    long rebuildForLoggedInUser();
+
+    /**
+     * Retrieves the monthly totals of logged-in user from the rollup.
+     *
+     * @param from       the first month included, or {@code null} for the whole history
+     * @param to         the last month included, or {@code null} for the current month
+     * @param byCategory whether each month is split by category
+     * @return one {@link ExpenseReportDTO} per month (and category), ordered by month
+     */
+    List<ExpenseReportDTO> getMonthlyReport(YearMonth from, YearMonth to, boolean byCategory);
+
+    /**
+     * Retrieves the yearly totals of logged-in user from the rollup.
+     *
+     * @param from       the first year included, or {@code null} for the whole history
+     * @param to         the last year included, or {@code null} for the current year
+     * @param byCategory whether each year is split by category
+     * @return one {@link ExpenseReportDTO} per year (and category), ordered by year
+     */
+    List<ExpenseReportDTO> getYearlyReport(Integer from, Integer to, boolean byCategory);
+}
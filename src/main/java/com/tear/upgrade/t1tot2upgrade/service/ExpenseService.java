@@ -1,11 +1,20 @@
 package com.tear.upgrade.t1tot2upgrade.service;
 
+import com.tear.upgrade.t1tot2upgrade.dto.CursorPageDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseBatchResultDTO;
 import com.tear.upgrade.t1tot2upgrade.dto.ExpenseDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseSummaryDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseTotalDTO;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExportFormat;
+import com.tear.upgrade.t1tot2upgrade.entity.model.SummaryGroupBy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.sql.Date;
 import java.util.List;
+import java.util.Set;
 
 public interface ExpenseService {
 
@@ -33,11 +42,12 @@ public interface ExpenseService {
     void deleteExpenseById(Long id);
 
     /**
-     * Deletes all expenses associated with a user.
+     * Deletes all expenses associated with a user in batches, each batch committed on its own.
      *
-     * @param pageable the pagination information to handle potentially large deletions
+     * @param pageable the page size is used as the batch size to handle potentially large deletions
+     * @return the number of deleted expenses
      */
-    void deleteAllExpensesForUser(Pageable pageable);
+    long deleteAllExpensesForUser(Pageable pageable);
 
     /**
      * Saves the details of a new expense or updates an existing one.
@@ -47,6 +57,16 @@ public interface ExpenseService {
      */
     ExpenseDTO saveExpanseDetails(ExpenseDTO expense);
 
+    /**
+     * Saves a batch of new expenses for logged-in user. Referenced categories are resolved, and created
+     * when missing, in a single pass; the expenses are inserted with JDBC batching in one transaction.
+     * Items failing validation are reported and skipped without affecting the others.
+     *
+     * @param expenses the expense data to be saved
+     * @return one {@link ExpenseBatchResultDTO} per input item, in input order
+     */
+    List<ExpenseBatchResultDTO> saveExpensesBatch(List<ExpenseDTO> expenses);
+
     /**
      * Updates the details of an existing expense.
      *
@@ -76,10 +96,10 @@ public interface ExpenseService {
     List<ExpenseDTO> readByDate(Date startDate, Date endDate, Pageable page);
 
     /**
-     * Retrieves a list of expenses for specific category.
+     * Retrieves the expenses of the logged-in user's category with the given name.
      *
-     * @param categoryName the start category name
-     * @return a list of {@link ExpenseDTO} within the specified date range
+     * @param categoryName the category name
+     * @return a list of {@link ExpenseDTO} in that category
      */
     List<ExpenseDTO> getExpensesByCategoryName (String categoryName);
 
@@ -90,4 +110,76 @@ public interface ExpenseService {
      * @return a list of {@link ExpenseDTO} within the specified date range
      */
     List<ExpenseDTO> getCategoriesByNameForLoggedInUser(String categoryName);
+
+    /**
+     * Retrieves a page of expenses for logged-in user ordered by date and id, newest first, starting after
+     * the given cursor. The cost of a page does not depend on how far into the list it is.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param size   the maximum number of expenses to return
+     * @return a {@link CursorPageDTO} of {@link ExpenseDTO} with the cursor of the next page
+     */
+    CursorPageDTO<ExpenseDTO> getAllExpenses(String cursor, int size);
+
+    /**
+     * Retrieves a page of expenses whose name contains the keyword, ordered by date and id, newest first.
+     *
+     * @param name   the name of the expense to search for
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param size   the maximum number of expenses to return
+     * @return a {@link CursorPageDTO} of {@link ExpenseDTO} with the cursor of the next page
+     */
+    CursorPageDTO<ExpenseDTO> readByName(String name, String cursor, int size);
+
+    /**
+     * Retrieves a page of expenses within a date range, ordered by date and id, newest first.
+     *
+     * @param startDate the start date for the range
+     * @param endDate   the end date for the range
+     * @param cursor    the cursor returned with the previous page, or {@code null} for the first page
+     * @param size      the maximum number of expenses to return
+     * @return a {@link CursorPageDTO} of {@link ExpenseDTO} with the cursor of the next page
+     */
+    CursorPageDTO<ExpenseDTO> readByDate(Date startDate, Date endDate, String cursor, int size);
+
+    /**
+     * Writes every expense of logged-in user to the output stream, reading rows from a forward-only cursor so
+     * memory use does not depend on the number of expenses.
+     *
+     * @param format       the output format
+     * @param outputStream the stream to write to, left open
+     * @return the number of exported expenses
+     * @throws IOException if writing to the stream fails
+     */
+    long exportExpenses(ExportFormat format, OutputStream outputStream) throws IOException;
+
+    /**
+     * Aggregates the expenses of logged-in user within a date range, computed in the database.
+     *
+     * @param groupBy   the dimensions to group by; month and day cannot be combined
+     * @param startDate the start date for the range
+     * @param endDate   the end date for the range
+     * @return one {@link ExpenseSummaryDTO} per group with total, count, min and max amounts
+     */
+    List<ExpenseSummaryDTO> getExpenseSummary(Set<SummaryGroupBy> groupBy, Date startDate, Date endDate);
+
+    /**
+     * Sums the expenses of logged-in user within a date range. Served from the in-memory totals cache when
+     * it is enabled, otherwise computed in the database.
+     *
+     * @param startDate the start date for the range
+     * @param endDate   the end date for the range
+     * @return the {@link ExpenseTotalDTO} with total amount and count
+     */
+    ExpenseTotalDTO getExpenseTotal(Date startDate, Date endDate);
+
+    /**
+     * Full-text search over name, description and notes of the logged-in user's expenses. Every term of the
+     * query must match, either as a whole word or as a word prefix, and results are ordered by relevance.
+     *
+     * @param query the search terms
+     * @param page  the page number and size; sorting is ignored since results are ranked by relevance
+     * @return a list of {@link ExpenseDTO} ordered by relevance
+     */
+    List<ExpenseDTO> searchExpenses(String query, Pageable page);
 }
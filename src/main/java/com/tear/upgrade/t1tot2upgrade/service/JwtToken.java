@@ -1,106 +1,127 @@
 package com.tear.upgrade.t1tot2upgrade.service;
 
+import com.tear.upgrade.t1tot2upgrade.entity.model.ParsedJwtModel;
+import com.tear.upgrade.t1tot2upgrade.security.AuthenticatedUser;
+import com.tear.upgrade.t1tot2upgrade.security.JwtKeyRing;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.LocatorAdapter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.KeyGenerator;
-import javax.crypto.SecretKey;
-import java.security.NoSuchAlgorithmException;
+import java.security.Key;
+import java.time.Duration;
 import java.util.*;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class JwtToken {
 
-    private String secretKey = "";
+    public static final String ROLES_CLAIM = "roles";
 
-    public JwtToken() {
+    public static final String USER_ID_CLAIM = "uid";
 
-        try {
-            KeyGenerator keyGen = KeyGenerator.getInstance("HmacSHA256");
-            SecretKey sk = keyGen.generateKey();
-            secretKey = Base64.getEncoder().encodeToString(sk.getEncoded());
-            log.info("JWT secret key successfully generated and encoded.");
-        } catch (NoSuchAlgorithmException e) {
-            log.error("Error generating secret key for JWT", e);
-            throw new RuntimeException(e);
-        }
+    public static final Duration TOKEN_LIFETIME = Duration.ofHours(1);
+
+    private final JwtKeyRing jwtKeyRing;
+
+    private final JwtParser jwtParser;
+
+    public JwtToken(JwtKeyRing jwtKeyRing) {
+        this.jwtKeyRing = jwtKeyRing;
+        this.jwtParser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return jwtKeyRing.findVerificationKey(header.getKeyId())
+                                .orElseThrow(() -> new JwtException("Unknown JWT key id: " + header.getKeyId()));
+                    }
+                })
+                .build();
     }
 
     public String generateToken(UserDetails userDetails) {
         log.info("Generating JWT token for user: {}", userDetails.getUsername());
         Map<String, Object> claims = new HashMap<>();
-        claims.put("roles", userDetails.getAuthorities().stream()
+        claims.put(ROLES_CLAIM, userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList()));
+        if (userDetails instanceof AuthenticatedUser authenticatedUser && authenticatedUser.getId() != null) {
+            claims.put(USER_ID_CLAIM, authenticatedUser.getId());
+        }
+        JwtKeyRing.JwtKey signingKey = jwtKeyRing.getSigningKey();
         return Jwts.builder()
+                .header()
+                .keyId(signingKey.keyId())
+                .and()
                 .claims()
                 .add(claims)
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + 60 * 60 * 1000))
+                .expiration(new Date(System.currentTimeMillis() + TOKEN_LIFETIME.toMillis()))
                 .and()
-                .signWith(getKey())
+                .signWith(signingKey.secretKey())
                 .compact();
 
     }
 
+    /**
+     * Verifies the token signature once and returns its claims as an immutable model.
+     *
+     * @param token the compact JWT string
+     * @return the verified {@link ParsedJwtModel}
+     */
+    public ParsedJwtModel parseToken(String token) {
+        log.debug("Parsing and verifying JWT token.");
+        Claims claims = extractAllClaims(token);
+        Date issuedAt = claims.getIssuedAt();
+        return new ParsedJwtModel(
+                claims.getSubject(),
+                extractUserId(claims),
+                extractRoles(claims),
+                issuedAt != null ? issuedAt.toInstant() : null,
+                claims.getExpiration().toInstant());
+    }
+
     public String extractUserName(String token) {
         log.info("Extracting username from token.");
-        return extractClaim(token, Claims::getSubject);
+        return parseToken(token).subject();
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        log.info("Validating JWT token for user: {}", userDetails.getUsername());
-        final String userName = extractUserName(token);
-        final List<String> roles = extractRoles(token);
-        return (userName.equals(userDetails.getUsername()) && !isTokenExpired(token) &&
-                new HashSet<>(roles).containsAll(userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList()));
-    }
-
-    private SecretKey getKey() {
-        log.debug("Retrieving secret key for signing/verifying JWT.");
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return validateToken(parseToken(token), userDetails);
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimResolver) {
-        log.debug("Extracting claim from token.");
-        final Claims claims = extractAllClaims(token);
-        return claimResolver.apply(claims);
+    public boolean validateToken(ParsedJwtModel parsedToken, UserDetails userDetails) {
+        log.info("Validating JWT token for user: {}", userDetails.getUsername());
+        return (parsedToken.subject().equals(userDetails.getUsername()) && !parsedToken.isExpired() &&
+                new HashSet<>(parsedToken.roles()).containsAll(userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList()));
     }
 
     private Claims extractAllClaims(String token) {
         log.debug("Parsing all claims from JWT token.");
-        return Jwts.parser()
-                .verifyWith(getKey())
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
-    private boolean isTokenExpired(String token) {
-        log.debug("Checking if the token has expired.");
-        return extractExpiration(token).before(new Date());
+    private Long extractUserId(Claims claims) {
+        Object userId = claims.get(USER_ID_CLAIM);
+        return userId instanceof Number number ? number.longValue() : null;
     }
 
-    private Date extractExpiration(String token) {
-        log.debug("Extracting expiration date from token.");
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private List<String> extractRoles(String token) {
+    private List<String> extractRoles(Claims claims) {
         log.debug("Extracting roles from token.");
-        Claims claims = extractAllClaims(token);
-        List<?> roles = claims.get("roles", List.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (roles == null) {
+            return List.of();
+        }
         return roles.stream()
                 .filter(String.class::isInstance)
                 .map(String.class::cast)
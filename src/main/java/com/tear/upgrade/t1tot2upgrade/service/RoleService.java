@@ -1,6 +1,9 @@
 package com.tear.upgrade.t1tot2upgrade.service;
 
 import com.tear.upgrade.t1tot2upgrade.dto.RoleDTO;
+import com.tear.upgrade.t1tot2upgrade.entity.model.RoleMemberModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -37,4 +40,13 @@ public interface RoleService {
      * @return a list of {@link RoleDTO} representing all roles
      */
     List<RoleDTO> readAllRoles();
+
+    /**
+     * Retrieves one page of the users holding a role.
+     *
+     * @param roleId the identifier of the role
+     * @param page   the page to retrieve
+     * @return a page of {@link RoleMemberModel} for the users holding the role
+     */
+    Page<RoleMemberModel> readRoleMembers(Long roleId, Pageable page);
 }
@@ -2,6 +2,7 @@ package com.tear.upgrade.t1tot2upgrade.service;
 
 import com.tear.upgrade.t1tot2upgrade.entity.User;
 import com.tear.upgrade.t1tot2upgrade.dto.UserDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.UserResponseDTO;
 
 public interface UserService {
 
@@ -9,24 +10,24 @@ public interface UserService {
      * Creates a new user
      *
      * @param userDTO the data transfer object containing user details
-     * @return the created {@link User} entity
+     * @return the created user as a {@link UserResponseDTO}
      */
-    User createUser(UserDTO userDTO);
+    UserResponseDTO createUser(UserDTO userDTO);
 
     /**
-     * Retrieves the details of the currently logged-in user.
+     * Retrieves the details of the currently logged-in user, including roles and profile.
      *
-     * @return the {@link User} entity representing the logged-in user
+     * @return the {@link UserResponseDTO} representing the logged-in user
      */
-    User readUser();
+    UserResponseDTO readUser();
 
     /**
      * Updates the details of an existing user.
      *
      * @param user the {@link User} entity containing updated information
-     * @return the updated {@link User} entity
+     * @return the updated user as a {@link UserResponseDTO}
      */
-    User updateUser(User user);
+    UserResponseDTO updateUser(User user);
 
     /**
      * Deletes the currently logged-in user.
@@ -34,18 +35,26 @@ public interface UserService {
     void deleteUser();
 
     /**
-     * Retrieves the currently logged-in user.
+     * Retrieves the currently logged-in user. The user is loaded at most once per request.
      *
      * @return the {@link User} entity representing the logged-in user
      */
     User getLoggedInUser();
 
+    /**
+     * Retrieves the identifier of the currently logged-in user, taken from the security principal
+     * when available so that no database lookup is needed.
+     *
+     * @return the identifier of the logged-in user
+     */
+    Long getLoggedInUserId();
+
     /**
      * Updates the details of a user by their identifier.
      *
      * @param userId the identifier of the user to update
      * @param user the {@link User} entity containing updated information
-     * @return the updated {@link User} entity
+     * @return the updated user as a {@link UserResponseDTO}
      */
-    User updateUserById(Long userId, User user);
+    UserResponseDTO updateUserById(Long userId, User user);
 }
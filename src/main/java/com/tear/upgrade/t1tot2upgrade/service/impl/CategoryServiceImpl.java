@@ -1,5 +1,6 @@
 package com.tear.upgrade.t1tot2upgrade.service.impl;
 
+import com.tear.upgrade.t1tot2upgrade.cache.CategoryCache;
 import com.tear.upgrade.t1tot2upgrade.dto.CategoryDTO;
 import com.tear.upgrade.t1tot2upgrade.entity.Category;
 import com.tear.upgrade.t1tot2upgrade.entity.User;
@@ -13,6 +14,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -20,17 +22,24 @@ import java.util.Optional;
 @Slf4j
 public class CategoryServiceImpl implements CategoryService {
 
+    private static final int MAX_DELETE_BATCH_SIZE = 1000;
+
     @Autowired
     private UserService userService;
 
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Transactional(readOnly = true)
     @Override
     public Page<CategoryDTO> getAllCategories(Pageable page) {
-        log.debug("Fetching categories for user ID: {}", userService.getLoggedInUser().getId());
-        Page<Category> categories = categoryRepository.findByUserId(userService.getLoggedInUser().getId(), page);
-        log.debug("Fetched {} categories for user ID: {}", categories.getTotalElements(), userService.getLoggedInUser().getId());
+        Long userId = userService.getLoggedInUserId();
+        log.debug("Fetching categories for user ID: {}", userId);
+        Page<Category> categories = categoryRepository.findByUserId(userId, page);
+        log.debug("Fetched {} categories for user ID: {}", categories.getTotalElements(), userId);
         return categories.map(this::convertToDTO);
     }
 
@@ -55,7 +64,9 @@ public class CategoryServiceImpl implements CategoryService {
         category.setDescription(categoryDTO.getDescription());
         category.setUser(loggedInUser);
 
-        return convertToDTO(categoryRepository.save(category));
+        Category savedCategory = categoryRepository.save(category);
+        categoryCache.evict(loggedInUser.getId(), savedCategory.getName());
+        return convertToDTO(savedCategory);
     }
 
 
@@ -66,17 +77,24 @@ public class CategoryServiceImpl implements CategoryService {
                     log.error("Category with ID '{}' not found", id);
                     return new ResourceNotFoundException("Category is not found for id " + id);
                 });
+        String previousName = existingCategory.getName();
         existingCategory.setName(categoryDTO.getName() != null ? categoryDTO.getName() : existingCategory.getName());
         existingCategory.setDescription(categoryDTO.getDescription() != null ? categoryDTO.getDescription() : existingCategory.getDescription());
-        return convertToDTO(categoryRepository.save(existingCategory));
+        Category savedCategory = categoryRepository.save(existingCategory);
+        Long userId = userService.getLoggedInUserId();
+        categoryCache.evict(userId, previousName);
+        categoryCache.evict(userId, savedCategory.getName());
+        return convertToDTO(savedCategory);
     }
 
 
     @Override
     public void deleteCategoryById(Long id) {
-        Optional<Category> categoryOptional = categoryRepository.findByUserIdAndId(userService.getLoggedInUser().getId(), id);
+        Long userId = userService.getLoggedInUserId();
+        Optional<Category> categoryOptional = categoryRepository.findByUserIdAndId(userId, id);
         if (categoryOptional.isPresent()) {
             categoryRepository.delete(categoryOptional.get());
+            categoryCache.evict(userId, categoryOptional.get().getName());
             log.info("Category with ID '{}' deleted successfully", id);
         } else {
             log.error("Category with ID '{}' not found for deletion", id);
@@ -85,34 +103,41 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
-    public void deleteAllCategoriesForUser(Pageable pageable) {
+    public long deleteAllCategoriesForUser(Pageable pageable) {
         if (pageable == null) {
             log.error("Pageable is null");
             throw new IllegalArgumentException("Pageable must not be null");
         }
 
-        User loggedInUser = userService.getLoggedInUser();
-        log.debug("Attempting to delete all categories for user ID: {}", loggedInUser.getId());
-
-        Page<Category> categoriesPage;
-        do {
-            categoriesPage = categoryRepository.findByUserId(loggedInUser.getId(), pageable);
-            if (!categoriesPage.isEmpty()) {
-                log.debug("Deleting {} categories for user ID: {}", categoriesPage.getContent().size(), loggedInUser.getId());
-                categoryRepository.deleteAll(categoriesPage.getContent());
+        Long userId = userService.getLoggedInUserId();
+        int batchSize = Math.min(pageable.getPageSize(), MAX_DELETE_BATCH_SIZE);
+        log.debug("Attempting to delete all categories for user ID: {} in batches of {}", userId, batchSize);
+
+        long deleted = 0;
+        int batchDeleted;
+        try {
+            do {
+                batchDeleted = categoryRepository.deleteBatchByUserId(userId, batchSize);
+                deleted += batchDeleted;
+                log.debug("Deleted batch of {} categories for user ID: {}", batchDeleted, userId);
+            } while (batchDeleted == batchSize);
+        } finally {
+            // every batch commits on its own, so the cache must go even when a later batch fails
+            if (deleted > 0) {
+                categoryCache.evictUser(userId);
             }
-            pageable = pageable.next();
-        } while (categoriesPage.hasNext());
+        }
 
-        if (categoriesPage.getTotalElements() == 0) {
-            log.error("No categories found for user ID: {}", loggedInUser.getId());
-            throw new ResourceNotFoundException("No categories found for user " + loggedInUser.getId());
+        if (deleted == 0) {
+            log.error("No categories found for user ID: {}", userId);
+            throw new ResourceNotFoundException("No categories found for user " + userId);
         }
-        log.debug("All categories deleted for user ID: {}", loggedInUser.getId());
+        log.debug("Deleted {} categories for user ID: {}", deleted, userId);
+        return deleted;
     }
 
     private Optional<Category> getCategoryEntityById(Long id) {
-        return categoryRepository.findByUserIdAndId(userService.getLoggedInUser().getId(), id);
+        return categoryRepository.findByUserIdAndId(userService.getLoggedInUserId(), id);
     }
 
     private CategoryDTO convertToDTO(Category category) {
@@ -0,0 +1,289 @@
+package com.tear.upgrade.t1tot2upgrade.service.impl;
+
+import com.tear.upgrade.t1tot2upgrade.cache.CategoryCache;
+import com.tear.upgrade.t1tot2upgrade.cache.ExpenseTotalsCache;
+import com.tear.upgrade.t1tot2upgrade.dto.CategoryDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseImportDTO;
+import com.tear.upgrade.t1tot2upgrade.entity.Category;
+import com.tear.upgrade.t1tot2upgrade.entity.Expense;
+import com.tear.upgrade.t1tot2upgrade.entity.ExpenseImport;
+import com.tear.upgrade.t1tot2upgrade.entity.User;
+import com.tear.upgrade.t1tot2upgrade.exceptions.ItemAlreadyExistsException;
+import com.tear.upgrade.t1tot2upgrade.exceptions.ResourceNotFoundException;
+import com.tear.upgrade.t1tot2upgrade.repository.ExpenseImportRepository;
+import com.tear.upgrade.t1tot2upgrade.repository.ExpenseRepository;
+import com.tear.upgrade.t1tot2upgrade.service.ExpenseImportService;
+import com.tear.upgrade.t1tot2upgrade.service.ExpenseRollupService;
+import com.tear.upgrade.t1tot2upgrade.service.UserService;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Slf4j
+public class ExpenseImportServiceImpl implements ExpenseImportService {
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreEmptyLines(true)
+            .setTrim(true)
+            .build();
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private ExpenseImportRepository expenseImportRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ExpenseRollupService expenseRollupService;
+
+    @Autowired
+    private ExpenseTotalsCache expenseTotalsCache;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${expenses.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${expenses.import.stale-after:PT15M}")
+    private Duration staleAfter;
+
+    @Override
+    public ExpenseImportDTO createImport(String fileName) {
+        ExpenseImport expenseImport = new ExpenseImport();
+        expenseImport.setFileName(fileName);
+        expenseImport.setStatus(ExpenseImport.Status.CREATED);
+        expenseImport.setUser(userService.getLoggedInUser());
+        ExpenseImport savedImport = expenseImportRepository.save(expenseImport);
+        log.info("Expense import with ID: {} created for file: {}", savedImport.getId(), fileName);
+        return convertToDTO(savedImport);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ExpenseImportDTO getImport(Long importId) {
+        return convertToDTO(getImportEntity(importId));
+    }
+
+    @Override
+    public ExpenseImportDTO importExpenses(Long importId, InputStream inputStream) {
+        ExpenseImport expenseImport = getImportEntity(importId);
+        if (expenseImport.getStatus() == ExpenseImport.Status.COMPLETED) {
+            log.error("Expense import with ID: {} is already completed", importId);
+            throw new ItemAlreadyExistsException("Import " + importId + " is already completed");
+        }
+
+        User loggedInUser = userService.getLoggedInUser();
+        if (!expenseImportRepository.claim(loggedInUser.getId(), importId, Timestamp.from(Instant.now().minus(staleAfter)))) {
+            log.error("Expense import with ID: {} is already in progress", importId);
+            throw new ItemAlreadyExistsException("Import " + importId + " is already in progress");
+        }
+        expenseImport = getImportEntity(importId);
+        long skipRows = expenseImport.getProcessedRows();
+        log.info("Starting expense import with ID: {}, skipping {} already committed rows", importId, skipRows);
+
+        try (CSVParser parser = CSV_FORMAT.parse(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)))) {
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            long rowNumber = 0;
+            for (CSVRecord csvRecord : parser) {
+                rowNumber++;
+                if (rowNumber <= skipRows) {
+                    continue;
+                }
+                chunk.add(parseRow(rowNumber, csvRecord));
+                if (chunk.size() == chunkSize) {
+                    expenseImport = commitChunk(expenseImport, chunk, loggedInUser);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                expenseImport = commitChunk(expenseImport, chunk, loggedInUser);
+            }
+        } catch (OptimisticLockingFailureException e) {
+            log.error("Expense import with ID: {} was claimed by another upload, stopping", importId, e);
+            throw new ItemAlreadyExistsException("Import " + importId + " was resumed by another upload");
+        } catch (IOException | RuntimeException e) {
+            ExpenseImport failedImport = getImportEntity(importId);
+            log.error("Expense import with ID: {} failed after {} rows", importId, failedImport.getProcessedRows(), e);
+            failedImport.setStatus(ExpenseImport.Status.FAILED);
+            failedImport.setLastError(truncate(e.getMessage()));
+            return convertToDTO(expenseImportRepository.save(failedImport));
+        }
+
+        expenseImport.setStatus(ExpenseImport.Status.COMPLETED);
+        expenseImport = expenseImportRepository.save(expenseImport);
+        log.info("Expense import with ID: {} completed: {} imported, {} failed", importId,
+                expenseImport.getImportedRows(), expenseImport.getFailedRows());
+        return convertToDTO(expenseImport);
+    }
+
+    /**
+     * Inserts the valid rows of a chunk and advances the import progress in the same transaction, so the
+     * progress always matches what has been committed.
+     */
+    private ExpenseImport commitChunk(ExpenseImport expenseImport, List<ImportRow> chunk, User user) {
+        List<ImportRow> validRows = chunk.stream()
+                .filter(row -> row.errors().isEmpty())
+                .toList();
+        String lastError = chunk.stream()
+                .filter(row -> !row.errors().isEmpty())
+                .reduce((first, second) -> second)
+                .map(row -> "Row " + row.rowNumber() + ": " + String.join(", ", row.errors()))
+                .orElse(null);
+
+        return transactionTemplate.execute(status -> {
+            Map<String, Category> categories = resolveCategories(user, validRows);
+            List<Expense> expenses = validRows.stream()
+                    .map(row -> {
+                        ExpenseDTO expenseDTO = row.expense();
+                        Expense expense = new Expense();
+                        expense.setName(expenseDTO.getName());
+                        expense.setDescription(expenseDTO.getDescription());
+                        expense.setAmount(expenseDTO.getAmount());
+                        expense.setDate(expenseDTO.getDate());
+                        expense.setNotes(expenseDTO.getNotes());
+                        expense.setCategory(categories.get(expenseDTO.getCategoryDTO().getName()));
+                        return expense;
+                    })
+                    .toList();
+            expenseRepository.batchInsert(user.getId(), expenses);
+            expenseRollupService.addExpenses(user.getId(), expenses);
+            expenses.forEach(expense -> expenseTotalsCache.recordChange(user.getId(), expense.getDate(), expense.getAmount(), 1));
+
+            expenseImport.setProcessedRows(expenseImport.getProcessedRows() + chunk.size());
+            expenseImport.setImportedRows(expenseImport.getImportedRows() + expenses.size());
+            expenseImport.setFailedRows(expenseImport.getFailedRows() + chunk.size() - expenses.size());
+            if (lastError != null) {
+                expenseImport.setLastError(truncate(lastError));
+            }
+            log.debug("Committed chunk of {} rows for expense import with ID: {}", chunk.size(), expenseImport.getId());
+            return expenseImportRepository.save(expenseImport);
+        });
+    }
+
+    /**
+     * Resolves the categories of a chunk through the category cache, which loads the misses with one query
+     * and creates the ones that do not exist.
+     */
+    private Map<String, Category> resolveCategories(User user, List<ImportRow> rows) {
+        Map<String, String> requested = new LinkedHashMap<>();
+        rows.forEach(row -> requested.putIfAbsent(row.expense().getCategoryDTO().getName(), null));
+
+        Map<String, Category> categories = new HashMap<>();
+        if (!requested.isEmpty()) {
+            categoryCache.getOrCreateAll(user, requested)
+                    .forEach((name, category) -> categories.put(name, category.toReference()));
+        }
+        return categories;
+    }
+
+    private ImportRow parseRow(long rowNumber, CSVRecord csvRecord) {
+        ExpenseDTO expenseDTO;
+        try {
+            String amount = getValue(csvRecord, "amount");
+            String date = getValue(csvRecord, "date");
+            String category = getValue(csvRecord, "category");
+            expenseDTO = ExpenseDTO.builder()
+                    .name(getValue(csvRecord, "name"))
+                    .description(getValue(csvRecord, "description"))
+                    .amount(amount == null ? null : new BigDecimal(amount))
+                    .date(date == null ? null : Date.valueOf(LocalDate.parse(date)))
+                    .notes(getValue(csvRecord, "notes"))
+                    .categoryDTO(category == null ? null : CategoryDTO.builder().name(category).build())
+                    .build();
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return new ImportRow(rowNumber, null, List.of("Invalid amount or date: " + e.getMessage()));
+        }
+
+        List<String> errors = new ArrayList<>();
+        validator.validate(expenseDTO).forEach(violation -> errors.add(violation.getMessage()));
+        if (expenseDTO.getCategoryDTO() == null) {
+            errors.add("Category name must be provided to add an expense.");
+        } else {
+            validator.validate(expenseDTO.getCategoryDTO()).forEach(violation -> errors.add(violation.getMessage()));
+        }
+        return new ImportRow(rowNumber, expenseDTO, errors);
+    }
+
+    private String getValue(CSVRecord csvRecord, String column) {
+        if (!csvRecord.isSet(column)) {
+            return null;
+        }
+        String value = csvRecord.get(column);
+        return value.isEmpty() ? null : value;
+    }
+
+    private String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private ExpenseImport getImportEntity(Long importId) {
+        Long userId = userService.getLoggedInUserId();
+        return expenseImportRepository.findByUserIdAndId(userId, importId)
+                .orElseThrow(() -> {
+                    log.error("Expense import with ID: {} not found for user ID: {}", importId, userId);
+                    return new ResourceNotFoundException("Expense import not found for id " + importId);
+                });
+    }
+
+    private ExpenseImportDTO convertToDTO(ExpenseImport expenseImport) {
+        return ExpenseImportDTO.builder()
+                .id(expenseImport.getId())
+                .fileName(expenseImport.getFileName())
+                .status(expenseImport.getStatus())
+                .processedRows(expenseImport.getProcessedRows())
+                .importedRows(expenseImport.getImportedRows())
+                .failedRows(expenseImport.getFailedRows())
+                .lastError(expenseImport.getLastError())
+                .createdAt(expenseImport.getCreatedAt())
+                .updatedAt(expenseImport.getUpdatedAt())
+                .build();
+    }
+
+    private record ImportRow(long rowNumber, ExpenseDTO expense, List<String> errors) {
+    }
+}
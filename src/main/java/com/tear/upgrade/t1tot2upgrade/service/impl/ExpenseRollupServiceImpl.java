@@ -0,0 +1,198 @@
+package com.tear.upgrade.t1tot2upgrade.service.impl;
+
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseReportDTO;
+import com.tear.upgrade.t1tot2upgrade.entity.Expense;
+import com.tear.upgrade.t1tot2upgrade.entity.ExpenseMonthlyRollup;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseReportModel;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseRollupModel;
+import com.tear.upgrade.t1tot2upgrade.repository.ExpenseMonthlyRollupRepository;
+import com.tear.upgrade.t1tot2upgrade.repository.ExpenseRepository;
+import com.tear.upgrade.t1tot2upgrade.service.ExpenseRollupService;
+import com.tear.upgrade.t1tot2upgrade.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+@Service
+@Slf4j
+public class ExpenseRollupServiceImpl implements ExpenseRollupService {
+
+    @Autowired
+    private ExpenseMonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Transactional
+    @Override
+    public void addExpenses(Long userId, Collection<Expense> expenses) {
+        applyDeltas(userId, expenses, BigDecimal.ONE);
+    }
+
+    @Transactional
+    @Override
+    public void addExpense(Expense expense) {
+        applyDeltas(expense.getUser().getId(), List.of(expense), BigDecimal.ONE);
+    }
+
+    @Transactional
+    @Override
+    public void removeExpense(Expense expense) {
+        applyDeltas(expense.getUser().getId(), List.of(expense), BigDecimal.ONE.negate());
+    }
+
+    @Transactional
+    @Override
+    public void clearUser(Long userId) {
+        int deleted = rollupRepository.deleteByUserId(userId);
+        log.debug("Deleted {} rollup rows for user ID: {}", deleted, userId);
+    }
+
+    @Override
+    public long reconcileUser(Long userId) {
+        Long corrected = transactionTemplate.execute(status -> {
+            Map<RollupKey, ExpenseMonthlyRollup> current = new HashMap<>();
+            for (ExpenseMonthlyRollup rollup : rollupRepository.findByUserIdForUpdate(userId)) {
+                current.put(new RollupKey(rollup.getCategory().getId(), rollup.getMonthStart().toLocalDate()), rollup);
+            }
+
+            long drifted = 0;
+            for (ExpenseRollupModel actual : expenseRepository.aggregateMonthlyByUserId(userId)) {
+                ExpenseMonthlyRollup rollup = current.remove(new RollupKey(actual.categoryId(), actual.monthStart().toLocalDate()));
+                if (rollup == null || rollup.getExpenseCount() != actual.count()
+                        || rollup.getTotalAmount().compareTo(actual.total()) != 0) {
+                    rollupRepository.replaceRollup(userId, actual.categoryId(), actual.monthStart(), actual.total(), actual.count());
+                    drifted++;
+                }
+            }
+            for (ExpenseMonthlyRollup stale : current.values()) {
+                if (stale.getExpenseCount() != 0 || stale.getTotalAmount().signum() != 0) {
+                    drifted++;
+                }
+            }
+            rollupRepository.deleteAll(current.values());
+            return drifted;
+        });
+
+        long result = Objects.requireNonNullElse(corrected, 0L);
+        if (result > 0) {
+            log.warn("Corrected {} drifted rollup groups for user ID: {}", result, userId);
+        } else {
+            log.debug("Rollup of user ID: {} is consistent", userId);
+        }
+        return result;
+    }
+
+    @Scheduled(cron = "${expenses.rollup.reconcile-cron:0 30 3 * * *}")
+    @Override
+    public long reconcileAll() {
+        TreeSet<Long> userIds = new TreeSet<>(expenseRepository.findDistinctUserIds());
+        userIds.addAll(rollupRepository.findDistinctUserIds());
+
+        long corrected = 0;
+        for (Long userId : userIds) {
+            try {
+                corrected += reconcileUser(userId);
+            } catch (RuntimeException e) {
+                log.error("Failed to reconcile rollup of user ID: {}", userId, e);
+            }
+        }
+        log.info("Rollup reconciliation checked {} users and corrected {} groups", userIds.size(), corrected);
+        return corrected;
+    }
+
+    @Override
+    public long rebuildForLoggedInUser() {
+        return reconcileUser(userService.getLoggedInUserId());
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<ExpenseReportDTO> getMonthlyReport(YearMonth from, YearMonth to, boolean byCategory) {
+        Date startDate = from == null ? new Date(0) : Date.valueOf(from.atDay(1));
+        Date endDate = Date.valueOf(to == null ? LocalDate.now() : to.atEndOfMonth());
+        validateRange(startDate, endDate);
+
+        Long userId = userService.getLoggedInUserId();
+        List<ExpenseReportModel> rows = byCategory
+                ? rollupRepository.findMonthlyReportByCategory(userId, startDate, endDate)
+                : rollupRepository.findMonthlyReport(userId, startDate, endDate);
+        log.info("Fetched monthly report with {} rows for user ID: {}", rows.size(), userId);
+        return rows.stream()
+                .map(row -> convertToDTO(row, YearMonth.of(row.year(), row.month()).toString()))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<ExpenseReportDTO> getYearlyReport(Integer from, Integer to, boolean byCategory) {
+        Date startDate = from == null ? new Date(0) : Date.valueOf(LocalDate.of(from, 1, 1));
+        Date endDate = Date.valueOf(to == null ? LocalDate.now() : LocalDate.of(to, 12, 31));
+        validateRange(startDate, endDate);
+
+        Long userId = userService.getLoggedInUserId();
+        List<ExpenseReportModel> rows = byCategory
+                ? rollupRepository.findYearlyReportByCategory(userId, startDate, endDate)
+                : rollupRepository.findYearlyReport(userId, startDate, endDate);
+        log.info("Fetched yearly report with {} rows for user ID: {}", rows.size(), userId);
+        return rows.stream()
+                .map(row -> convertToDTO(row, String.valueOf(row.year())))
+                .toList();
+    }
+
+    /**
+     * Sums the expenses per category and month first, so a batch touches each rollup row once.
+     */
+    private void applyDeltas(Long userId, Collection<Expense> expenses, BigDecimal sign) {
+        Map<RollupKey, BigDecimal> totals = new HashMap<>();
+        Map<RollupKey, Long> counts = new HashMap<>();
+        for (Expense expense : expenses) {
+            RollupKey key = new RollupKey(expense.getCategory().getId(),
+                    expense.getDate().toLocalDate().withDayOfMonth(1));
+            totals.merge(key, expense.getAmount(), BigDecimal::add);
+            counts.merge(key, 1L, Long::sum);
+        }
+        totals.forEach((key, total) -> rollupRepository.addToRollup(userId, key.categoryId(), Date.valueOf(key.monthStart()),
+                total.multiply(sign), counts.get(key) * sign.longValue()));
+        log.debug("Applied {} rollup deltas for user ID: {}", totals.size(), userId);
+    }
+
+    private void validateRange(Date startDate, Date endDate) {
+        if (startDate.after(endDate)) {
+            log.error("Report range start {} is after end {}", startDate, endDate);
+            throw new IllegalArgumentException("Report start must not be after its end");
+        }
+    }
+
+    private ExpenseReportDTO convertToDTO(ExpenseReportModel row, String period) {
+        return ExpenseReportDTO.builder()
+                .period(period)
+                .category(row.category())
+                .total(row.total())
+                .count(row.count())
+                .build();
+    }
+
+    private record RollupKey(Long categoryId, LocalDate monthStart) {
+    }
+}
@@ -1,30 +1,71 @@
 package com.tear.upgrade.t1tot2upgrade.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tear.upgrade.t1tot2upgrade.cache.CategoryCache;
+import com.tear.upgrade.t1tot2upgrade.cache.ExpenseTotalsCache;
 import com.tear.upgrade.t1tot2upgrade.dto.CategoryDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.CursorPageDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseBatchResultDTO;
 import com.tear.upgrade.t1tot2upgrade.dto.ExpenseDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseSummaryDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseTotalDTO;
 import com.tear.upgrade.t1tot2upgrade.entity.Category;
 import com.tear.upgrade.t1tot2upgrade.entity.Expense;
 import com.tear.upgrade.t1tot2upgrade.entity.User;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseCursorModel;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseExportModel;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseSummaryModel;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExportFormat;
+import com.tear.upgrade.t1tot2upgrade.entity.model.SummaryGroupBy;
 import com.tear.upgrade.t1tot2upgrade.exceptions.ResourceNotFoundException;
 import com.tear.upgrade.t1tot2upgrade.repository.CategoryRepository;
 import com.tear.upgrade.t1tot2upgrade.repository.ExpenseRepository;
+import com.tear.upgrade.t1tot2upgrade.service.ExpenseRollupService;
 import com.tear.upgrade.t1tot2upgrade.service.ExpenseService;
 import com.tear.upgrade.t1tot2upgrade.service.UserService;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.sql.Date;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 public class ExpenseServiceImpl implements ExpenseService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    private static final int MAX_DELETE_BATCH_SIZE = 1000;
+
+    private static final String CSV_HEADER = "id,name,description,amount,date,notes,category";
+
     @Autowired
     private ExpenseRepository expenseRepository;
 
@@ -34,18 +75,42 @@ public class ExpenseServiceImpl implements ExpenseService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ExpenseRollupService expenseRollupService;
+
+    @Autowired
+    private ExpenseTotalsCache expenseTotalsCache;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${expenses.batch.max-items:5000}")
+    private int batchMaxItems;
+
+    @Value("${expenses.search.min-term-length:3}")
+    private int searchMinTermLength;
+
+    @Transactional(readOnly = true)
     @Override
     public Page<ExpenseDTO> getAllExpenses(Pageable page) {
         if (page == null) {
             log.error("Pageable is null");
             throw new IllegalArgumentException("Pageable cannot be null");
         }
-        log.debug("Fetching expenses for user ID: {} with pageable: {}", userService.getLoggedInUser().getId(), page);
-        Page<Expense> expenses = expenseRepository.findByUserId(userService.getLoggedInUser().getId(), page);
-        log.info("Fetched {} expenses for user ID: {}", expenses.getTotalElements(), userService.getLoggedInUser().getId());
+        Long userId = userService.getLoggedInUserId();
+        log.debug("Fetching expenses for user ID: {} with pageable: {}", userId, page);
+        Page<Expense> expenses = expenseRepository.findByUserId(userId, page);
+        log.info("Fetched {} expenses for user ID: {}", expenses.getTotalElements(), userId);
         return expenses.map(this::convertToDTO);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public ExpenseDTO getExpenseById(Long id) {
         Optional<Expense> expense = getExpenseEntityById(id);
@@ -58,10 +123,14 @@ public class ExpenseServiceImpl implements ExpenseService {
         }
     }
 
+    @Transactional
     @Override
     public void deleteExpenseById(Long id) {
-        Optional<Expense> expenseOptional = expenseRepository.findByUserIdAndId(userService.getLoggedInUser().getId(), id);
+        Long userId = userService.getLoggedInUserId();
+        Optional<Expense> expenseOptional = expenseRepository.findByUserIdAndId(userId, id);
         if (expenseOptional.isPresent()) {
+            expenseRollupService.removeExpense(expenseOptional.get());
+            expenseTotalsCache.recordChange(userId, expenseOptional.get().getDate(), expenseOptional.get().getAmount().negate(), -1);
             expenseRepository.delete(expenseOptional.get());
             log.info("Expense with ID '{}' deleted successfully", id);
         } else {
@@ -71,46 +140,48 @@ public class ExpenseServiceImpl implements ExpenseService {
     }
 
     @Override
-    public void deleteAllExpensesForUser(Pageable pageable) {
-        User loggedInUser = userService.getLoggedInUser();
-
-        Page<Expense> expensesPage;
-        do {
-            expensesPage = expenseRepository.findByUserId(loggedInUser.getId(), pageable);
-            if (!expensesPage.isEmpty()) {
-                log.debug("Deleting {} expenses for user ID: {}", expensesPage.getContent().size(), loggedInUser.getId());
-                expenseRepository.deleteAll(expensesPage.getContent());
+    public long deleteAllExpensesForUser(Pageable pageable) {
+        if (pageable == null) {
+            log.error("Pageable is null");
+            throw new IllegalArgumentException("Pageable must not be null");
+        }
+        Long userId = userService.getLoggedInUserId();
+        int batchSize = Math.min(pageable.getPageSize(), MAX_DELETE_BATCH_SIZE);
+
+        long deleted = 0;
+        int batchDeleted;
+        try {
+            do {
+                batchDeleted = expenseRepository.deleteBatchByUserId(userId, batchSize);
+                deleted += batchDeleted;
+                log.debug("Deleted batch of {} expenses for user ID: {}", batchDeleted, userId);
+            } while (batchDeleted == batchSize);
+        } finally {
+            // every batch commits on its own, so the derived data must go even when a later batch fails
+            if (deleted > 0) {
+                expenseTotalsCache.invalidate(userId);
+                expenseRollupService.clearUser(userId);
             }
-            pageable = pageable.next();
-        } while (expensesPage.hasNext());
+        }
 
-        if (expensesPage.getTotalElements() == 0) {
-            log.error("No expenses found for user ID: {}", loggedInUser.getId());
-            throw new ResourceNotFoundException("No expenses found for user " + loggedInUser.getId());
+        if (deleted == 0) {
+            log.error("No expenses found for user ID: {}", userId);
+            throw new ResourceNotFoundException("No expenses found for user " + userId);
         }
-        log.info("All expenses deleted for user ID: {}", loggedInUser.getId());
+        log.info("Deleted {} expenses for user ID: {}", deleted, userId);
+        return deleted;
     }
 
+    @Transactional
     @Override
     public ExpenseDTO saveExpanseDetails(ExpenseDTO expenseDTO) {
         User loggedInUser = userService.getLoggedInUser();
 
-        Category category = null;
+        Category category;
         if (expenseDTO.getCategoryDTO() != null && expenseDTO.getCategoryDTO().getName() != null) {
-            Optional<Category> optionalCategory = categoryRepository.findByNameAndUser(expenseDTO.getCategoryDTO().getName(), loggedInUser);
-
-            if (optionalCategory.isPresent()) {
-                category = optionalCategory.get();
-                log.debug("Category '{}' found for user ID: {}", expenseDTO.getCategoryDTO().getName(), loggedInUser.getId());
-            } else {
-                log.debug("Category '{}' not found. Creating new category.", expenseDTO.getCategoryDTO().getName());
-                category = new Category();
-                category.setName(expenseDTO.getCategoryDTO().getName());
-                category.setDescription(expenseDTO.getCategoryDTO().getDescription());
-                category.setUser(loggedInUser);
-                category = categoryRepository.save(category);
-                log.debug("New category '{}' created and saved", expenseDTO.getCategoryDTO().getName());
-            }
+            category = categoryCache.getOrCreate(loggedInUser, expenseDTO.getCategoryDTO().getName(),
+                    expenseDTO.getCategoryDTO().getDescription()).toReference();
+            log.debug("Category '{}' resolved to ID: {} for user ID: {}", category.getName(), category.getId(), loggedInUser.getId());
         } else {
             log.error("Category name must be provided to add an expense.");
             throw new IllegalArgumentException("Category name must be provided to add an expense.");
@@ -125,9 +196,77 @@ public class ExpenseServiceImpl implements ExpenseService {
         expense.setUser(loggedInUser);
         expense.setCategory(category);
 
-        return convertToDTO(expenseRepository.save(expense));
+        Expense savedExpense = expenseRepository.save(expense);
+        expenseRollupService.addExpense(savedExpense);
+        expenseTotalsCache.recordChange(loggedInUser.getId(), savedExpense.getDate(), savedExpense.getAmount(), 1);
+        return convertToDTO(savedExpense);
     }
 
+    @Transactional
+    @Override
+    public List<ExpenseBatchResultDTO> saveExpensesBatch(List<ExpenseDTO> expenseDTOs) {
+        if (expenseDTOs == null || expenseDTOs.isEmpty()) {
+            log.error("Expense batch is empty");
+            throw new IllegalArgumentException("Expense batch must contain at least one expense");
+        }
+        if (expenseDTOs.size() > batchMaxItems) {
+            log.error("Expense batch of {} items exceeds the limit of {}", expenseDTOs.size(), batchMaxItems);
+            throw new IllegalArgumentException("Expense batch must not contain more than " + batchMaxItems + " expenses");
+        }
+
+        ExpenseBatchResultDTO[] results = new ExpenseBatchResultDTO[expenseDTOs.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < expenseDTOs.size(); i++) {
+            List<String> errors = validateBatchItem(expenseDTOs.get(i));
+            if (errors.isEmpty()) {
+                validIndexes.add(i);
+            } else {
+                results[i] = ExpenseBatchResultDTO.builder()
+                        .index(i)
+                        .status(ExpenseBatchResultDTO.Status.FAILED)
+                        .errors(errors)
+                        .build();
+            }
+        }
+
+        if (!validIndexes.isEmpty()) {
+            Long userId = userService.getLoggedInUserId();
+            Map<String, Category> categories = resolveCategories(userId, validIndexes.stream()
+                    .map(expenseDTOs::get)
+                    .toList());
+
+            List<Expense> expenses = validIndexes.stream()
+                    .map(i -> {
+                        ExpenseDTO expenseDTO = expenseDTOs.get(i);
+                        Expense expense = new Expense();
+                        expense.setName(expenseDTO.getName());
+                        expense.setDescription(expenseDTO.getDescription());
+                        expense.setAmount(expenseDTO.getAmount());
+                        expense.setDate(expenseDTO.getDate());
+                        expense.setNotes(expenseDTO.getNotes());
+                        expense.setCategory(categories.get(expenseDTO.getCategoryDTO().getName()));
+                        return expense;
+                    })
+                    .toList();
+            expenseRepository.batchInsert(userId, expenses);
+            expenseRollupService.addExpenses(userId, expenses);
+            expenses.forEach(expense -> expenseTotalsCache.recordChange(userId, expense.getDate(), expense.getAmount(), 1));
+
+            for (int i = 0; i < expenses.size(); i++) {
+                int index = validIndexes.get(i);
+                results[index] = ExpenseBatchResultDTO.builder()
+                        .index(index)
+                        .status(ExpenseBatchResultDTO.Status.CREATED)
+                        .expense(convertToDTO(expenses.get(i)))
+                        .build();
+            }
+        }
+
+        log.info("Expense batch processed: {} created, {} failed", validIndexes.size(), expenseDTOs.size() - validIndexes.size());
+        return Arrays.asList(results);
+    }
+
+    @Transactional
     @Override
     public ExpenseDTO updateExpenseDetails(Long id, ExpenseDTO expenseDTO) {
 
@@ -136,35 +275,46 @@ public class ExpenseServiceImpl implements ExpenseService {
                     log.error("Expense with ID '{}' not found", id);
                     return new ResourceNotFoundException("Expense is not found for id " + id);
                 });
+        expenseRollupService.removeExpense(existingExpense);
 
         if (expenseDTO.getCategoryDTO() != null && expenseDTO.getCategoryDTO().getName() != null) {
-            User loggedInUser = userService.getLoggedInUser();
-            Optional<Category> optionalCategory = categoryRepository.findByNameAndUser(expenseDTO.getCategoryDTO().getName(), loggedInUser);
-
-            if (optionalCategory.isEmpty()) {
-                log.error("Category with name '{}' not found for user ID: {}", expenseDTO.getCategoryDTO().getName(), loggedInUser.getId());
-                throw new ResourceNotFoundException("Category not found for name: " + expenseDTO.getCategoryDTO().getName());
+            Long userId = userService.getLoggedInUserId();
+            String categoryName = expenseDTO.getCategoryDTO().getName();
+            CategoryCache.CachedCategory cachedCategory = categoryCache.find(userId, categoryName)
+                    .orElseThrow(() -> {
+                        log.error("Category with name '{}' not found for user ID: {}", categoryName, userId);
+                        return new ResourceNotFoundException("Category not found for name: " + categoryName);
+                    });
+
+            Category category = cachedCategory.toReference();
+            String description = expenseDTO.getCategoryDTO().getDescription();
+            if (description != null && !description.equals(cachedCategory.description())) {
+                category = categoryRepository.findByUserIdAndId(userId, cachedCategory.id())
+                        .orElseThrow(() -> new ResourceNotFoundException("Category not found for name: " + categoryName));
+                category.setDescription(description);
+                category = categoryRepository.save(category);
+                categoryCache.evict(userId, categoryName);
+                log.info("Category '{}' updated successfully for expense with ID: {}", categoryName, id);
             }
-
-            Category category = optionalCategory.get();
-            category.setDescription(expenseDTO.getCategoryDTO().getDescription() != null ? expenseDTO.getCategoryDTO().getDescription() : category.getDescription());
-            categoryRepository.save(category);
-            log.info("Category '{}' updated successfully for expense with ID: {}", expenseDTO.getCategoryDTO().getName(), id);
             existingExpense.setCategory(category);
         }
 
-        return convertToDTO(expenseRepository.save(existingExpense));
+        Expense savedExpense = expenseRepository.save(existingExpense);
+        expenseRollupService.addExpense(savedExpense);
+        return convertToDTO(savedExpense);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<ExpenseDTO> readByName(String name, Pageable page) {
-        List<Expense> expenses = expenseRepository.findByUserIdAndNameContaining(userService.getLoggedInUser().getId(), name, page).toList();
+        List<Expense> expenses = expenseRepository.findByUserIdAndNameContaining(userService.getLoggedInUserId(), name, page).toList();
         log.debug("Found {} expenses with name containing '{}'", expenses.size(), name);
         return expenses.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<ExpenseDTO> readByDate(Date startDate, Date endDate, Pageable page) {
         if (startDate == null) {
@@ -175,7 +325,7 @@ public class ExpenseServiceImpl implements ExpenseService {
         }
 
         List<Expense> expenses = expenseRepository.findByUserIdAndDateBetween(
-                userService.getLoggedInUser().getId(), startDate, endDate, page).toList();
+                userService.getLoggedInUserId(), startDate, endDate, page).toList();
         log.debug("Found {} expenses between dates: {} and {}", expenses.size(), startDate, endDate);
 
         return expenses.stream()
@@ -183,9 +333,10 @@ public class ExpenseServiceImpl implements ExpenseService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<ExpenseDTO> getExpensesByCategoryName(String categoryName) {
-        Category category = categoryRepository.findByName(categoryName)
+        Category category = categoryRepository.findByUserIdAndName(userService.getLoggedInUserId(), categoryName)
                 .orElseThrow(() -> {
                     log.error("Category '{}' not found", categoryName);
                     return new ResourceNotFoundException("Category not found with name: " + categoryName);
@@ -197,6 +348,7 @@ public class ExpenseServiceImpl implements ExpenseService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<ExpenseDTO> getCategoriesByNameForLoggedInUser(String categoryName) {
         User loggedInUser = userService.getLoggedInUser();
@@ -214,8 +366,275 @@ public class ExpenseServiceImpl implements ExpenseService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageDTO<ExpenseDTO> getAllExpenses(String cursor, int size) {
+        Long userId = userService.getLoggedInUserId();
+        Pageable limit = getCursorLimit(size);
+        List<Expense> expenses;
+        if (cursor == null || cursor.isBlank()) {
+            expenses = expenseRepository.findKeysetByUserId(userId, limit);
+        } else {
+            ExpenseCursorModel position = ExpenseCursorModel.decode(cursor);
+            expenses = expenseRepository.findKeysetByUserIdAfter(userId, position.date(), position.id(), limit);
+        }
+        log.debug("Fetched {} expenses for user ID: {} after cursor: {}", expenses.size(), userId, cursor);
+        return toCursorPage(expenses, size);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageDTO<ExpenseDTO> readByName(String name, String cursor, int size) {
+        Long userId = userService.getLoggedInUserId();
+        Pageable limit = getCursorLimit(size);
+        List<Expense> expenses;
+        if (cursor == null || cursor.isBlank()) {
+            expenses = expenseRepository.findKeysetByUserIdAndNameContaining(userId, name, limit);
+        } else {
+            ExpenseCursorModel position = ExpenseCursorModel.decode(cursor);
+            expenses = expenseRepository.findKeysetByUserIdAndNameContainingAfter(userId, name, position.date(), position.id(), limit);
+        }
+        log.debug("Found {} expenses with name containing '{}' after cursor: {}", expenses.size(), name, cursor);
+        return toCursorPage(expenses, size);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageDTO<ExpenseDTO> readByDate(Date startDate, Date endDate, String cursor, int size) {
+        if (startDate == null) {
+            startDate = new Date(0);
+        }
+        if (endDate == null) {
+            endDate = new Date(System.currentTimeMillis());
+        }
+        Long userId = userService.getLoggedInUserId();
+        Pageable limit = getCursorLimit(size);
+        List<Expense> expenses;
+        if (cursor == null || cursor.isBlank()) {
+            expenses = expenseRepository.findKeysetByUserIdAndDateBetween(userId, startDate, endDate, limit);
+        } else {
+            ExpenseCursorModel position = ExpenseCursorModel.decode(cursor);
+            expenses = expenseRepository.findKeysetByUserIdAndDateBetweenAfter(userId, startDate, endDate,
+                    position.date(), position.id(), limit);
+        }
+        log.debug("Found {} expenses between dates: {} and {} after cursor: {}", expenses.size(), startDate, endDate, cursor);
+        return toCursorPage(expenses, size);
+    }
+
+    /**
+     * Requests one row more than the page size, so the presence of a next page is known without a count query.
+     */
+    private Pageable getCursorLimit(int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            log.error("Invalid cursor page size: {}", size);
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        return PageRequest.of(0, size + 1);
+    }
+
+    private CursorPageDTO<ExpenseDTO> toCursorPage(List<Expense> expenses, int size) {
+        boolean hasNext = expenses.size() > size;
+        List<Expense> content = hasNext ? expenses.subList(0, size) : expenses;
+        String nextCursor = null;
+        if (hasNext) {
+            Expense last = content.get(content.size() - 1);
+            nextCursor = new ExpenseCursorModel(last.getDate(), last.getId()).encode();
+        }
+        return CursorPageDTO.<ExpenseDTO>builder()
+                .content(content.stream()
+                        .map(this::convertToDTO)
+                        .toList())
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public long exportExpenses(ExportFormat format, OutputStream outputStream) throws IOException {
+        Long userId = userService.getLoggedInUserId();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long exported = 0;
+        try (Stream<ExpenseExportModel> rows = expenseRepository.streamExportByUserId(userId)) {
+            Iterator<ExpenseExportModel> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                ExpenseExportModel row = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                }
+                writer.write('\n');
+                exported++;
+            }
+        }
+        writer.flush();
+        log.info("Exported {} expenses for user ID: {} as {}", exported, userId, format);
+        return exported;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<ExpenseSummaryDTO> getExpenseSummary(Set<SummaryGroupBy> groupBy, Date startDate, Date endDate) {
+        if (groupBy.contains(SummaryGroupBy.MONTH) && groupBy.contains(SummaryGroupBy.DAY)) {
+            log.error("Expense summary cannot be grouped by month and day at the same time");
+            throw new IllegalArgumentException("Group by month and day cannot be combined");
+        }
+        if (startDate == null) {
+            startDate = new Date(0);
+        }
+        if (endDate == null) {
+            endDate = new Date(System.currentTimeMillis());
+        }
+
+        Long userId = userService.getLoggedInUserId();
+        List<ExpenseSummaryModel> summary = expenseRepository.summarizeByUserId(userId, groupBy, startDate, endDate);
+        log.info("Computed {} summary groups by {} for user ID: {}", summary.size(), groupBy, userId);
+        return summary.stream()
+                .map(group -> ExpenseSummaryDTO.builder()
+                        .category(group.category())
+                        .period(group.month() != null
+                                ? YearMonth.of(group.year(), group.month()).toString()
+                                : group.day() != null ? group.day().toString() : null)
+                        .total(group.total())
+                        .count(group.count())
+                        .min(group.min())
+                        .max(group.max())
+                        .build())
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ExpenseTotalDTO getExpenseTotal(Date startDate, Date endDate) {
+        if (startDate == null) {
+            startDate = new Date(0);
+        }
+        if (endDate == null) {
+            endDate = new Date(System.currentTimeMillis());
+        }
+
+        Long userId = userService.getLoggedInUserId();
+        ExpenseTotalDTO.ExpenseTotalDTOBuilder total = ExpenseTotalDTO.builder()
+                .startDate(startDate)
+                .endDate(endDate);
+        if (expenseTotalsCache.isEnabled()) {
+            ExpenseTotalsCache.RangeTotal rangeTotal = expenseTotalsCache.getTotal(userId, startDate, endDate);
+            log.debug("Served expense total for user ID: {} from the totals cache", userId);
+            return total.total(rangeTotal.amount()).count(rangeTotal.count()).build();
+        }
+
+        List<ExpenseSummaryModel> summary = expenseRepository.summarizeByUserId(userId,
+                EnumSet.noneOf(SummaryGroupBy.class), startDate, endDate);
+        log.debug("Computed expense total for user ID: {} in the database", userId);
+        return summary.isEmpty()
+                ? total.total(BigDecimal.ZERO).count(0).build()
+                : total.total(summary.get(0).total()).count(summary.get(0).count()).build();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<ExpenseDTO> searchExpenses(String query, Pageable page) {
+        String booleanQuery = toBooleanQuery(query);
+        if (page.getPageSize() > MAX_CURSOR_PAGE_SIZE) {
+            log.error("Invalid search page size: {}", page.getPageSize());
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+
+        Long userId = userService.getLoggedInUserId();
+        List<Long> ids = expenseRepository.searchIdsByUserId(userId, booleanQuery,
+                PageRequest.of(page.getPageNumber(), page.getPageSize()));
+        log.debug("Full-text search '{}' matched {} expenses for user ID: {}", booleanQuery, ids.size(), userId);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Expense> expensesById = expenseRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Expense::getId, expense -> expense));
+        return ids.stream()
+                .map(expensesById::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Turns free text into a MySQL boolean mode query where every term is required and matched as a prefix,
+     * e.g. {@code "coffee star"} becomes {@code "+coffee* +star*"}. Boolean operators typed by the user are
+     * stripped, and terms shorter than the full-text token size are dropped since the index never holds them.
+     */
+    private String toBooleanQuery(String query) {
+        String terms = query == null ? "" : Arrays.stream(query.toLowerCase().split("[^\\p{L}\\p{N}_]+"))
+                .filter(term -> term.length() >= searchMinTermLength)
+                .distinct()
+                .map(term -> "+" + term + "*")
+                .collect(Collectors.joining(" "));
+        if (terms.isEmpty()) {
+            log.error("Search query '{}' has no terms of at least {} characters", query, searchMinTermLength);
+            throw new IllegalArgumentException("Search query must contain a term of at least "
+                    + searchMinTermLength + " characters");
+        }
+        return terms;
+    }
+
+    private void writeCsvRow(Writer writer, ExpenseExportModel row) throws IOException {
+        writer.write(String.join(",",
+                String.valueOf(row.id()),
+                escapeCsv(row.name()),
+                escapeCsv(row.description()),
+                row.amount() == null ? "" : row.amount().toPlainString(),
+                row.date() == null ? "" : row.date().toString(),
+                escapeCsv(row.notes()),
+                escapeCsv(row.category())));
+    }
+
+    private String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private List<String> validateBatchItem(ExpenseDTO expenseDTO) {
+        if (expenseDTO == null) {
+            return List.of("Expense must not be null");
+        }
+        List<String> errors = new ArrayList<>();
+        validator.validate(expenseDTO).forEach(violation -> errors.add(violation.getMessage()));
+        if (expenseDTO.getCategoryDTO() == null || expenseDTO.getCategoryDTO().getName() == null) {
+            errors.add("Category name must be provided to add an expense.");
+        } else {
+            validator.validate(expenseDTO.getCategoryDTO()).forEach(violation -> errors.add(violation.getMessage()));
+        }
+        return errors;
+    }
+
+    /**
+     * Resolves every category referenced by the batch through the category cache, which loads the misses with
+     * one query and creates the missing ones.
+     */
+    private Map<String, Category> resolveCategories(Long userId, List<ExpenseDTO> expenseDTOs) {
+        Map<String, String> requested = new LinkedHashMap<>();
+        expenseDTOs.forEach(expenseDTO -> requested.putIfAbsent(expenseDTO.getCategoryDTO().getName(),
+                expenseDTO.getCategoryDTO().getDescription()));
+
+        Map<String, Category> categories = new HashMap<>();
+        categoryCache.getOrCreateAll(userService.getLoggedInUser(), requested)
+                .forEach((name, category) -> categories.put(name, category.toReference()));
+        log.debug("Resolved {} categories for user ID: {}", categories.size(), userId);
+        return categories;
+    }
+
     private Optional<Expense> getExpenseEntityById(Long id) {
-        return expenseRepository.findByUserIdAndId(userService.getLoggedInUser().getId(), id);
+        return expenseRepository.findByUserIdAndId(userService.getLoggedInUserId(), id);
     }
 
     private ExpenseDTO convertToDTO(Expense expense) {
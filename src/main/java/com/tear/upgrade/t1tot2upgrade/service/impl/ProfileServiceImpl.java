@@ -9,6 +9,7 @@ import com.tear.upgrade.t1tot2upgrade.service.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Slf4j
@@ -20,9 +21,10 @@ public class ProfileServiceImpl implements ProfileService {
     @Autowired
     private UserService userService;
 
+    @Transactional(readOnly = true)
     @Override
     public ProfileDTO getProfileForLoggedInUser() {
-        Long userId = userService.getLoggedInUser().getId();
+        Long userId = userService.getLoggedInUserId();
         return profileRepository.findByUserId(userId)
                 .map(this::convertDTO)
                 .orElseThrow(() -> {
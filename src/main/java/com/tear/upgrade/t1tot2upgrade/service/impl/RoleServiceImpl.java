@@ -2,13 +2,20 @@ package com.tear.upgrade.t1tot2upgrade.service.impl;
 
 import com.tear.upgrade.t1tot2upgrade.dto.RoleDTO;
 import com.tear.upgrade.t1tot2upgrade.entity.Role;
+import com.tear.upgrade.t1tot2upgrade.entity.model.RoleMemberModel;
 import com.tear.upgrade.t1tot2upgrade.exceptions.ItemAlreadyExistsException;
 import com.tear.upgrade.t1tot2upgrade.exceptions.ResourceNotFoundException;
 import com.tear.upgrade.t1tot2upgrade.repository.RoleRepository;
+import com.tear.upgrade.t1tot2upgrade.repository.UserRepository;
+import com.tear.upgrade.t1tot2upgrade.security.TokenRevocationRegistry;
+import com.tear.upgrade.t1tot2upgrade.security.VerifiedTokenCache;
 import com.tear.upgrade.t1tot2upgrade.service.RoleService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -20,6 +27,15 @@ public class RoleServiceImpl implements RoleService {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
     @Override
     public RoleDTO createRole(RoleDTO roleDTO) {
         if (roleRepository.existsByRoleName(roleDTO.getRoleName())) {
@@ -33,6 +49,7 @@ public class RoleServiceImpl implements RoleService {
         return convertToDTO(savedRole);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public RoleDTO readRole(Long roleId) {
         Role roleById = roleRepository.findById(roleId)
@@ -45,6 +62,7 @@ public class RoleServiceImpl implements RoleService {
         return convertToDTO(roleById);
     }
 
+    @Transactional
     @Override
     public RoleDTO updateRole(Long roleId, RoleDTO roleDTO) {
         RoleDTO currentRole = readRole(roleId);
@@ -52,9 +70,16 @@ public class RoleServiceImpl implements RoleService {
         role.setId(currentRole.getId());
         role.setRoleName(roleDTO.getRoleName() != null ? roleDTO.getRoleName() : currentRole.getRoleName());
         log.info("Saving updated role with ID: {}", role.getId());
-        return convertToDTO(roleRepository.save(role));
+        RoleDTO updatedRole = convertToDTO(roleRepository.save(role));
+        if (!currentRole.getRoleName().equals(updatedRole.getRoleName())) {
+            log.debug("Role with ID '{}' renamed, revoking tokens of its members", roleId);
+            tokenRevocationRegistry.revokeRoleMembers(roleId);
+            verifiedTokenCache.evictRole(currentRole.getRoleName());
+        }
+        return updatedRole;
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<RoleDTO> readAllRoles() {
         List<Role> roles = roleRepository.findAll();
@@ -64,6 +89,19 @@ public class RoleServiceImpl implements RoleService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Page<RoleMemberModel> readRoleMembers(Long roleId, Pageable page) {
+        if (!roleRepository.existsById(roleId)) {
+            log.error("Role with ID '{}' not found", roleId);
+            throw new ResourceNotFoundException("Role not found for id: " + roleId);
+        }
+        Page<RoleMemberModel> members = userRepository.findMembersByRoleId(roleId, page);
+        log.info("Fetched {} of {} members of role with ID '{}'", members.getNumberOfElements(),
+                members.getTotalElements(), roleId);
+        return members;
+    }
+
     private RoleDTO convertToDTO(Role role) {
         if (role == null) {
             log.error("Attempted to convert null role to DTO");
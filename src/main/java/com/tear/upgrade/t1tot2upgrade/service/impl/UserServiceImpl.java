@@ -1,6 +1,9 @@
 package com.tear.upgrade.t1tot2upgrade.service.impl;
 
+import com.tear.upgrade.t1tot2upgrade.dto.ProfileDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.RoleDTO;
 import com.tear.upgrade.t1tot2upgrade.dto.UserDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.UserResponseDTO;
 import com.tear.upgrade.t1tot2upgrade.entity.Profile;
 import com.tear.upgrade.t1tot2upgrade.entity.Role;
 import com.tear.upgrade.t1tot2upgrade.entity.User;
@@ -8,6 +11,10 @@ import com.tear.upgrade.t1tot2upgrade.exceptions.ItemAlreadyExistsException;
 import com.tear.upgrade.t1tot2upgrade.exceptions.ResourceNotFoundException;
 import com.tear.upgrade.t1tot2upgrade.repository.RoleRepository;
 import com.tear.upgrade.t1tot2upgrade.repository.UserRepository;
+import com.tear.upgrade.t1tot2upgrade.security.AuthenticatedUser;
+import com.tear.upgrade.t1tot2upgrade.security.LoggedInUserContext;
+import com.tear.upgrade.t1tot2upgrade.security.TokenRevocationRegistry;
+import com.tear.upgrade.t1tot2upgrade.security.VerifiedTokenCache;
 import com.tear.upgrade.t1tot2upgrade.service.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
@@ -20,7 +27,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -37,9 +48,18 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Autowired
+    private LoggedInUserContext loggedInUserContext;
+
     @Transactional
     @Override
-    public User createUser(UserDTO userDTO) {
+    public UserResponseDTO createUser(UserDTO userDTO) {
         if (userRepository.existsByEmail(userDTO.getEmail())) {
             log.error("User already registered with email: {}", userDTO.getEmail());
             throw new ItemAlreadyExistsException("User is already registered with email " + userDTO.getEmail());
@@ -60,72 +80,118 @@ public class UserServiceImpl implements UserService {
         Set<Role> roles = new HashSet<>();
         roles.add(defaultRole);
         user.setRoles(roles);
-        defaultRole.getUsers().add(user);
 
         if (userDTO.getProfile() != null) {
             Profile profile = new Profile();
             BeanUtils.copyProperties(userDTO.getProfile(), profile);
-            profile.setUser(user);
             user.setProfile(profile);
             log.debug("Profile set for user with email: {}", userDTO.getEmail());
         }
 
         log.info("Saving new user with email: {}", userDTO.getEmail());
-        return userRepository.save(user);
+        return convertToDTO(userRepository.save(user));
     }
 
+    @Transactional(readOnly = true)
     @Override
-    public User readUser() {
-        Long userId = getLoggedInUser().getId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("User not found for ID: {}", userId);
-                    return new ResourceNotFoundException("User not found for the id:" + userId);
-                });
-
-        log.info("User with ID: {} found", userId);
-        return user;
+    public UserResponseDTO readUser() {
+        return convertToDTO(findCurrentUser());
     }
 
     @Transactional
     @Override
-    public User updateUser(User user) {
-        User currentUser = readUser();
+    public UserResponseDTO updateUser(User user) {
+        User currentUser = findCurrentUser();
+        String previousEmail = currentUser.getEmail();
+        Set<String> previousRoles = getRoleNames(currentUser);
         populateUserFields(user, currentUser);
         log.info("Updating user with ID: {}", currentUser.getId());
-        return userRepository.save(currentUser);
+        User savedUser = userRepository.save(currentUser);
+        loggedInUserContext.clear();
+        invalidateTokens(currentUser, previousEmail, previousRoles);
+        return convertToDTO(savedUser);
     }
 
     @Transactional
     @Override
     public void deleteUser() {
-        User currentUser = readUser();
+        User currentUser = findCurrentUser();
         currentUser.getRoles().clear();
         userRepository.delete(currentUser);
-        log.info("User with ID: {} deleted successfully", getLoggedInUser().getId());
+        loggedInUserContext.clear();
+        verifiedTokenCache.evictUser(currentUser.getEmail());
+        tokenRevocationRegistry.revoke(currentUser.getId());
+        log.info("User with ID: {} deleted successfully", currentUser.getId());
     }
 
     @Override
     public User getLoggedInUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
-        return userRepository.findByEmail(email)
+        Optional<User> cachedUser = loggedInUserContext.getUser(email);
+        if (cachedUser.isPresent()) {
+            return cachedUser.get();
+        }
+        User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> {
                     log.error("User not found for email: {}", email);
                     return new UsernameNotFoundException("User with not found for email: " + email);
                 });
+        loggedInUserContext.setUser(email, user);
+        return user;
+    }
+
+    @Override
+    public Long getLoggedInUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof AuthenticatedUser authenticatedUser && authenticatedUser.getId() != null) {
+            return authenticatedUser.getId();
+        }
+        return getLoggedInUser().getId();
     }
 
+    @Transactional
     @Override
-    public User updateUserById(Long userId, User user) {
-        User currentUser = userRepository.findById(userId)
+    public UserResponseDTO updateUserById(Long userId, User user) {
+        User currentUser = userRepository.findWithProfileById(userId)
                 .orElseThrow(() -> {
                     log.error("User not found for ID: {}. ResourceNotFoundException is thrown", userId);
                     return new ResourceNotFoundException("User not found for the id:" + userId);
                 });
+        String previousEmail = currentUser.getEmail();
+        Set<String> previousRoles = getRoleNames(currentUser);
         populateUserFields(user, currentUser);
         log.info("Updating user by ID: {}", currentUser.getId());
-        return userRepository.save(currentUser);
+        User savedUser = userRepository.save(currentUser);
+        loggedInUserContext.clear();
+        invalidateTokens(currentUser, previousEmail, previousRoles);
+        return convertToDTO(savedUser);
+    }
+
+    private User findCurrentUser() {
+        Long userId = getLoggedInUserId();
+        User user = userRepository.findWithProfileById(userId)
+                .orElseThrow(() -> {
+                    log.error("User not found for ID: {}", userId);
+                    return new ResourceNotFoundException("User not found for the id:" + userId);
+                });
+
+        log.info("User with ID: {} found", userId);
+        return user;
+    }
+
+    private Set<String> getRoleNames(User user) {
+        return user.getRoles() == null ? Set.of() : user.getRoles().stream()
+                .map(Role::getRoleName)
+                .collect(Collectors.toSet());
+    }
+
+    private void invalidateTokens(User currentUser, String previousEmail, Set<String> previousRoles) {
+        verifiedTokenCache.evictUser(previousEmail);
+        if (!Objects.equals(previousEmail, currentUser.getEmail()) || !previousRoles.equals(getRoleNames(currentUser))) {
+            log.debug("Email or roles changed for user with ID: {}, revoking issued tokens", currentUser.getId());
+            tokenRevocationRegistry.revoke(currentUser.getId());
+        }
     }
 
     private Set<Role> getRolesFromNames(Collection<String> roleNames) {
@@ -178,4 +244,27 @@ public class UserServiceImpl implements UserService {
             throw new IllegalArgumentException("Profile information is required");
         }
     }
+
+    private UserResponseDTO convertToDTO(User user) {
+        log.debug("Converting user with ID: {} to DTO", user.getId());
+        Profile profile = user.getProfile();
+        return UserResponseDTO.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .roles(user.getRoles() == null ? List.of() : user.getRoles().stream()
+                        .map(role -> new RoleDTO(role.getId(), role.getRoleName()))
+                        .sorted(Comparator.comparing(RoleDTO::getRoleName))
+                        .toList())
+                .profile(profile == null ? null : ProfileDTO.builder()
+                        .id(profile.getId())
+                        .firstName(profile.getFirstName())
+                        .lastName(profile.getLastName())
+                        .phoneNumber(profile.getPhoneNumber())
+                        .address(profile.getAddress())
+                        .build())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
 }
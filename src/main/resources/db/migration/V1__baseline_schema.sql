@@ -0,0 +1,68 @@
+-- Baseline of the schema previously created by spring.jpa.hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    username   VARCHAR(255),
+    email      VARCHAR(255),
+    password   VARCHAR(255),
+    created_at DATETIME(6)  NOT NULL,
+    updated_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS roles (
+    id        BIGINT       NOT NULL AUTO_INCREMENT,
+    role_name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK716hgxp60ym1lifrdgp67xt5k UNIQUE (role_name)
+);
+
+CREATE TABLE IF NOT EXISTS user_role (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (role_id, user_id),
+    CONSTRAINT FKj345gk1bovqvfame88rcx7yyx FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT FKt7e7djp752sqn6w22i6ocqy6q FOREIGN KEY (role_id) REFERENCES roles (id)
+);
+
+CREATE TABLE IF NOT EXISTS profiles (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    first_name   VARCHAR(255) NOT NULL,
+    last_name    VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(255) NOT NULL,
+    address      VARCHAR(255) NOT NULL,
+    user_id      BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT UK4ixsj6aqve5pxrbw2u0oyk8bb UNIQUE (user_id),
+    CONSTRAINT FK410q61iev7klncmpqfuo85ivh FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS categories (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    user_id     BIGINT       NOT NULL,
+    created_at  DATETIME(6)  NOT NULL,
+    updated_at  DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UKt8o6pivur7nn124jehx7cygw5 UNIQUE (name),
+    CONSTRAINT FKghuylkwuedgl2qahxjt8g41kb FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS expenses (
+    id          BIGINT        NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(255)  NOT NULL,
+    description VARCHAR(255),
+    amount      DECIMAL(38, 2) NOT NULL,
+    date        DATE          NOT NULL,
+    notes       VARCHAR(255),
+    user_id     BIGINT        NOT NULL,
+    category_id BIGINT        NOT NULL,
+    created_at  DATETIME(6)   NOT NULL,
+    updated_at  DATETIME(6)   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FKhpk0n2cbnfiuu5nrgl0ika3hq FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT FKjao23ohq935a4qrorwwsen0lr FOREIGN KEY (category_id) REFERENCES categories (id) ON DELETE RESTRICT
+);
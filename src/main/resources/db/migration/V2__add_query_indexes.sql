@@ -0,0 +1,11 @@
+-- Composite indexes for the per-user access paths of ExpenseRepository and CategoryRepository.
+
+-- findByUserId, findByUserIdAndDateBetween and the keyset queries: equality on user_id,
+-- range and ORDER BY on date, id as the tie-breaker.
+CREATE INDEX idx_expenses_user_date_id ON expenses (user_id, date, id);
+
+-- findByUserAndCategory and the per-category aggregates.
+CREATE INDEX idx_expenses_user_category ON expenses (user_id, category_id);
+
+-- findByNameAndUser, existsByNameAndUserId and findByUserIdAndNameIn.
+CREATE INDEX idx_categories_user_name ON categories (user_id, name);
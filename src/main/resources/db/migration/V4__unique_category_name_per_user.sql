@@ -0,0 +1,7 @@
+-- Category names are unique per user instead of across all users. The (user_id, name) key also backs the
+-- atomic get-or-create in CategoryRepository.insertIfAbsent and replaces the plain lookup index from V2.
+ALTER TABLE categories ADD CONSTRAINT uk_categories_user_name UNIQUE (user_id, name);
+
+ALTER TABLE categories DROP CONSTRAINT UKt8o6pivur7nn124jehx7cygw5;
+
+DROP INDEX idx_categories_user_name ON categories;
@@ -0,0 +1,11 @@
+-- Users now own the one-to-one link to their profile, so the profile can be loaded lazily.
+ALTER TABLE users ADD COLUMN profile_id BIGINT;
+
+UPDATE users SET profile_id = (SELECT p.id FROM profiles p WHERE p.user_id = users.id);
+
+ALTER TABLE users ADD CONSTRAINT uk_users_profile UNIQUE (profile_id);
+ALTER TABLE users ADD CONSTRAINT fk_users_profile FOREIGN KEY (profile_id) REFERENCES profiles (id);
+
+ALTER TABLE profiles DROP CONSTRAINT FK410q61iev7klncmpqfuo85ivh;
+ALTER TABLE profiles DROP CONSTRAINT UK4ixsj6aqve5pxrbw2u0oyk8bb;
+ALTER TABLE profiles DROP COLUMN user_id;
@@ -0,0 +1,32 @@
+-- Tables for resumable expense imports and the monthly expense rollup. They are not part of the V1 baseline,
+-- so databases baselined from the ddl-auto=update schema receive them here. The rollup starts empty on such
+-- databases and is filled from existing expenses by the scheduled reconcile job.
+
+CREATE TABLE IF NOT EXISTS expense_imports (
+    id             BIGINT        NOT NULL AUTO_INCREMENT,
+    file_name      VARCHAR(255),
+    status         ENUM ('COMPLETED', 'CREATED', 'FAILED', 'IN_PROGRESS') NOT NULL,
+    processed_rows BIGINT        NOT NULL,
+    imported_rows  BIGINT        NOT NULL,
+    failed_rows    BIGINT        NOT NULL,
+    last_error     VARCHAR(1000),
+    user_id        BIGINT        NOT NULL,
+    created_at     DATETIME(6)   NOT NULL,
+    updated_at     DATETIME(6)   NOT NULL,
+    version        BIGINT        NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FKg6lok02ejpfys6ynwfirh10n0 FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS expense_monthly_rollups (
+    id            BIGINT         NOT NULL AUTO_INCREMENT,
+    user_id       BIGINT         NOT NULL,
+    category_id   BIGINT         NOT NULL,
+    month_start   DATE           NOT NULL,
+    total_amount  DECIMAL(19, 2) NOT NULL,
+    expense_count BIGINT         NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_expense_rollup_user_category_month UNIQUE (user_id, category_id, month_start),
+    CONSTRAINT FKr5l2v51lfkp03t8qpvdxw39ps FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT FK9m6f2om22lawbuyswniyl0i1w FOREIGN KEY (category_id) REFERENCES categories (id) ON DELETE CASCADE
+);
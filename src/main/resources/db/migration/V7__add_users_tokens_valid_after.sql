@@ -0,0 +1,4 @@
+-- Revocation epoch of a user's tokens: tokens issued at or before this instant are rejected.
+-- Kept in the database so every node enforces it, also when tokens are authenticated from their claims alone.
+
+ALTER TABLE users ADD COLUMN tokens_valid_after DATETIME(6);
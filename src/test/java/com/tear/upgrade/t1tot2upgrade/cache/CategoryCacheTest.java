@@ -0,0 +1,252 @@
+package com.tear.upgrade.t1tot2upgrade.cache;
+
+import com.tear.upgrade.t1tot2upgrade.entity.Category;
+import com.tear.upgrade.t1tot2upgrade.entity.User;
+import com.tear.upgrade.t1tot2upgrade.repository.CategoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CategoryCacheTest {
+
+    public static final long USER_ID = 1L;
+
+    private CategoryRepository categoryRepository;
+
+    private CategoryCache categoryCache;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        categoryRepository = mock(CategoryRepository.class);
+        categoryCache = new CategoryCache(categoryRepository, Validation.buildDefaultValidatorFactory().getValidator(),
+                mock(PlatformTransactionManager.class), 100);
+        user = new User();
+        user.setId(USER_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void whenCategoryFoundThenLoadedOnceAndServedFromMemory() {
+
+        // given
+        when(categoryRepository.findByUserIdAndName(USER_ID, "Food")).thenReturn(Optional.of(category(7L, "Food")));
+
+        // when
+        Optional<CategoryCache.CachedCategory> first = categoryCache.find(USER_ID, "Food");
+        Optional<CategoryCache.CachedCategory> second = categoryCache.find(USER_ID, "Food");
+
+        // then
+        assertAll("Lookup checks",
+                () -> assertEquals(7L, first.orElseThrow().id()),
+                () -> assertEquals(first, second),
+                () -> verify(categoryRepository, times(1)).findByUserIdAndName(USER_ID, "Food")
+        );
+    }
+
+    @Test
+    void whenCategoryMissingThenAbsenceNotCached() {
+
+        // given
+        when(categoryRepository.findByUserIdAndName(USER_ID, "Food")).thenReturn(Optional.empty());
+
+        // when
+        categoryCache.find(USER_ID, "Food");
+        Optional<CategoryCache.CachedCategory> result = categoryCache.find(USER_ID, "Food");
+
+        // then
+        assertAll("Miss checks",
+                () -> assertTrue(result.isEmpty()),
+                () -> verify(categoryRepository, times(2)).findByUserIdAndName(USER_ID, "Food")
+        );
+    }
+
+    @Test
+    void whenCategoryCreatedInTransactionThenCommittedRowCachedByNextLookup() {
+
+        // given
+        Category committed = category(9L, "Travel");
+        committed.setDescription("Trips by train");
+        when(categoryRepository.findByUserIdAndName(USER_ID, "Travel"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(committed));
+        when(categoryRepository.getOrCreateId(USER_ID, "Travel", "Trips")).thenReturn(9L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        CategoryCache.CachedCategory created = categoryCache.getOrCreate(user, "Travel", "Trips");
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        Optional<CategoryCache.CachedCategory> afterCommit = categoryCache.find(USER_ID, "Travel");
+        Optional<CategoryCache.CachedCategory> cached = categoryCache.find(USER_ID, "Travel");
+
+        // then
+        assertAll("Commit checks",
+                () -> assertEquals(9L, created.id()),
+                () -> assertEquals("Trips", created.description()),
+                () -> assertEquals("Trips by train", afterCommit.orElseThrow().description()),
+                () -> assertEquals(afterCommit, cached),
+                () -> verify(categoryRepository, times(2)).findByUserIdAndName(USER_ID, "Travel")
+        );
+    }
+
+    @Test
+    void whenTransactionRolledBackThenCreatedCategoryNotCached() {
+
+        // given
+        when(categoryRepository.findByUserIdAndName(USER_ID, "Travel"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(category(9L, "Travel")))
+                .thenReturn(Optional.empty());
+        when(categoryRepository.getOrCreateId(USER_ID, "Travel", "Trips")).thenReturn(9L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        categoryCache.getOrCreate(user, "Travel", "Trips");
+        categoryCache.find(USER_ID, "Travel");
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        Optional<CategoryCache.CachedCategory> afterRollback = categoryCache.find(USER_ID, "Travel");
+
+        // then
+        assertAll("Rollback checks",
+                () -> assertTrue(afterRollback.isEmpty()),
+                () -> verify(categoryRepository, times(3)).findByUserIdAndName(USER_ID, "Travel")
+        );
+    }
+
+    @Test
+    void whenResolvingSeveralCategoriesThenMissesLoadedTogetherAndUnknownCreated() {
+
+        // given
+        when(categoryRepository.findByUserIdAndName(USER_ID, "Food")).thenReturn(Optional.of(category(7L, "Food")));
+        categoryCache.find(USER_ID, "Food");
+        when(categoryRepository.findByUserIdAndNameIn(USER_ID, Set.of("Rent", "Travel"))).thenReturn(List.of(category(8L, "Rent")));
+        when(categoryRepository.findByUserIdAndName(USER_ID, "Travel")).thenReturn(Optional.empty());
+        when(categoryRepository.getOrCreateId(USER_ID, "Travel", "Trips")).thenReturn(9L);
+        Map<String, String> requested = new LinkedHashMap<>();
+        requested.put("Food", null);
+        requested.put("Rent", null);
+        requested.put("Travel", "Trips");
+
+        // when
+        Map<String, CategoryCache.CachedCategory> categories = categoryCache.getOrCreateAll(user, requested);
+
+        // then
+        assertAll("Bulk checks",
+                () -> assertEquals(7L, categories.get("Food").id()),
+                () -> assertEquals(8L, categories.get("Rent").id()),
+                () -> assertEquals(9L, categories.get("Travel").id()),
+                () -> assertEquals("Trips", categories.get("Travel").description()),
+                () -> verify(categoryRepository, times(1)).findByUserIdAndNameIn(USER_ID, Set.of("Rent", "Travel"))
+        );
+    }
+
+    @Test
+    void whenNewCategoryNameInvalidThenRejectedWithoutInsert() {
+
+        // given
+        when(categoryRepository.findByUserIdAndName(USER_ID, "X")).thenReturn(Optional.empty());
+
+        // when
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> categoryCache.getOrCreate(user, "X", null));
+
+        // then
+        assertAll("Validation checks",
+                () -> assertEquals("Category name must be at least 3 characters", exception.getMessage()),
+                () -> verify(categoryRepository, never()).getOrCreateId(anyLong(), any(), any())
+        );
+    }
+
+    @Test
+    void whenEvictedInTransactionThenDroppedAgainAfterCompletion() {
+
+        // given
+        when(categoryRepository.findByUserIdAndName(USER_ID, "Food"))
+                .thenReturn(Optional.of(category(7L, "Food")));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        categoryCache.evict(USER_ID, "Food");
+        categoryCache.find(USER_ID, "Food");
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        categoryCache.find(USER_ID, "Food");
+
+        // then
+        verify(categoryRepository, times(2)).findByUserIdAndName(USER_ID, "Food");
+    }
+
+    @Test
+    void whenUserEvictedThenOnlyTheirCategoriesDropped() {
+
+        // given
+        when(categoryRepository.findByUserIdAndName(anyLong(), eq("Food"))).thenReturn(Optional.of(category(7L, "Food")));
+        categoryCache.find(USER_ID, "Food");
+        categoryCache.find(2L, "Food");
+
+        // when
+        categoryCache.evictUser(USER_ID);
+        categoryCache.find(USER_ID, "Food");
+        categoryCache.find(2L, "Food");
+
+        // then
+        assertAll("Eviction checks",
+                () -> verify(categoryRepository, times(2)).findByUserIdAndName(USER_ID, "Food"),
+                () -> verify(categoryRepository, times(1)).findByUserIdAndName(2L, "Food")
+        );
+    }
+
+    @Test
+    void whenBoundToRegistryThenHitAndSizeMetricsPublished() {
+
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        when(categoryRepository.findByUserIdAndName(USER_ID, "Food")).thenReturn(Optional.of(category(7L, "Food")));
+        categoryCache.bindTo(registry);
+
+        // when
+        categoryCache.find(USER_ID, "Food");
+        categoryCache.find(USER_ID, "Food");
+
+        // then
+        assertAll("Metric checks",
+                () -> assertEquals(1.0, registry.get("cache.gets").tag("cache", "categories.by-name").tag("result", "hit")
+                        .functionCounter().count()),
+                () -> assertEquals(1.0, registry.get("cache.size").tag("cache", "categories.by-name").gauge().value())
+        );
+    }
+
+    private void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private Category category(Long id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+}
@@ -0,0 +1,86 @@
+package com.tear.upgrade.t1tot2upgrade.cache;
+
+import com.tear.upgrade.t1tot2upgrade.entity.User;
+import com.tear.upgrade.t1tot2upgrade.repository.CategoryRepository;
+import com.tear.upgrade.t1tot2upgrade.repository.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:category-cache;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CategoryCacheTransactionTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CategoryCache categoryCache;
+
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        categoryCache = new CategoryCache(categoryRepository, Validation.buildDefaultValidatorFactory().getValidator(),
+                transactionManager, 100);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        user = new User();
+        user.setUsername("john");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void whenCallerTransactionRolledBackThenCreatedCategoryRolledBackAndNotCached() {
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            categoryCache.getOrCreate(user, "Travel", "Trips");
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertAll("Rollback checks",
+                () -> assertTrue(categoryRepository.findByUserIdAndName(user.getId(), "Travel").isEmpty()),
+                () -> assertTrue(categoryCache.find(user.getId(), "Travel").isEmpty())
+        );
+    }
+
+    @Test
+    void whenCallerTransactionCommittedThenCreatedCategoryCommittedAndCachedOnNextLookup() {
+
+        // when
+        CategoryCache.CachedCategory created = transactionTemplate.execute(status ->
+                categoryCache.getOrCreate(user, "Travel", "Trips"));
+        CategoryCache.CachedCategory found = categoryCache.find(user.getId(), "Travel").orElseThrow();
+        categoryRepository.deleteAll(categoryRepository.findByUserIdAndNameIn(user.getId(), Set.of("Travel")));
+
+        // then
+        assertAll("Commit checks",
+                () -> assertNotNull(created.id()),
+                () -> assertEquals(created, found),
+                () -> assertEquals(created, categoryCache.find(user.getId(), "Travel").orElseThrow())
+        );
+    }
+}
@@ -0,0 +1,203 @@
+package com.tear.upgrade.t1tot2upgrade.cache;
+
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseDailyTotalModel;
+import com.tear.upgrade.t1tot2upgrade.repository.ExpenseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ExpenseTotalsCacheTest {
+
+    public static final long USER_ID = 1L;
+
+    private static final Date START = Date.valueOf("2024-01-01");
+
+    private static final Date END = Date.valueOf("2024-12-31");
+
+    private ExpenseRepository expenseRepository;
+
+    private ExpenseTotalsCache expenseTotalsCache;
+
+    @BeforeEach
+    void setUp() {
+        expenseRepository = mock(ExpenseRepository.class);
+        when(expenseRepository.findDailyTotalsByUserId(USER_ID)).thenReturn(List.of(
+                new ExpenseDailyTotalModel(Date.valueOf("2024-03-01"), new BigDecimal("10.00"), 1L),
+                new ExpenseDailyTotalModel(Date.valueOf("2024-03-05"), new BigDecimal("2.50"), 2L),
+                new ExpenseDailyTotalModel(Date.valueOf("2024-04-01"), new BigDecimal("7.25"), 1L)));
+        expenseTotalsCache = new ExpenseTotalsCache(expenseRepository, true, 1024 * 1024, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void whenRangeRequestedThenSummedFromPrefixArraysWithOneLoad() {
+
+        // when
+        ExpenseTotalsCache.RangeTotal all = expenseTotalsCache.getTotal(USER_ID, START, END);
+        ExpenseTotalsCache.RangeTotal march = expenseTotalsCache.getTotal(USER_ID, Date.valueOf("2024-03-01"), Date.valueOf("2024-03-31"));
+        ExpenseTotalsCache.RangeTotal gap = expenseTotalsCache.getTotal(USER_ID, Date.valueOf("2024-03-02"), Date.valueOf("2024-03-04"));
+
+        // then
+        assertAll("Range checks",
+                () -> assertEquals(new BigDecimal("19.75"), all.amount()),
+                () -> assertEquals(4, all.count()),
+                () -> assertEquals(1250, march.cents()),
+                () -> assertEquals(3, march.count()),
+                () -> assertEquals(0, gap.cents()),
+                () -> verify(expenseRepository, times(1)).findDailyTotalsByUserId(USER_ID)
+        );
+    }
+
+    @Test
+    void whenWriteCommittedThenCachedUserPatched() {
+
+        // given
+        expenseTotalsCache.getTotal(USER_ID, START, END);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        expenseTotalsCache.recordChange(USER_ID, Date.valueOf("2024-03-03"), new BigDecimal("1.00"), 1);
+        expenseTotalsCache.recordChange(USER_ID, Date.valueOf("2024-04-01"), new BigDecimal("-7.25"), -1);
+        ExpenseTotalsCache.RangeTotal beforeCommit = expenseTotalsCache.getTotal(USER_ID, START, END);
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        // then
+        ExpenseTotalsCache.RangeTotal afterCommit = expenseTotalsCache.getTotal(USER_ID, START, END);
+        assertAll("Patch checks",
+                () -> assertEquals(1975, beforeCommit.cents()),
+                () -> assertEquals(1350, afterCommit.cents()),
+                () -> assertEquals(4, afterCommit.count()),
+                () -> assertEquals(100, expenseTotalsCache.getTotal(USER_ID, Date.valueOf("2024-03-03"), Date.valueOf("2024-03-03")).cents()),
+                () -> verify(expenseRepository, times(1)).findDailyTotalsByUserId(USER_ID)
+        );
+    }
+
+    @Test
+    void whenManyWritesInOneTransactionThenCombinedIntoOnePatchPerUser() {
+
+        // given
+        expenseTotalsCache.getTotal(USER_ID, START, END);
+        expenseTotalsCache.getTotal(2L, START, END);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            expenseTotalsCache.recordChange(USER_ID, Date.valueOf("2024-02-01"), new BigDecimal("0.10"), 1);
+            expenseTotalsCache.recordChange(USER_ID, Date.valueOf("2024-03-05"), new BigDecimal("0.01"), 1);
+            expenseTotalsCache.recordChange(USER_ID, Date.valueOf("2024-05-01"), new BigDecimal("1.00"), 1);
+        }
+        expenseTotalsCache.recordChange(2L, Date.valueOf("2024-03-05"), new BigDecimal("3.00"), 1);
+        int synchronizations = TransactionSynchronizationManager.getSynchronizations().size();
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        // then
+        assertAll("Combined patch checks",
+                () -> assertEquals(1, synchronizations),
+                () -> assertEquals(1975 + 1000 + 100 + 10000, expenseTotalsCache.getTotal(USER_ID, START, END).cents()),
+                () -> assertEquals(304, expenseTotalsCache.getTotal(USER_ID, START, END).count()),
+                () -> assertEquals(1000, expenseTotalsCache.getTotal(USER_ID, Date.valueOf("2024-02-01"), Date.valueOf("2024-02-29")).cents()),
+                () -> assertEquals(350, expenseTotalsCache.getTotal(USER_ID, Date.valueOf("2024-03-05"), Date.valueOf("2024-03-05")).cents()),
+                () -> assertEquals(102, expenseTotalsCache.getTotal(USER_ID, Date.valueOf("2024-03-05"), Date.valueOf("2024-03-05")).count()),
+                () -> assertEquals(725, expenseTotalsCache.getTotal(USER_ID, Date.valueOf("2024-04-01"), Date.valueOf("2024-04-30")).cents()),
+                () -> assertEquals(10000, expenseTotalsCache.getTotal(USER_ID, Date.valueOf("2024-05-01"), END).cents()),
+                () -> assertEquals(300, expenseTotalsCache.getTotal(2L, START, END).cents()),
+                () -> verify(expenseRepository, times(1)).findDailyTotalsByUserId(USER_ID)
+        );
+    }
+
+    @Test
+    void whenWriteRolledBackThenCachedUserUnchanged() {
+
+        // given
+        expenseTotalsCache.getTotal(USER_ID, START, END);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        expenseTotalsCache.recordChange(USER_ID, Date.valueOf("2024-03-03"), new BigDecimal("1.00"), 1);
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // then
+        assertEquals(1975, expenseTotalsCache.getTotal(USER_ID, START, END).cents());
+    }
+
+    @Test
+    void whenLoadOverlapsUncommittedWriteThenResultNotCached() {
+
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        expenseTotalsCache.recordChange(USER_ID, Date.valueOf("2024-03-03"), new BigDecimal("1.00"), 1);
+
+        // when
+        expenseTotalsCache.getTotal(USER_ID, START, END);
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        expenseTotalsCache.getTotal(USER_ID, START, END);
+
+        // then
+        verify(expenseRepository, times(2)).findDailyTotalsByUserId(USER_ID);
+    }
+
+    @Test
+    void whenMaximumAgeSinceLoadPassedThenUserReloadedEvenIfPatched() throws InterruptedException {
+
+        // given
+        expenseTotalsCache = new ExpenseTotalsCache(expenseRepository, true, 1024 * 1024, Duration.ofMillis(300));
+        expenseTotalsCache.getTotal(USER_ID, START, END);
+        Thread.sleep(200);
+        TransactionSynchronizationManager.initSynchronization();
+        expenseTotalsCache.recordChange(USER_ID, Date.valueOf("2024-03-03"), new BigDecimal("1.00"), 1);
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        // when
+        Thread.sleep(200);
+        ExpenseTotalsCache.RangeTotal total = expenseTotalsCache.getTotal(USER_ID, START, END);
+
+        // then
+        assertAll("Maximum age checks",
+                () -> assertEquals(1975, total.cents()),
+                () -> verify(expenseRepository, times(2)).findDailyTotalsByUserId(USER_ID)
+        );
+    }
+
+    @Test
+    void whenBoundToRegistryThenCacheMetricsPublished() {
+
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        expenseTotalsCache.bindTo(registry);
+
+        // when
+        expenseTotalsCache.getTotal(USER_ID, START, END);
+        expenseTotalsCache.getTotal(USER_ID, START, END);
+
+        // then
+        assertAll("Metric checks",
+                () -> assertEquals(1.0, registry.get("cache.gets").tag("cache", "expenses.totals").tag("result", "hit")
+                        .functionCounter().count()),
+                () -> assertEquals(1.0, registry.get("cache.gets").tag("cache", "expenses.totals").tag("result", "miss")
+                        .functionCounter().count())
+        );
+    }
+
+    private void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
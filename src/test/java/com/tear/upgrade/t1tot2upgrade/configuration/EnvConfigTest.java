@@ -0,0 +1,166 @@
+package com.tear.upgrade.t1tot2upgrade.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.cdimascio.dotenv.Dotenv;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(OutputCaptureExtension.class)
+class EnvConfigTest {
+
+    private final EnvConfig envConfig = new EnvConfig();
+
+    private final Map<String, String> entries = new HashMap<>();
+
+    private DataSource dataSource;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Test
+    void whenPoolSettingsMissingThenDefaultsUsed() {
+
+        // given
+        entries.put("DB_URL", "jdbc:h2:mem:env-defaults;DB_CLOSE_DELAY=-1");
+        entries.put("DB_USERNAME", "sa");
+        entries.put("DB_POOL_CONNECTION_TIMEOUT_MS", " ");
+
+        // when
+        dataSource = envConfig.dataSource(dotenv(), meterRegistry());
+
+        // then
+        HikariDataSource pool = assertInstanceOf(HikariDataSource.class, dataSource);
+        assertAll("Default pool checks",
+                () -> assertEquals("expense-pool", pool.getPoolName()),
+                () -> assertEquals(10, pool.getMaximumPoolSize()),
+                () -> assertEquals(10, pool.getMinimumIdle()),
+                () -> assertEquals(30_000L, pool.getConnectionTimeout()),
+                () -> assertEquals(5_000L, pool.getValidationTimeout()),
+                () -> assertEquals(600_000L, pool.getIdleTimeout()),
+                () -> assertEquals(1_800_000L, pool.getMaxLifetime()),
+                () -> assertEquals(0L, pool.getLeakDetectionThreshold()),
+                () -> assertFalse(pool.isReadOnly())
+        );
+    }
+
+    @Test
+    void whenMinimumIdleMissingThenMaximumPoolSizeUsed() {
+
+        // given
+        entries.put("DB_URL", "jdbc:h2:mem:env-min-idle;DB_CLOSE_DELAY=-1");
+        entries.put("DB_USERNAME", "sa");
+        entries.put("DB_POOL_MAX_SIZE", " 4 ");
+        entries.put("DB_POOL_IDLE_TIMEOUT_MS", "120000");
+        entries.put("DB_POOL_WARM_UP", "false");
+
+        // when
+        dataSource = envConfig.dataSource(dotenv(), meterRegistry());
+
+        // then
+        HikariDataSource pool = assertInstanceOf(HikariDataSource.class, dataSource);
+        assertAll("Minimum idle fallback checks",
+                () -> assertEquals(4, pool.getMaximumPoolSize()),
+                () -> assertEquals(4, pool.getMinimumIdle()),
+                () -> assertEquals(120_000L, pool.getIdleTimeout())
+        );
+    }
+
+    @Test
+    void whenMinimumIdleSetThenUsedInsteadOfMaximumPoolSize() {
+
+        // given
+        entries.put("DB_URL", "jdbc:h2:mem:env-min-idle-set;DB_CLOSE_DELAY=-1");
+        entries.put("DB_USERNAME", "sa");
+        entries.put("DB_POOL_MAX_SIZE", "8");
+        entries.put("DB_POOL_MIN_IDLE", "2");
+
+        // when
+        dataSource = envConfig.dataSource(dotenv(), meterRegistry());
+
+        // then
+        HikariDataSource pool = assertInstanceOf(HikariDataSource.class, dataSource);
+        assertAll("Minimum idle checks",
+                () -> assertEquals(8, pool.getMaximumPoolSize()),
+                () -> assertEquals(2, pool.getMinimumIdle())
+        );
+    }
+
+    @Test
+    void whenWarmUpConnectionFailsThenFailureLoggedAndOpenedConnectionsReturned(CapturedOutput output)
+            throws SQLException {
+
+        // given
+        HikariDataSource pool = mock(HikariDataSource.class);
+        Connection connection = mock(Connection.class);
+        when(pool.getConnection())
+                .thenReturn(connection)
+                .thenThrow(new SQLException("Connection refused"));
+
+        // when
+        assertDoesNotThrow(() -> envConfig.warmUp(pool, 3));
+
+        // then
+        assertAll("Warm-up failure checks",
+                () -> verify(pool, times(2)).getConnection(),
+                () -> verify(connection).close(),
+                () -> assertTrue(output.getOut().contains("Connection pool warm-up stopped after 1 connections: Connection refused"))
+        );
+    }
+
+    @Test
+    void whenReplicaUnreachableThenDataSourceCreatedAndReadsFallBackToPrimary() {
+
+        // given
+        entries.put("DB_URL", "jdbc:h2:mem:env-primary;DB_CLOSE_DELAY=-1");
+        entries.put("DB_USERNAME", "sa");
+        entries.put("DB_REPLICA_URLS", "jdbc:h2:tcp://localhost:1/unreachable");
+        entries.put("DB_REPLICA_CONNECTION_TIMEOUT_MS", "250");
+
+        // when
+        dataSource = envConfig.dataSource(dotenv(), meterRegistry());
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnlyTransaction.setReadOnly(true);
+        Integer result = readOnlyTransaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT 1", Integer.class));
+
+        // then
+        assertAll("Unreachable replica checks",
+                () -> assertInstanceOf(ReplicaRoutingDataSource.class, dataSource),
+                () -> assertEquals(1, result)
+        );
+    }
+
+    private Dotenv dotenv() {
+        Dotenv dotenv = mock(Dotenv.class);
+        when(dotenv.get(anyString())).thenAnswer(invocation -> entries.get(invocation.<String>getArgument(0)));
+        when(dotenv.get(anyString(), any())).thenAnswer(invocation ->
+                entries.getOrDefault(invocation.<String>getArgument(0), invocation.getArgument(1)));
+        return dotenv;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ObjectProvider<MeterRegistry> meterRegistry() {
+        return mock(ObjectProvider.class);
+    }
+}
@@ -0,0 +1,130 @@
+package com.tear.upgrade.t1tot2upgrade.configuration;
+
+import com.tear.upgrade.t1tot2upgrade.entity.model.ParsedJwtModel;
+import com.tear.upgrade.t1tot2upgrade.security.CustomUserDetailService;
+import com.tear.upgrade.t1tot2upgrade.security.TokenRevocationRegistry;
+import com.tear.upgrade.t1tot2upgrade.security.VerifiedTokenCache;
+import com.tear.upgrade.t1tot2upgrade.service.JwtToken;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JwtFilterTest {
+
+    public static final String TOKEN = "token";
+    public static final String EMAIL = "john@example.com";
+    public static final long ID_VALUE = 1L;
+
+    @InjectMocks
+    private JwtFilter jwtFilter;
+
+    @Mock
+    private JwtToken jwtTokenService;
+
+    @Mock
+    private CustomUserDetailService userDetailService;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private final ParsedJwtModel parsedToken = new ParsedJwtModel(EMAIL, ID_VALUE, List.of("ROLE_USER"),
+            Instant.now().minus(1, ChronoUnit.MINUTES), Instant.now().plus(1, ChronoUnit.HOURS));
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(verifiedTokenCache.get(TOKEN)).thenReturn(Optional.empty());
+        when(jwtTokenService.parseToken(TOKEN)).thenReturn(parsedToken);
+        when(jwtTokenService.validateToken(any(ParsedJwtModel.class), any(UserDetails.class))).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void whenNotStatelessThenUserLoadedWithoutRevocationCheck() throws Exception {
+
+        // given
+        UserDetails user = new User(EMAIL, "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        when(userDetailService.loadUserByUsername(EMAIL)).thenReturn(user);
+
+        // when
+        jwtFilter.doFilter(bearerRequest(), new MockHttpServletResponse(), filterChain);
+
+        // then
+        assertAll("Database authentication checks",
+                () -> assertEquals(user, SecurityContextHolder.getContext().getAuthentication().getPrincipal()),
+                () -> verifyNoInteractions(tokenRevocationRegistry)
+        );
+    }
+
+    @Test
+    void whenStatelessAndTokenRevokedThenRequestNotAuthenticated() throws Exception {
+
+        // given
+        ReflectionTestUtils.setField(jwtFilter, "stateless", true);
+        when(tokenRevocationRegistry.isRevoked(ID_VALUE, parsedToken.issuedAt())).thenReturn(true);
+
+        // when
+        jwtFilter.doFilter(bearerRequest(), new MockHttpServletResponse(), filterChain);
+
+        // then
+        assertAll("Revoked token checks",
+                () -> assertNull(SecurityContextHolder.getContext().getAuthentication()),
+                () -> verifyNoInteractions(userDetailService),
+                () -> verify(verifiedTokenCache, never()).put(any(), any(), any())
+        );
+    }
+
+    @Test
+    void whenStatelessAndTokenNotRevokedThenPrincipalBuiltFromClaims() throws Exception {
+
+        // given
+        ReflectionTestUtils.setField(jwtFilter, "stateless", true);
+        when(tokenRevocationRegistry.isRevoked(ID_VALUE, parsedToken.issuedAt())).thenReturn(false);
+
+        // when
+        jwtFilter.doFilter(bearerRequest(), new MockHttpServletResponse(), filterChain);
+
+        // then
+        assertAll("Claims authentication checks",
+                () -> assertEquals(EMAIL, SecurityContextHolder.getContext().getAuthentication().getName()),
+                () -> verifyNoInteractions(userDetailService),
+                () -> verify(tokenRevocationRegistry).isRevoked(ID_VALUE, parsedToken.issuedAt())
+        );
+    }
+
+    private MockHttpServletRequest bearerRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+        return request;
+    }
+}
@@ -0,0 +1,267 @@
+package com.tear.upgrade.t1tot2upgrade.configuration;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration LAG_BUDGET = Duration.ofSeconds(5);
+
+    private static final Duration HEALTH_CHECK_TIMEOUT = Duration.ofMillis(200);
+
+    private final MutableClock clock = new MutableClock();
+
+    private DataSource primary;
+
+    private DataSource replica;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWriteTransaction;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica), LAG_BUDGET, HEALTH_CHECK_TIMEOUT, clock);
+        jdbcTemplate = new JdbcTemplate(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routingDataSource);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routingDataSource.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void whenTransactionReadOnlyThenReplicaUsedOtherwisePrimary() {
+
+        // when
+        String readOnly = readOnlyTransaction.execute(status -> currentNode());
+        String readWrite = readWriteTransaction.execute(status -> currentNode());
+        String withoutTransaction = currentNode();
+
+        // then
+        assertAll("Routing checks",
+                () -> assertEquals("replica", readOnly),
+                () -> assertEquals("primary", readWrite),
+                () -> assertEquals("primary", withoutTransaction)
+        );
+    }
+
+    @Test
+    void whenUserWroteWithinLagBudgetThenTheirReadsPinnedToPrimary() {
+
+        // given
+        authenticate("john@example.com");
+        readWriteTransaction.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+
+        // when
+        String johnWithinBudget = readOnlyTransaction.execute(status -> currentNode());
+        authenticate("jane@example.com");
+        String jane = readOnlyTransaction.execute(status -> currentNode());
+        clock.advance(LAG_BUDGET.plusMillis(1));
+        authenticate("john@example.com");
+        String johnAfterBudget = readOnlyTransaction.execute(status -> currentNode());
+
+        // then
+        assertAll("Read-your-writes checks",
+                () -> assertEquals("primary", johnWithinBudget),
+                () -> assertEquals("replica", jane),
+                () -> assertEquals("replica", johnAfterBudget)
+        );
+    }
+
+    @Test
+    void whenWriteRolledBackThenReadsNotPinned() {
+
+        // given
+        authenticate("john@example.com");
+        readWriteTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE node SET name = name");
+            status.setRollbackOnly();
+        });
+
+        // when
+        String node = readOnlyTransaction.execute(status -> currentNode());
+
+        // then
+        assertAll("Rollback checks",
+                () -> assertEquals("replica", node),
+                () -> assertFalse(routingDataSource.isPinnedToPrimary("john@example.com"))
+        );
+    }
+
+    @Test
+    void whenReplicaFailsThenReadsFallBackToPrimaryUntilHealthCheckPasses() throws SQLException {
+
+        // given
+        DataSource failingReplica = mock(DataSource.class);
+        when(failingReplica.getConnection())
+                .thenThrow(new SQLException("Connection refused"))
+                .thenAnswer(invocation -> replica.getConnection());
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(failingReplica), LAG_BUDGET, HEALTH_CHECK_TIMEOUT, clock);
+        jdbcTemplate = new JdbcTemplate(routingDataSource);
+        readOnlyTransaction = new TransactionTemplate(new DataSourceTransactionManager(routingDataSource));
+        readOnlyTransaction.setReadOnly(true);
+
+        // when
+        String whileFailing = readOnlyTransaction.execute(status -> currentNode());
+        String whileOutOfRotation = readOnlyTransaction.execute(status -> currentNode());
+        routingDataSource.checkReplicas();
+        String afterHealthCheck = readOnlyTransaction.execute(status -> currentNode());
+
+        // then
+        assertAll("Failover checks",
+                () -> assertEquals("primary", whileFailing),
+                () -> assertEquals("primary", whileOutOfRotation),
+                () -> assertEquals("replica", afterHealthCheck),
+                () -> verify(failingReplica, times(3)).getConnection()
+        );
+    }
+
+    @Test
+    void whenReplicaHangsThenHealthCheckGivesUpWithinTimeout() throws SQLException {
+
+        // given
+        DataSource hangingReplica = mock(DataSource.class);
+        when(hangingReplica.getConnection())
+                .thenThrow(new SQLException("Connection refused"))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(10_000);
+                    return replica.getConnection();
+                });
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(hangingReplica), LAG_BUDGET,
+                HEALTH_CHECK_TIMEOUT, clock);
+        jdbcTemplate = new JdbcTemplate(routingDataSource);
+        readOnlyTransaction = new TransactionTemplate(new DataSourceTransactionManager(routingDataSource));
+        readOnlyTransaction.setReadOnly(true);
+        readOnlyTransaction.execute(status -> currentNode());
+
+        // when
+        long started = System.nanoTime();
+        routingDataSource.checkReplicas();
+        routingDataSource.checkReplicas();
+        Duration took = Duration.ofNanos(System.nanoTime() - started);
+        String node = readOnlyTransaction.execute(status -> currentNode());
+
+        // then
+        assertAll("Health check timeout checks",
+                () -> assertTrue(took.compareTo(Duration.ofSeconds(2)) < 0),
+                () -> assertEquals("primary", node),
+                () -> verify(hangingReplica, times(2)).getConnection()
+        );
+    }
+
+    @Test
+    void whenConnectionRequestedWithCredentialsThenSelectedDataSourceUsed() throws SQLException {
+
+        // given
+        DataSource primaryWithCredentials = mock(DataSource.class);
+        DataSource replicaWithCredentials = mock(DataSource.class);
+        when(primaryWithCredentials.getConnection()).thenReturn(mock(Connection.class));
+        when(primaryWithCredentials.getConnection("john", "secret")).thenReturn(mock(Connection.class));
+        when(replicaWithCredentials.getConnection("john", "secret")).thenReturn(mock(Connection.class));
+        routingDataSource = new ReplicaRoutingDataSource(primaryWithCredentials, List.of(replicaWithCredentials),
+                LAG_BUDGET, HEALTH_CHECK_TIMEOUT, clock);
+        readOnlyTransaction = new TransactionTemplate(new DataSourceTransactionManager(routingDataSource));
+        readOnlyTransaction.setReadOnly(true);
+
+        // when
+        readOnlyTransaction.executeWithoutResult(status -> createStatement("john", "secret"));
+        createStatement("john", "secret");
+
+        // then
+        assertAll("Credentials checks",
+                () -> verify(replicaWithCredentials).getConnection("john", "secret"),
+                () -> verify(primaryWithCredentials).getConnection("john", "secret")
+        );
+    }
+
+    @Test
+    void whenNoReplicasThenIllegalArgumentExceptionThrown() {
+
+        // when & then
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReplicaRoutingDataSource(primary, List.of(), LAG_BUDGET));
+    }
+
+    private void createStatement(String username, String password) {
+        try (Connection connection = routingDataSource.getConnection(username, password)) {
+            connection.createStatement();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+
+    private DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        template.update("DELETE FROM node");
+        template.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
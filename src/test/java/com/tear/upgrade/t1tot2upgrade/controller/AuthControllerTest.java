@@ -1,7 +1,7 @@
 package com.tear.upgrade.t1tot2upgrade.controller;
 
 import com.tear.upgrade.t1tot2upgrade.dto.UserDTO;
-import com.tear.upgrade.t1tot2upgrade.entity.User;
+import com.tear.upgrade.t1tot2upgrade.dto.UserResponseDTO;
 import com.tear.upgrade.t1tot2upgrade.entity.model.AuthModel;
 import com.tear.upgrade.t1tot2upgrade.entity.model.JwtResponseModel;
 import com.tear.upgrade.t1tot2upgrade.security.CustomUserDetailService;
@@ -98,12 +98,12 @@ class AuthControllerTest {
         userDTO.setEmail("test@example.com");
         userDTO.setPassword("password");
 
-        User user = new User();
+        UserResponseDTO user = new UserResponseDTO();
         user.setEmail(userDTO.getEmail());
 
         when(userService.createUser(any(UserDTO.class))).thenReturn(user);
 
-        ResponseEntity<User> response = authController.save(userDTO);
+        ResponseEntity<UserResponseDTO> response = authController.save(userDTO);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertEquals(user.getEmail(), Objects.requireNonNull(response.getBody()).getEmail());
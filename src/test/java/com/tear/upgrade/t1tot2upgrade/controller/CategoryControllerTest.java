@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tear.upgrade.t1tot2upgrade.dto.CategoryDTO;
 import com.tear.upgrade.t1tot2upgrade.exceptions.ResourceNotFoundException;
 import com.tear.upgrade.t1tot2upgrade.security.CustomUserDetailService;
+import com.tear.upgrade.t1tot2upgrade.security.TokenRevocationRegistry;
+import com.tear.upgrade.t1tot2upgrade.security.VerifiedTokenCache;
 import com.tear.upgrade.t1tot2upgrade.service.CategoryService;
 import com.tear.upgrade.t1tot2upgrade.service.JwtToken;
 import com.tear.upgrade.t1tot2upgrade.utils.FileHelper;
@@ -46,6 +48,12 @@ class CategoryControllerTest {
     @MockBean
     private CustomUserDetailService customUserDetailService;
 
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockBean
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
     private ObjectMapper objectMapper;
 
     private String validMessage;
@@ -140,12 +148,13 @@ class CategoryControllerTest {
     @WithMockUser
     void whenUserLoggedInThenDeleteAllCategoriesForUserSuccess() throws Exception {
         // when
-        doNothing().when(categoryService).deleteAllCategoriesForUser(any(Pageable.class));
+        when(categoryService.deleteAllCategoriesForUser(any(Pageable.class))).thenReturn(3L);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete("/categories")
                         .with(csrf()))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("X-Deleted-Count", "3"));
 
         verify(categoryService, times(1)).deleteAllCategoriesForUser(any(Pageable.class));
     }
@@ -1,9 +1,17 @@
 package com.tear.upgrade.t1tot2upgrade.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tear.upgrade.t1tot2upgrade.dto.CursorPageDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseBatchResultDTO;
 import com.tear.upgrade.t1tot2upgrade.dto.ExpenseDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseSummaryDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseTotalDTO;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExportFormat;
+import com.tear.upgrade.t1tot2upgrade.entity.model.SummaryGroupBy;
 import com.tear.upgrade.t1tot2upgrade.exceptions.ResourceNotFoundException;
 import com.tear.upgrade.t1tot2upgrade.security.CustomUserDetailService;
+import com.tear.upgrade.t1tot2upgrade.security.TokenRevocationRegistry;
+import com.tear.upgrade.t1tot2upgrade.security.VerifiedTokenCache;
 import com.tear.upgrade.t1tot2upgrade.service.CategoryService;
 import com.tear.upgrade.t1tot2upgrade.service.ExpenseService;
 import com.tear.upgrade.t1tot2upgrade.service.JwtToken;
@@ -19,14 +27,20 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.sql.Date;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -36,6 +50,7 @@ import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -54,6 +69,12 @@ class ExpenseControllerTest {
     @MockBean
     private CustomUserDetailService customUserDetailService;
 
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockBean
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
     @MockBean
     private CategoryService categoryService;
 
@@ -100,6 +121,86 @@ class ExpenseControllerTest {
                 .andExpect(jsonPath("$[1].categoryDTO.description").value("Description for category 2"));
     }
 
+    @Test
+    @WithMockUser
+    void whenUserLoggedInThenGetExpensesByCursorSuccess() throws Exception {
+
+        // given
+        String validMessagesArray = FileHelper.readFromFile("requests/expense/ExpenseArray.json");
+        List<ExpenseDTO> expenses = Arrays.asList(objectMapper.readValue(validMessagesArray, ExpenseDTO[].class));
+        CursorPageDTO<ExpenseDTO> cursorPage = CursorPageDTO.<ExpenseDTO>builder()
+                .content(expenses)
+                .nextCursor("next")
+                .hasNext(true)
+                .build();
+
+        // when
+        when(expenseService.getAllExpenses("current", 2)).thenReturn(cursorPage);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/expenses/cursor")
+                        .param("cursor", "current")
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].name").value("Expense 1"))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    @WithMockUser
+    void whenSaveExpensesBatchThenPerItemResultsReturned() throws Exception {
+
+        // given
+        ExpenseDTO expenseDTO = objectMapper.readValue(validMessage, ExpenseDTO.class);
+        List<ExpenseBatchResultDTO> results = List.of(
+                ExpenseBatchResultDTO.builder().index(0).status(ExpenseBatchResultDTO.Status.CREATED).expense(expenseDTO).build(),
+                ExpenseBatchResultDTO.builder().index(1).status(ExpenseBatchResultDTO.Status.FAILED)
+                        .errors(List.of("Expense amount cannot be null")).build());
+
+        // when
+        when(expenseService.saveExpensesBatch(anyList())).thenReturn(results);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.post("/expenses/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + validMessage + "," + invalidMessage + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].expense.name").value(expenseDTO.getName()))
+                .andExpect(jsonPath("$[1].status").value("FAILED"))
+                .andExpect(jsonPath("$[1].errors[0]").value("Expense amount cannot be null"));
+    }
+
+    @Test
+    @WithMockUser
+    void whenExportExpensesAsCsvThenStreamedAsAttachment() throws Exception {
+
+        // when
+        when(expenseService.exportExpenses(eq(ExportFormat.CSV), any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(1);
+            outputStream.write("id,name\n1,Lunch\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/expenses/export")
+                        .param("format", "csv")
+                        .with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("expenses.csv")))
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string("id,name\n1,Lunch\n"));
+    }
+
     @Test
     @WithMockUser
     void whenUserLoggedInThenGetExpenseByIdSuccess() throws Exception {
@@ -145,12 +246,13 @@ class ExpenseControllerTest {
     @WithMockUser
     void testDeleteAllExpensesForUser() throws Exception {
         // when
-        doNothing().when(expenseService).deleteAllExpensesForUser(any(Pageable.class));
+        when(expenseService.deleteAllExpensesForUser(any(Pageable.class))).thenReturn(42L);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete("/expenses")
                         .with(csrf()))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("X-Deleted-Count", "42"));
         verify(expenseService, times(1)).deleteAllExpensesForUser(any(Pageable.class));
     }
 
@@ -547,6 +649,88 @@ class ExpenseControllerTest {
                 .andExpect(jsonPath("$.message").value("No expenses found for keyword: " + keyword));
     }
 
+    @Test
+    @WithMockUser
+    public void whenGetExpenseSummaryThenDimensionsParsedAndGroupsReturned() throws Exception {
+
+        // given
+        List<ExpenseSummaryDTO> summary = List.of(ExpenseSummaryDTO.builder()
+                .category("Food")
+                .period("2024-03")
+                .total(BigDecimal.TEN)
+                .count(2)
+                .min(BigDecimal.ONE)
+                .max(new BigDecimal("9"))
+                .build());
+
+        // when
+        when(expenseService.getExpenseSummary(eq(EnumSet.of(SummaryGroupBy.CATEGORY, SummaryGroupBy.MONTH)),
+                eq(Date.valueOf("2024-01-01")), eq(Date.valueOf("2024-12-31")))).thenReturn(summary);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/expenses/summary")
+                        .param("groupBy", "Category", "month")
+                        .param("startDate", "2024-01-01")
+                        .param("endDate", "2024-12-31")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].category").value("Food"))
+                .andExpect(jsonPath("$[0].period").value("2024-03"))
+                .andExpect(jsonPath("$[0].count").value(2));
+    }
+
+    @Test
+    @WithMockUser
+    public void whenGetExpenseSummaryWithUnknownDimensionThenStatusBadRequest() throws Exception {
+
+        // when & then
+        mockMvc.perform(MockMvcRequestBuilders.get("/expenses/summary")
+                        .param("groupBy", "week")
+                        .with(csrf()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unsupported summary dimension: week"));
+    }
+
+    @Test
+    @WithMockUser
+    public void whenGetExpenseTotalThenTotalAndCountReturned() throws Exception {
+
+        // when
+        when(expenseService.getExpenseTotal(eq(Date.valueOf("2024-01-01")), eq(Date.valueOf("2024-12-31"))))
+                .thenReturn(ExpenseTotalDTO.builder()
+                        .startDate(Date.valueOf("2024-01-01"))
+                        .endDate(Date.valueOf("2024-12-31"))
+                        .total(new BigDecimal("123.45"))
+                        .count(3)
+                        .build());
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/expenses/total")
+                        .param("startDate", "2024-01-01")
+                        .param("endDate", "2024-12-31")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(123.45))
+                .andExpect(jsonPath("$.count").value(3));
+    }
+
+    @Test
+    @WithMockUser
+    public void whenSearchExpensesThenRankedExpensesReturned() throws Exception {
+
+        // when
+        when(expenseService.searchExpenses(eq("coffee"), any(Pageable.class)))
+                .thenReturn(List.of(ExpenseDTO.builder().id(7L).name("Coffee at Starbucks").build()));
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/expenses/search")
+                        .param("q", "coffee")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[0].name").value("Coffee at Starbucks"));
+    }
+
     private static Stream<Arguments> categoryProvider() throws Exception {
         ObjectMapper objectMapper = new ObjectMapper();
         String validMessagesArray = FileHelper.readFromFile("requests/expense/ExpenseArray.json");
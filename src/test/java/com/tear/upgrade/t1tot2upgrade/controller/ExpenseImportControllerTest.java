@@ -0,0 +1,103 @@
+package com.tear.upgrade.t1tot2upgrade.controller;
+
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseImportDTO;
+import com.tear.upgrade.t1tot2upgrade.entity.ExpenseImport;
+import com.tear.upgrade.t1tot2upgrade.exceptions.ResourceNotFoundException;
+import com.tear.upgrade.t1tot2upgrade.security.CustomUserDetailService;
+import com.tear.upgrade.t1tot2upgrade.security.TokenRevocationRegistry;
+import com.tear.upgrade.t1tot2upgrade.security.VerifiedTokenCache;
+import com.tear.upgrade.t1tot2upgrade.service.ExpenseImportService;
+import com.tear.upgrade.t1tot2upgrade.service.JwtToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.InputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ExpenseImportController.class)
+class ExpenseImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExpenseImportService expenseImportService;
+
+    @MockBean
+    private JwtToken jwtToken;
+
+    @MockBean
+    private CustomUserDetailService customUserDetailService;
+
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockBean
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Test
+    @WithMockUser
+    void whenCreateImportThenStatusCreated() throws Exception {
+
+        // when
+        when(expenseImportService.createImport("bank.csv")).thenReturn(ExpenseImportDTO.builder()
+                .id(1L)
+                .fileName("bank.csv")
+                .status(ExpenseImport.Status.CREATED)
+                .build());
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.post("/expenses/import")
+                        .param("fileName", "bank.csv")
+                        .with(csrf()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.status").value("CREATED"));
+    }
+
+    @Test
+    @WithMockUser
+    void whenUploadCsvThenImportProgressReturned() throws Exception {
+
+        // when
+        when(expenseImportService.importExpenses(eq(1L), any(InputStream.class))).thenReturn(ExpenseImportDTO.builder()
+                .id(1L)
+                .status(ExpenseImport.Status.COMPLETED)
+                .processedRows(2)
+                .importedRows(2)
+                .build());
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.put("/expenses/import/1")
+                        .contentType("text/csv")
+                        .content("name,amount,date,category\nLunch,12.50,2024-10-31,Food\nDinner,20.00,2024-10-31,Food\n")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.importedRows").value(2));
+    }
+
+    @Test
+    @WithMockUser
+    void whenImportNotFoundThenStatusNotFound() throws Exception {
+
+        // when
+        when(expenseImportService.getImport(2L)).thenThrow(new ResourceNotFoundException("Expense import not found for id 2"));
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/expenses/import/2")
+                        .with(csrf()))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,103 @@
+package com.tear.upgrade.t1tot2upgrade.controller;
+
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseReportDTO;
+import com.tear.upgrade.t1tot2upgrade.security.CustomUserDetailService;
+import com.tear.upgrade.t1tot2upgrade.security.TokenRevocationRegistry;
+import com.tear.upgrade.t1tot2upgrade.security.VerifiedTokenCache;
+import com.tear.upgrade.t1tot2upgrade.service.ExpenseRollupService;
+import com.tear.upgrade.t1tot2upgrade.service.JwtToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ExpenseReportController.class)
+class ExpenseReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExpenseRollupService expenseRollupService;
+
+    @MockBean
+    private JwtToken jwtToken;
+
+    @MockBean
+    private CustomUserDetailService customUserDetailService;
+
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockBean
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Test
+    @WithMockUser
+    void whenGetMonthlyReportThenMonthsParsedAndRowsReturned() throws Exception {
+
+        // when
+        when(expenseRollupService.getMonthlyReport(YearMonth.of(2024, 1), YearMonth.of(2024, 6), true))
+                .thenReturn(List.of(ExpenseReportDTO.builder()
+                        .period("2024-03")
+                        .category("Food")
+                        .total(BigDecimal.TEN)
+                        .count(2)
+                        .build()));
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/expenses/reports/monthly")
+                        .param("from", "2024-01")
+                        .param("to", "2024-06")
+                        .param("byCategory", "true")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].period").value("2024-03"))
+                .andExpect(jsonPath("$[0].category").value("Food"))
+                .andExpect(jsonPath("$[0].count").value(2));
+    }
+
+    @Test
+    @WithMockUser
+    void whenReportRangeReversedThenStatusBadRequest() throws Exception {
+
+        // when
+        when(expenseRollupService.getYearlyReport(2025, 2024, false))
+                .thenThrow(new IllegalArgumentException("Report start must not be after its end"));
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/expenses/reports/yearly")
+                        .param("from", "2025")
+                        .param("to", "2024")
+                        .with(csrf()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Report start must not be after its end"));
+    }
+
+    @Test
+    @WithMockUser
+    void whenRebuildReportsThenCorrectedGroupsReturned() throws Exception {
+
+        // when
+        when(expenseRollupService.rebuildForLoggedInUser()).thenReturn(3L);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.post("/expenses/reports/rebuild")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("3"));
+    }
+}
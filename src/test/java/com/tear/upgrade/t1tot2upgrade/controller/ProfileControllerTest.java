@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tear.upgrade.t1tot2upgrade.dto.ProfileDTO;
 import com.tear.upgrade.t1tot2upgrade.exceptions.ResourceNotFoundException;
 import com.tear.upgrade.t1tot2upgrade.security.CustomUserDetailService;
+import com.tear.upgrade.t1tot2upgrade.security.TokenRevocationRegistry;
+import com.tear.upgrade.t1tot2upgrade.security.VerifiedTokenCache;
 import com.tear.upgrade.t1tot2upgrade.service.JwtToken;
 import com.tear.upgrade.t1tot2upgrade.service.ProfileService;
 import com.tear.upgrade.t1tot2upgrade.service.UserService;
@@ -42,6 +44,12 @@ class ProfileControllerTest {
     @MockBean
     private CustomUserDetailService customUserDetailService;
 
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockBean
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
     @MockBean
     private UserService userService;
 
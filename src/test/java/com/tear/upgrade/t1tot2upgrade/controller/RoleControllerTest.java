@@ -2,8 +2,11 @@ package com.tear.upgrade.t1tot2upgrade.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tear.upgrade.t1tot2upgrade.dto.RoleDTO;
+import com.tear.upgrade.t1tot2upgrade.entity.model.RoleMemberModel;
 import com.tear.upgrade.t1tot2upgrade.exceptions.ResourceNotFoundException;
 import com.tear.upgrade.t1tot2upgrade.security.CustomUserDetailService;
+import com.tear.upgrade.t1tot2upgrade.security.TokenRevocationRegistry;
+import com.tear.upgrade.t1tot2upgrade.security.VerifiedTokenCache;
 import com.tear.upgrade.t1tot2upgrade.service.JwtToken;
 import com.tear.upgrade.t1tot2upgrade.service.RoleService;
 import com.tear.upgrade.t1tot2upgrade.utils.FileHelper;
@@ -13,6 +16,8 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -44,6 +49,12 @@ class RoleControllerTest {
     @MockBean
     private CustomUserDetailService customUserDetailService;
 
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockBean
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
 
     private ObjectMapper objectMapper;
 
@@ -149,6 +160,31 @@ class RoleControllerTest {
                 .andExpect(jsonPath("$.roleName").value("ADMIN"));
     }
 
+    @Test
+    @WithMockUser
+    void whenRoleExistsThenReturnPageOfMembers() throws Exception {
+
+        // given
+        Long roleId = 1L;
+        PageRequest page = PageRequest.of(0, 2);
+        List<RoleMemberModel> members = List.of(new RoleMemberModel(3L, "john", "john.doe@example.com"),
+                new RoleMemberModel(4L, "jane", "jane.doe@example.com"));
+
+        // when
+        when(roleService.readRoleMembers(eq(roleId), eq(page))).thenReturn(new PageImpl<>(members, page, 10));
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/roles/{id}/users", roleId)
+                        .param("page", "0")
+                        .param("size", "2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(jsonPath("$[1].username").value("jane"));
+    }
+
     @Test
     @WithMockUser
     void whenInvalidRoleInsertThenThrowIllegalArgumentExceptionException() throws Exception {
@@ -1,8 +1,11 @@
 package com.tear.upgrade.t1tot2upgrade.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tear.upgrade.t1tot2upgrade.dto.UserResponseDTO;
 import com.tear.upgrade.t1tot2upgrade.entity.User;
 import com.tear.upgrade.t1tot2upgrade.security.CustomUserDetailService;
+import com.tear.upgrade.t1tot2upgrade.security.TokenRevocationRegistry;
+import com.tear.upgrade.t1tot2upgrade.security.VerifiedTokenCache;
 import com.tear.upgrade.t1tot2upgrade.service.JwtToken;
 import com.tear.upgrade.t1tot2upgrade.service.UserService;
 import com.tear.upgrade.t1tot2upgrade.utils.FileHelper;
@@ -39,6 +42,12 @@ class UserControllerTest {
     @MockBean
     private CustomUserDetailService customUserDetailService;
 
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockBean
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
     private ObjectMapper objectMapper;
 
     private String validMessage;
@@ -56,8 +65,8 @@ class UserControllerTest {
     void whenUserLoggedInThenReadUserSuccess() throws Exception {
 
         // given
-        String validMessage = FileHelper.readFromFile("requests/user/User.json");
-        User user = objectMapper.readValue(validMessage, User.class);
+        String validMessage = FileHelper.readFromFile("requests/user/UserResponse.json");
+        UserResponseDTO user = objectMapper.readValue(validMessage, UserResponseDTO.class);
 
         // when
         when(userService.readUser()).thenReturn(user);
@@ -87,9 +96,11 @@ class UserControllerTest {
         // given
         String validMessage = FileHelper.readFromFile("requests/user/User.json");
         User user = objectMapper.readValue(validMessage, User.class);
+        UserResponseDTO updatedUser = objectMapper.readValue(
+                FileHelper.readFromFile("requests/user/UserResponse.json"), UserResponseDTO.class);
 
         // when
-        when(userService.updateUser(any(User.class))).thenReturn(user);
+        when(userService.updateUser(any(User.class))).thenReturn(updatedUser);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put("/user")
@@ -140,9 +151,11 @@ class UserControllerTest {
         // given
         String validMessage = FileHelper.readFromFile("requests/user/User.json");
         User validUser = objectMapper.readValue(validMessage, User.class);
+        UserResponseDTO updatedUser = objectMapper.readValue(
+                FileHelper.readFromFile("requests/user/UserResponse.json"), UserResponseDTO.class);
 
         // when
-        when(userService.updateUserById(eq(1L), any(User.class))).thenReturn(validUser);
+        when(userService.updateUserById(eq(1L), any(User.class))).thenReturn(updatedUser);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put("/user/1")
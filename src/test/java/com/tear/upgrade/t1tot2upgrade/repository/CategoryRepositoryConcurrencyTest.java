@@ -0,0 +1,86 @@
+package com.tear.upgrade.t1tot2upgrade.repository;
+
+import com.tear.upgrade.t1tot2upgrade.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Inserts the same category name from two connections, with the second one working in a
+ * {@code REPEATABLE READ} transaction whose snapshot was taken before the first one committed.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:category-race;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CategoryRepositoryConcurrencyTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("john");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void whenOtherConnectionCommitsSameNameAfterSnapshotThenCommittedRowReturned() {
+
+        // given
+        TransactionTemplate repeatableRead = new TransactionTemplate(transactionManager);
+        repeatableRead.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        TransactionTemplate otherConnection = new TransactionTemplate(transactionManager);
+
+        // when
+        List<Long> ids = repeatableRead.execute(status -> {
+            assertTrue(categoryRepository.findByUserIdAndName(user.getId(), "Travel").isEmpty());
+            Long committedElsewhere = onOtherThread(() -> otherConnection.execute(other ->
+                    categoryRepository.getOrCreateId(user.getId(), "Travel", "Trips")));
+            return List.of(committedElsewhere, categoryRepository.getOrCreateId(user.getId(), "Travel", null));
+        });
+
+        // then
+        assertAll("Concurrent get-or-create checks",
+                () -> assertNotNull(ids.get(0)),
+                () -> assertEquals(ids.get(0), ids.get(1)),
+                () -> assertEquals(1, categoryRepository.findByUserIdAndNameIn(user.getId(), Set.of("Travel")).size())
+        );
+    }
+
+    private <T> T onOtherThread(Supplier<T> action) {
+        try {
+            return CompletableFuture.supplyAsync(action).get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
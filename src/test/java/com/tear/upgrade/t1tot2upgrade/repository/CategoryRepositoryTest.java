@@ -0,0 +1,77 @@
+package com.tear.upgrade.t1tot2upgrade.repository;
+
+import com.tear.upgrade.t1tot2upgrade.entity.Category;
+import com.tear.upgrade.t1tot2upgrade.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Pageable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:categories;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CategoryRepositoryTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User john;
+
+    private User jane;
+
+    @BeforeEach
+    void setUp() {
+        john = persistUser("john");
+        jane = persistUser("jane");
+        entityManager.flush();
+    }
+
+    @Test
+    void whenGetOrCreateCalledTwiceThenOneRowInsertedAndReused() {
+
+        // when
+        Long created = categoryRepository.getOrCreateId(john.getId(), "Food", "Groceries");
+        Long existing = categoryRepository.getOrCreateId(john.getId(), "Food", "Other description");
+        entityManager.clear();
+
+        // then
+        assertAll("Get-or-create checks",
+                () -> assertNotNull(created),
+                () -> assertEquals(created, existing),
+                () -> assertEquals("Groceries", categoryRepository.findById(created).orElseThrow().getDescription()),
+                () -> assertEquals(1, categoryRepository.findByUserId(john.getId(), Pageable.unpaged()).getTotalElements())
+        );
+    }
+
+    @Test
+    void whenTwoUsersUseSameNameThenEachGetsOwnCategory() {
+
+        // when
+        Long johnsFood = categoryRepository.getOrCreateId(john.getId(), "Food", null);
+        Long janesFood = categoryRepository.getOrCreateId(jane.getId(), "Food", null);
+
+        // then
+        assertAll("Per-user uniqueness checks",
+                () -> assertNotEquals(johnsFood, janesFood),
+                () -> assertEquals(johnsFood, categoryRepository.findByUserIdAndName(john.getId(), "Food")
+                        .orElseThrow().getId()),
+                () -> assertEquals(janesFood, categoryRepository.findByUserIdAndName(jane.getId(), "Food")
+                        .orElseThrow().getId())
+        );
+    }
+
+    private User persistUser(String name) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("password");
+        return entityManager.persist(user);
+    }
+}
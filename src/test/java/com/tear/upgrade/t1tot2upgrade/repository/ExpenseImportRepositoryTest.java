@@ -0,0 +1,97 @@
+package com.tear.upgrade.t1tot2upgrade.repository;
+
+import com.tear.upgrade.t1tot2upgrade.entity.ExpenseImport;
+import com.tear.upgrade.t1tot2upgrade.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:imports;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExpenseImportRepositoryTest {
+
+    @Autowired
+    private ExpenseImportRepository expenseImportRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    private ExpenseImport expenseImport;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("john");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+        expenseImport = new ExpenseImport();
+        expenseImport.setStatus(ExpenseImport.Status.CREATED);
+        expenseImport.setUser(user);
+        expenseImport = expenseImportRepository.save(expenseImport);
+    }
+
+    @Test
+    void whenImportClaimedTwiceThenOnlyFirstClaimSucceeds() {
+
+        // when
+        boolean first = expenseImportRepository.claim(user.getId(), expenseImport.getId(), hourAgo());
+        boolean second = expenseImportRepository.claim(user.getId(), expenseImport.getId(), hourAgo());
+
+        // then
+        assertAll("Claim checks",
+                () -> assertTrue(first),
+                () -> assertFalse(second),
+                () -> assertEquals(ExpenseImport.Status.IN_PROGRESS,
+                        expenseImportRepository.findById(expenseImport.getId()).orElseThrow().getStatus())
+        );
+    }
+
+    @Test
+    void whenImportClaimedByOtherUserThenNotClaimed() {
+
+        // when & then
+        assertFalse(expenseImportRepository.claim(user.getId() + 1000, expenseImport.getId(), hourAgo()));
+    }
+
+    @Test
+    void whenInProgressImportStaleThenReclaimedAndOldUploadLosesItsProgressSave() {
+
+        // given
+        expenseImportRepository.claim(user.getId(), expenseImport.getId(), hourAgo());
+        ExpenseImport oldUpload = expenseImportRepository.findById(expenseImport.getId()).orElseThrow();
+
+        // when
+        boolean reclaimed = expenseImportRepository.claim(user.getId(), expenseImport.getId(),
+                Timestamp.from(Instant.now().plus(1, ChronoUnit.MINUTES)));
+        oldUpload.setProcessedRows(1000);
+
+        // then
+        assertAll("Stale claim checks",
+                () -> assertTrue(reclaimed),
+                () -> assertThrows(ObjectOptimisticLockingFailureException.class,
+                        () -> expenseImportRepository.save(oldUpload)),
+                () -> assertEquals(0, expenseImportRepository.findById(expenseImport.getId()).orElseThrow()
+                        .getProcessedRows())
+        );
+    }
+
+    private Timestamp hourAgo() {
+        return Timestamp.from(Instant.now().minus(1, ChronoUnit.HOURS));
+    }
+}
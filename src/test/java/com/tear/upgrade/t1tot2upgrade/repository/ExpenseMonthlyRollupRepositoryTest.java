@@ -0,0 +1,146 @@
+package com.tear.upgrade.t1tot2upgrade.repository;
+
+import com.tear.upgrade.t1tot2upgrade.entity.Category;
+import com.tear.upgrade.t1tot2upgrade.entity.Expense;
+import com.tear.upgrade.t1tot2upgrade.entity.ExpenseMonthlyRollup;
+import com.tear.upgrade.t1tot2upgrade.entity.User;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseReportModel;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseRollupModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:rollup;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ExpenseMonthlyRollupRepositoryTest {
+
+    private static final Date MARCH = Date.valueOf("2024-03-01");
+
+    @Autowired
+    private ExpenseMonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+
+    private Category food;
+
+    private Category travel;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("john");
+        user.setEmail("john.doe@example.com");
+        user.setPassword("password");
+        entityManager.persist(user);
+
+        food = persistCategory("Food");
+        travel = persistCategory("Travel");
+        entityManager.flush();
+    }
+
+    @Test
+    void whenAddingToRollupTwiceThenRowUpsertedAndSummed() {
+
+        // when
+        rollupRepository.addToRollup(user.getId(), food.getId(), MARCH, new BigDecimal("10.50"), 1);
+        rollupRepository.addToRollup(user.getId(), food.getId(), MARCH, new BigDecimal("4.50"), 2);
+        rollupRepository.addToRollup(user.getId(), food.getId(), MARCH, new BigDecimal("-5.00"), -1);
+        entityManager.clear();
+
+        // then
+        List<ExpenseMonthlyRollup> rollups = rollupRepository.findAll();
+        assertAll("Upsert checks",
+                () -> assertEquals(1, rollups.size()),
+                () -> assertEquals(0, new BigDecimal("10.00").compareTo(rollups.get(0).getTotalAmount())),
+                () -> assertEquals(2, rollups.get(0).getExpenseCount())
+        );
+    }
+
+    @Test
+    void whenReadingReportsThenRollupRowsGroupedByPeriod() {
+
+        // given
+        rollupRepository.addToRollup(user.getId(), food.getId(), MARCH, new BigDecimal("10"), 1);
+        rollupRepository.addToRollup(user.getId(), travel.getId(), MARCH, new BigDecimal("20"), 2);
+        rollupRepository.addToRollup(user.getId(), food.getId(), Date.valueOf("2024-04-01"), new BigDecimal("5"), 1);
+        rollupRepository.addToRollup(user.getId(), food.getId(), Date.valueOf("2025-01-01"), BigDecimal.ZERO, 0);
+        Date from = Date.valueOf("2024-01-01");
+        Date to = Date.valueOf("2025-12-31");
+
+        // when
+        List<ExpenseReportModel> monthly = rollupRepository.findMonthlyReport(user.getId(), from, to);
+        List<ExpenseReportModel> monthlyByCategory = rollupRepository.findMonthlyReportByCategory(user.getId(), from, to);
+        List<ExpenseReportModel> yearly = rollupRepository.findYearlyReport(user.getId(), from, to);
+
+        // then
+        assertAll("Report checks",
+                () -> assertEquals(2, monthly.size()),
+                () -> assertEquals(3, monthly.get(0).month()),
+                () -> assertEquals(0, new BigDecimal("30").compareTo(monthly.get(0).total())),
+                () -> assertEquals(3, monthly.get(0).count()),
+                () -> assertEquals(3, monthlyByCategory.size()),
+                () -> assertEquals("Food", monthlyByCategory.get(0).category()),
+                () -> assertEquals(1, yearly.size()),
+                () -> assertEquals(2024, yearly.get(0).year()),
+                () -> assertEquals(4, yearly.get(0).count())
+        );
+    }
+
+    @Test
+    void whenAggregatingExpensesThenGroupedByCategoryAndMonth() {
+
+        // given
+        persistExpense(food, "2024-03-02", "10");
+        persistExpense(food, "2024-03-28", "5");
+        persistExpense(travel, "2024-03-10", "7");
+        persistExpense(food, "2024-04-01", "1");
+        entityManager.flush();
+
+        // when
+        List<ExpenseRollupModel> groups = expenseRepository.aggregateMonthlyByUserId(user.getId());
+
+        // then
+        ExpenseRollupModel foodInMarch = groups.stream()
+                .filter(group -> group.categoryId().equals(food.getId()) && group.month() == 3)
+                .findFirst()
+                .orElseThrow();
+        assertAll("Aggregation checks",
+                () -> assertEquals(3, groups.size()),
+                () -> assertEquals(MARCH, foodInMarch.monthStart()),
+                () -> assertEquals(2, foodInMarch.count()),
+                () -> assertEquals(0, new BigDecimal("15").compareTo(foodInMarch.total()))
+        );
+    }
+
+    private Category persistCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        category.setUser(user);
+        return entityManager.persist(category);
+    }
+
+    private void persistExpense(Category category, String date, String amount) {
+        Expense expense = new Expense();
+        expense.setName("Expense " + date);
+        expense.setAmount(new BigDecimal(amount));
+        expense.setDate(Date.valueOf(date));
+        expense.setUser(user);
+        expense.setCategory(category);
+        entityManager.persist(expense);
+    }
+}
@@ -0,0 +1,332 @@
+package com.tear.upgrade.t1tot2upgrade.repository;
+
+import com.tear.upgrade.t1tot2upgrade.entity.Category;
+import com.tear.upgrade.t1tot2upgrade.entity.Expense;
+import com.tear.upgrade.t1tot2upgrade.entity.User;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseDailyTotalModel;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseExportModel;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseSummaryModel;
+import com.tear.upgrade.t1tot2upgrade.entity.model.SummaryGroupBy;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ExpenseRepositoryTest {
+
+    private static final int CATEGORY_COUNT = 10;
+
+    private static final int EXPENSE_COUNT = 50;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("john");
+        user.setEmail("john.doe@example.com");
+        user.setPassword("password");
+        entityManager.persist(user);
+        userId = user.getId();
+
+        for (int i = 0; i < CATEGORY_COUNT; i++) {
+            Category category = new Category();
+            category.setName("Category " + i);
+            category.setUser(user);
+            entityManager.persist(category);
+            for (int j = 0; j < EXPENSE_COUNT / CATEGORY_COUNT; j++) {
+                Expense expense = new Expense();
+                expense.setName("Expense " + i + "-" + j);
+                expense.setAmount(BigDecimal.TEN);
+                expense.setDate(Date.valueOf(LocalDate.of(2024, 1, 1).plusDays(i * 10L + j)));
+                expense.setUser(user);
+                expense.setCategory(category);
+                entityManager.persist(expense);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20, 50})
+    void whenListingExpensesThenCategoriesLoadedWithoutExtraQueries(int size) {
+
+        // when
+        List<String> categoryNames = expenseRepository.findByUserId(userId, PageRequest.of(0, size)).stream()
+                .map(expense -> expense.getCategory().getName())
+                .toList();
+
+        // then
+        assertAll("Query count checks",
+                () -> assertEquals(size, categoryNames.size()),
+                () -> assertTrue(statistics.getPrepareStatementCount() <= 2, "Expected page and count queries only"),
+                () -> assertEquals(0, statistics.getEntityFetchCount(), "Categories should not be fetched one by one")
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20, 50})
+    void whenSearchingExpensesThenCategoriesLoadedInSameStatement(int size) {
+
+        // when
+        List<String> byName = expenseRepository.findByUserIdAndNameContaining(userId, "Expense", PageRequest.of(0, size)).stream()
+                .map(expense -> expense.getCategory().getName())
+                .toList();
+        List<String> byDate = expenseRepository.findByUserIdAndDateBetween(userId, Date.valueOf("2024-01-01"),
+                        Date.valueOf("2024-12-31"), PageRequest.of(0, size)).stream()
+                .map(expense -> expense.getCategory().getName())
+                .toList();
+
+        // then
+        assertAll("Query count checks",
+                () -> assertEquals(size, byName.size()),
+                () -> assertEquals(size, byDate.size()),
+                () -> assertEquals(2, statistics.getPrepareStatementCount()),
+                () -> assertEquals(0, statistics.getEntityFetchCount())
+        );
+    }
+
+    @Test
+    void whenSavingExpenseWithCachedCategoryReferenceThenCategoryNotLoaded() {
+
+        // given
+        Long categoryId = entityManager.getEntityManager()
+                .createQuery("SELECT c.id FROM Category c WHERE c.name = 'Category 3'", Long.class)
+                .getSingleResult();
+        statistics.clear();
+        Category reference = new Category();
+        reference.setId(categoryId);
+        reference.setName("Category 3");
+        Expense expense = new Expense();
+        expense.setName("Cached category");
+        expense.setAmount(BigDecimal.ONE);
+        expense.setDate(Date.valueOf("2024-06-01"));
+        expense.setUser(entityManager.getEntityManager().getReference(User.class, userId));
+        expense.setCategory(reference);
+
+        // when
+        Long expenseId = expenseRepository.saveAndFlush(expense).getId();
+        long entityLoads = statistics.getEntityLoadCount();
+        entityManager.clear();
+
+        // then
+        assertAll("Reference checks",
+                () -> assertEquals(0, entityLoads, "Category should not be loaded to store its id"),
+                () -> assertEquals(categoryId, expenseRepository.findById(expenseId).orElseThrow().getCategory().getId())
+        );
+    }
+
+    @Test
+    void whenReadingKeysetPagesThenEachPageIsOneStatement() {
+
+        // given
+        List<Expense> firstPage = expenseRepository.findKeysetByUserId(userId, PageRequest.of(0, 20));
+        Expense last = firstPage.get(firstPage.size() - 1);
+
+        // when
+        List<Expense> secondPage = expenseRepository.findKeysetByUserIdAfter(userId, last.getDate(), last.getId(), PageRequest.of(0, 20));
+        secondPage.forEach(expense -> expense.getCategory().getName());
+
+        // then
+        assertAll("Keyset checks",
+                () -> assertEquals(20, secondPage.size()),
+                () -> assertTrue(secondPage.get(0).getDate().before(last.getDate())),
+                () -> assertEquals(2, statistics.getPrepareStatementCount()),
+                () -> assertEquals(0, statistics.getEntityFetchCount())
+        );
+    }
+
+    @Test
+    void whenDeletingInBatchesThenEachBatchBoundedByLimit() {
+
+        // when
+        int firstBatch = expenseRepository.deleteBatchByUserId(userId, 20);
+        int secondBatch = expenseRepository.deleteBatchByUserId(userId, 20);
+        int lastBatch = expenseRepository.deleteBatchByUserId(userId, 20);
+
+        // then
+        assertAll("Batch delete checks",
+                () -> assertEquals(20, firstBatch),
+                () -> assertEquals(20, secondBatch),
+                () -> assertEquals(EXPENSE_COUNT - 40, lastBatch),
+                () -> assertEquals(0, expenseRepository.deleteBatchByUserId(userId, 20))
+        );
+    }
+
+    @Test
+    void whenBatchInsertThenIdsAssignedAndRowsPersisted() {
+
+        // given
+        Category category = entityManager.getEntityManager()
+                .createQuery("SELECT c FROM Category c WHERE c.name = 'Category 0'", Category.class)
+                .getSingleResult();
+        List<Expense> expenses = IntStream.range(0, 3)
+                .mapToObj(i -> {
+                    Expense expense = new Expense();
+                    expense.setName("Batch " + i);
+                    expense.setAmount(BigDecimal.ONE);
+                    expense.setDate(Date.valueOf("2025-01-01"));
+                    expense.setCategory(category);
+                    return expense;
+                })
+                .toList();
+
+        // when
+        expenseRepository.batchInsert(userId, expenses);
+
+        // then
+        assertAll("Batch insert checks",
+                () -> assertTrue(expenses.stream().allMatch(expense -> expense.getId() != null)),
+                () -> assertEquals(3, expenses.stream().map(Expense::getId).distinct().count()),
+                () -> assertEquals(EXPENSE_COUNT + 3, expenseRepository.count())
+        );
+    }
+
+    @Test
+    void whenStreamingExportThenRowsProjectedWithoutManagedEntities() {
+
+        // when
+        List<ExpenseExportModel> rows;
+        try (Stream<ExpenseExportModel> stream = expenseRepository.streamExportByUserId(userId)) {
+            rows = stream.toList();
+        }
+
+        // then
+        assertAll("Export stream checks",
+                () -> assertEquals(EXPENSE_COUNT, rows.size()),
+                () -> assertEquals("Category 0", rows.get(0).category()),
+                () -> assertEquals(1, statistics.getPrepareStatementCount()),
+                () -> assertEquals(0, statistics.getEntityLoadCount())
+        );
+    }
+
+    @Test
+    void whenSummarizingByCategoryAndMonthThenGroupsComputedInOneStatement() {
+
+        // given
+        Date startDate = Date.valueOf("2024-01-01");
+        Date endDate = Date.valueOf("2024-12-31");
+
+        // when
+        List<ExpenseSummaryModel> byCategory = expenseRepository.summarizeByUserId(userId,
+                EnumSet.of(SummaryGroupBy.CATEGORY), startDate, endDate);
+        List<ExpenseSummaryModel> byMonth = expenseRepository.summarizeByUserId(userId,
+                EnumSet.of(SummaryGroupBy.MONTH), startDate, endDate);
+
+        // then
+        assertAll("Summary checks",
+                () -> assertEquals(CATEGORY_COUNT, byCategory.size()),
+                () -> assertEquals("Category 0", byCategory.get(0).category()),
+                () -> assertEquals(5, byCategory.get(0).count()),
+                () -> assertEquals(0, new BigDecimal("50").compareTo(byCategory.get(0).total())),
+                () -> assertEquals(0, BigDecimal.TEN.compareTo(byCategory.get(0).max())),
+                () -> assertEquals(2024, byMonth.get(0).year()),
+                () -> assertEquals(1, byMonth.get(0).month()),
+                () -> assertEquals(16, byMonth.get(0).count()),
+                () -> assertEquals(EXPENSE_COUNT, byMonth.stream().mapToLong(ExpenseSummaryModel::count).sum()),
+                () -> assertEquals(2, statistics.getPrepareStatementCount()),
+                () -> assertEquals(0, statistics.getEntityLoadCount())
+        );
+    }
+
+    @Test
+    void whenSummarizingWithoutDimensionsThenSingleTotalReturned() {
+
+        // when
+        List<ExpenseSummaryModel> summary = expenseRepository.summarizeByUserId(userId, EnumSet.noneOf(SummaryGroupBy.class),
+                Date.valueOf("2024-01-01"), Date.valueOf("2024-01-05"));
+
+        // then
+        assertAll("Summary checks",
+                () -> assertEquals(1, summary.size()),
+                () -> assertEquals(5, summary.get(0).count()),
+                () -> assertNull(summary.get(0).category())
+        );
+    }
+
+    @Test
+    void whenLoadingDailyTotalsThenOneSortedRowPerDay() {
+
+        // when
+        List<ExpenseDailyTotalModel> dailyTotals = expenseRepository.findDailyTotalsByUserId(userId);
+
+        // then
+        assertAll("Daily total checks",
+                () -> assertEquals(EXPENSE_COUNT, dailyTotals.size()),
+                () -> assertEquals(Date.valueOf("2024-01-01"), dailyTotals.get(0).date()),
+                () -> assertEquals(1L, dailyTotals.get(0).count()),
+                () -> assertTrue(dailyTotals.get(0).date().before(dailyTotals.get(1).date())),
+                () -> assertEquals(1, statistics.getPrepareStatementCount())
+        );
+    }
+
+    @Test
+    void whenKeysetSearchKeywordHasWildcardsThenMatchedLiterally() {
+
+        // given
+        User user = entityManager.find(User.class, userId);
+        Category category = entityManager.getEntityManager()
+                .createQuery("SELECT c FROM Category c WHERE c.name = 'Category 0'", Category.class)
+                .getSingleResult();
+        Expense discount = persistExpense(user, category, "50% off");
+        Expense underscore = persistExpense(user, category, "file_name");
+        Expense backslash = persistExpense(user, category, "C:\\temp");
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        List<Long> percent = expenseRepository.findKeysetByUserIdAndNameContaining(userId, "%", PageRequest.of(0, 100))
+                .stream().map(Expense::getId).toList();
+        List<Long> singleChar = expenseRepository.findKeysetByUserIdAndNameContaining(userId, "_", PageRequest.of(0, 100))
+                .stream().map(Expense::getId).toList();
+        List<Long> escape = expenseRepository.findKeysetByUserIdAndNameContainingAfter(userId, "\\",
+                        Date.valueOf("2099-01-01"), Long.MAX_VALUE, PageRequest.of(0, 100))
+                .stream().map(Expense::getId).toList();
+
+        // then
+        assertAll("Escaping checks",
+                () -> assertEquals(List.of(discount.getId()), percent),
+                () -> assertEquals(List.of(underscore.getId()), singleChar),
+                () -> assertEquals(List.of(backslash.getId()), escape)
+        );
+    }
+
+    private Expense persistExpense(User user, Category category, String name) {
+        Expense expense = new Expense();
+        expense.setName(name);
+        expense.setAmount(BigDecimal.ONE);
+        expense.setDate(Date.valueOf("2024-06-01"));
+        expense.setUser(user);
+        expense.setCategory(category);
+        return entityManager.persist(expense);
+    }
+}
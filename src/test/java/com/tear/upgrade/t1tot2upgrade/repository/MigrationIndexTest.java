@@ -0,0 +1,44 @@
+package com.tear.upgrade.t1tot2upgrade.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the schema built by the Flyway migrations on H2: the composite indexes exist with the intended column
+ * order. Whether MySQL actually uses them is checked by {@link QueryPlanTest}.
+ */
+@DataJpaTest
+class MigrationIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void whenMigrationsAppliedThenCompositeIndexesExistInColumnOrder() {
+
+        // when & then
+        assertAll("Index checks",
+                () -> assertEquals(List.of("USER_ID", "DATE", "ID"), indexColumns("IDX_EXPENSES_USER_DATE_ID")),
+                () -> assertEquals(List.of("USER_ID", "CATEGORY_ID"), indexColumns("IDX_EXPENSES_USER_CATEGORY")),
+                () -> assertEquals(List.of("USER_ID", "NAME"), constraintColumns("UK_CATEGORIES_USER_NAME")),
+                () -> assertTrue(indexColumns("IDX_CATEGORIES_USER_NAME").isEmpty()),
+                () -> assertTrue(constraintColumns("UKT8O6PIVUR7NN124JEHX7CYGW5").isEmpty())
+        );
+    }
+
+    private List<String> indexColumns(String indexName) {
+        return jdbcTemplate.queryForList("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS " +
+                "WHERE INDEX_NAME = ? ORDER BY ORDINAL_POSITION", String.class, indexName);
+    }
+
+    private List<String> constraintColumns(String constraintName) {
+        return jdbcTemplate.queryForList("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.KEY_COLUMN_USAGE " +
+                "WHERE CONSTRAINT_NAME = ? ORDER BY ORDINAL_POSITION", String.class, constraintName);
+    }
+}
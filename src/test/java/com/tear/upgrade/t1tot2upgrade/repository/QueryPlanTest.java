@@ -0,0 +1,217 @@
+package com.tear.upgrade.t1tot2upgrade.repository;
+
+import com.tear.upgrade.t1tot2upgrade.entity.Category;
+import com.tear.upgrade.t1tot2upgrade.entity.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the hot repository queries against MySQL and checks that {@code EXPLAIN} of the SQL Hibernate actually
+ * generated for them resolves through the intended index, including the vendor specific {@code FULLTEXT} index.
+ *
+ * <p>H2 neither has the {@code FULLTEXT} index nor picks indexes the way MySQL does, so this test only runs when
+ * {@code QUERY_PLAN_DB_URL} points at a scratch MySQL schema (with {@code QUERY_PLAN_DB_USERNAME} and
+ * {@code QUERY_PLAN_DB_PASSWORD}). The schema is migrated by Flyway and seeded once.</p>
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.tear.upgrade.t1tot2upgrade.repository.QueryPlanTest$RecordingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfEnvironmentVariable(named = "QUERY_PLAN_DB_URL", matches = ".+")
+class QueryPlanTest {
+
+    private static final int USERS = 20;
+
+    private static final int CATEGORIES_PER_USER = 5;
+
+    private static final int EXPENSES_PER_CATEGORY = 20;
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("QUERY_PLAN_DB_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv("QUERY_PLAN_DB_USERNAME"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("QUERY_PLAN_DB_PASSWORD", ""));
+    }
+
+    @BeforeEach
+    void setUp() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class) > 0) {
+            return;
+        }
+        List<Object[]> expenses = new ArrayList<>();
+        for (int user = 1; user <= USERS; user++) {
+            jdbcTemplate.update("INSERT INTO users (id, username, email, password, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, 'password', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", user, "user" + user, "user" + user + "@example.com");
+            for (int category = 0; category < CATEGORIES_PER_USER; category++) {
+                long categoryId = (long) user * CATEGORIES_PER_USER + category;
+                jdbcTemplate.update("INSERT INTO categories (id, name, user_id, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", categoryId, "Category " + categoryId, user);
+                for (int expense = 0; expense < EXPENSES_PER_CATEGORY; expense++) {
+                    Date date = Date.valueOf(FIRST_DATE.plusDays((long) expense * CATEGORIES_PER_USER + category));
+                    expenses.add(new Object[]{"Expense " + expense, date, user, categoryId});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO expenses (name, amount, date, user_id, category_id, created_at, updated_at) " +
+                "VALUES (?, 10, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", expenses);
+        jdbcTemplate.execute("ANALYZE TABLE users, categories, expenses");
+    }
+
+    @Test
+    void whenMigrationsAppliedThenCompositeAndFulltextIndexesExist() {
+
+        // when & then
+        assertAll("Index checks",
+                () -> assertEquals(List.of("user_id", "date", "id"), indexColumns("idx_expenses_user_date_id")),
+                () -> assertEquals(List.of("user_id", "category_id"), indexColumns("idx_expenses_user_category")),
+                () -> assertEquals(List.of("user_id", "name"), indexColumns("uk_categories_user_name")),
+                () -> assertEquals(List.of("name", "description", "notes"), indexColumns("ft_expenses_name_description_notes")),
+                () -> assertEquals(List.of("FULLTEXT"), jdbcTemplate.queryForList("SELECT DISTINCT INDEX_TYPE " +
+                        "FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_SCHEMA = DATABASE() " +
+                        "AND INDEX_NAME = 'ft_expenses_name_description_notes'", String.class))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void whenExplainingGeneratedQueryThenIntendedIndexUsed(String method, RepositoryCall call, String table,
+                                                          String expectedIndex, List<Object> parameters) {
+
+        // given
+        RecordingStatementInspector.clear();
+        call.run(this);
+        String sql = RecordingStatementInspector.firstSelect();
+        assertEquals(parameters.size(), sql.chars().filter(c -> c == '?').count(),
+                () -> "Parameters do not match the generated SQL: " + sql);
+
+        // when
+        Map<String, Object> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, parameters.toArray()).stream()
+                .filter(row -> table.equals(row.get("table")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No plan row for " + table + " in: " + sql));
+
+        // then
+        assertAll(method,
+                () -> assertEquals(expectedIndex, plan.get("key"), () -> "Plan of " + sql + ":\n" + plan),
+                () -> assertNotEquals("ALL", plan.get("type"), () -> "Table scan in plan of " + sql + ":\n" + plan)
+        );
+    }
+
+    private List<String> indexColumns(String indexName) {
+        return jdbcTemplate.queryForList("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.STATISTICS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND INDEX_NAME = ? ORDER BY SEQ_IN_INDEX", String.class, indexName);
+    }
+
+    private static Stream<Arguments> repositoryQueries() {
+        Date march = Date.valueOf("2024-03-01");
+        Date from = Date.valueOf("2024-01-10");
+        Date to = Date.valueOf("2024-01-20");
+        return Stream.of(
+                Arguments.of("ExpenseRepository.findKeysetByUserId",
+                        (RepositoryCall) test -> test.expenseRepository.findKeysetByUserId(3L, PageRequest.of(0, 21)),
+                        "e1_0", "idx_expenses_user_date_id", List.of(3L, 21)),
+                Arguments.of("ExpenseRepository.findKeysetByUserIdAfter",
+                        (RepositoryCall) test -> test.expenseRepository.findKeysetByUserIdAfter(3L, march, 500L,
+                                PageRequest.of(0, 21)),
+                        "e1_0", "idx_expenses_user_date_id", List.of(3L, march, march, 500L, 21)),
+                Arguments.of("ExpenseRepository.findKeysetByUserIdAndDateBetween",
+                        (RepositoryCall) test -> test.expenseRepository.findKeysetByUserIdAndDateBetween(3L, from, to,
+                                PageRequest.of(0, 21)),
+                        "e1_0", "idx_expenses_user_date_id", List.of(3L, from, to, 21)),
+                Arguments.of("ExpenseRepository.searchIdsByUserId",
+                        (RepositoryCall) test -> test.expenseRepository.searchIdsByUserId(3L, "+expense*",
+                                PageRequest.of(0, 20)),
+                        "e", "ft_expenses_name_description_notes", List.of(3L, "+expense*", "+expense*", 20)),
+                Arguments.of("ExpenseRepository.findByUserIdAndId",
+                        (RepositoryCall) test -> test.expenseRepository.findByUserIdAndId(3L, 250L),
+                        "e1_0", "PRIMARY", List.of(3L, 250L)),
+                Arguments.of("ExpenseRepository.findByUserAndCategory",
+                        (RepositoryCall) test -> test.expenseRepository.findByUserAndCategory(user(3L), category(16L)),
+                        "e1_0", "idx_expenses_user_category", List.of(3L, 16L)),
+                Arguments.of("CategoryRepository.findByUserIdAndName",
+                        (RepositoryCall) test -> test.categoryRepository.findByUserIdAndName(3L, "Category 16"),
+                        "c1_0", "uk_categories_user_name", List.of(3L, "Category 16")),
+                Arguments.of("CategoryRepository.findByUserIdAndNameIn",
+                        (RepositoryCall) test -> test.categoryRepository.findByUserIdAndNameIn(3L,
+                                List.of("Category 15", "Category 16")),
+                        "c1_0", "uk_categories_user_name", List.of(3L, "Category 15", "Category 16"))
+        );
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static Category category(Long id) {
+        Category category = new Category();
+        category.setId(id);
+        return category;
+    }
+
+    @FunctionalInterface
+    interface RepositoryCall {
+        void run(QueryPlanTest test);
+    }
+
+    /**
+     * Records every statement Hibernate prepares, so the test explains the SQL the repositories really send.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        static void clear() {
+            STATEMENTS.clear();
+        }
+
+        static String firstSelect() {
+            return STATEMENTS.stream()
+                    .filter(sql -> sql.regionMatches(true, 0, "select", 0, 6))
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError("No SELECT recorded, got: " + STATEMENTS));
+        }
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.tear.upgrade.t1tot2upgrade.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Upgrades a database created by {@code ddl-auto=update} before the Flyway migrations existed: the schema
+ * of {@code V1} is already in place without a Flyway history, so {@code V1} is baselined and only the later
+ * migrations run.
+ */
+class SchemaUpgradeTest {
+
+    @Test
+    void whenExistingDatabaseBaselinedThenLaterTablesCreated() throws SQLException {
+
+        // given
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:upgrade;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline_schema.sql"));
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO users (username, email, password, created_at, updated_at) " +
+                "VALUES ('john', 'john@example.com', 'password', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+
+        // when
+        MigrateResult result = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .load()
+                .migrate();
+
+        // then
+        assertAll("Upgrade checks",
+                () -> assertTrue(result.success),
+                () -> assertEquals(List.of("2", "4", "5", "6", "7"), result.migrations.stream()
+                        .map(migration -> migration.version).toList()),
+                () -> assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM expense_imports", Integer.class)),
+                () -> assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM expense_monthly_rollups", Integer.class))
+        );
+    }
+}
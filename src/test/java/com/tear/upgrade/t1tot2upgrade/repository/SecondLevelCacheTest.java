@@ -0,0 +1,166 @@
+package com.tear.upgrade.t1tot2upgrade.repository;
+
+import com.tear.upgrade.t1tot2upgrade.configuration.SecondLevelCacheConfig;
+import com.tear.upgrade.t1tot2upgrade.entity.Category;
+import com.tear.upgrade.t1tot2upgrade.entity.Role;
+import com.tear.upgrade.t1tot2upgrade.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"expenses.second-level-cache.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:second-level-cache;MODE=MySQL;DB_CLOSE_DELAY=-1"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ExpenseMonthlyRollupRepository expenseMonthlyRollupRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void whenRoleLookedUpAgainByNameThenResolvedFromNaturalIdAndEntityCache() {
+
+        // given
+        Long roleId = roleRepository.save(role("ROLE_AUDITOR")).getId();
+        roleRepository.findByRoleName("ROLE_AUDITOR").orElseThrow();
+        statistics.clear();
+
+        // when
+        Role role = roleRepository.findByRoleName("ROLE_AUDITOR").orElseThrow();
+
+        // then
+        assertAll("Role cache checks",
+                () -> assertEquals(roleId, role.getId()),
+                () -> assertEquals(0, statistics.getNaturalIdQueryExecutionCount()),
+                () -> assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.ROLE_REGION)
+                        .getHitCount())
+        );
+    }
+
+    @Test
+    void whenRoleRenamedThenOldNameNoLongerResolves() {
+
+        // given
+        Role role = roleRepository.save(role("ROLE_GUEST"));
+        roleRepository.findByRoleName("ROLE_GUEST").orElseThrow();
+
+        // when
+        role.setRoleName("ROLE_VISITOR");
+        roleRepository.save(role);
+
+        // then
+        assertAll("Rename checks",
+                () -> assertTrue(roleRepository.findByRoleName("ROLE_GUEST").isEmpty()),
+                () -> assertEquals(role.getId(), roleRepository.findByRoleName("ROLE_VISITOR").orElseThrow().getId())
+        );
+    }
+
+    @Test
+    void whenCategoryReadAgainByIdThenServedFromCacheWithoutQuery() {
+
+        // given
+        User user = new User();
+        user.setUsername("john");
+        user.setEmail("john.doe@example.com");
+        user.setPassword("password");
+        userRepository.save(user);
+        Category category = new Category();
+        category.setName("Food");
+        category.setUser(user);
+        Long categoryId = categoryRepository.save(category).getId();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "expenses", List.of()).bindTo(registry);
+        categoryRepository.findById(categoryId).orElseThrow();
+        statistics.clear();
+
+        // when
+        Category cached = categoryRepository.findById(categoryId).orElseThrow();
+
+        // then
+        assertAll("Category cache checks",
+                () -> assertEquals("Food", cached.getName()),
+                () -> assertEquals(0, statistics.getPrepareStatementCount()),
+                () -> assertEquals(1.0, registry.get("hibernate.second.level.cache.requests")
+                        .tag("region", SecondLevelCacheConfig.CATEGORY_REGION).tag("result", "hit")
+                        .functionCounter().count())
+        );
+    }
+
+    @Test
+    void whenExpenseWrittenWithNativeUpsertsThenCachedRoleNotEvicted() {
+
+        // given
+        Long roleId = roleRepository.save(role("ROLE_ANALYST")).getId();
+        roleRepository.findById(roleId).orElseThrow();
+        User user = new User();
+        user.setUsername("jane");
+        user.setEmail("jane.doe@example.com");
+        user.setPassword("password");
+        Long userId = userRepository.save(user).getId();
+        statistics.clear();
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Long categoryId = categoryRepository.getOrCreateId(userId, "Travel", null);
+            expenseMonthlyRollupRepository.addToRollup(userId, categoryId, Date.valueOf("2024-01-01"),
+                    BigDecimal.TEN, 1);
+        });
+        Role cached = roleRepository.findById(roleId).orElseThrow();
+
+        // then
+        assertAll("Region survival checks",
+                () -> assertEquals("ROLE_ANALYST", cached.getRoleName()),
+                () -> assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.ROLE_REGION)
+                        .getHitCount()),
+                () -> assertEquals(0, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.ROLE_REGION)
+                        .getMissCount())
+        );
+    }
+
+    private Role role(String name) {
+        Role role = new Role();
+        role.setRoleName(name);
+        return role;
+    }
+}
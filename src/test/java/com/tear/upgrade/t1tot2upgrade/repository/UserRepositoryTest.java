@@ -0,0 +1,214 @@
+package com.tear.upgrade.t1tot2upgrade.repository;
+
+import com.tear.upgrade.t1tot2upgrade.entity.Profile;
+import com.tear.upgrade.t1tot2upgrade.entity.Role;
+import com.tear.upgrade.t1tot2upgrade.entity.User;
+import com.tear.upgrade.t1tot2upgrade.entity.model.RoleMemberModel;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"spring.datasource.url=jdbc:h2:mem:members;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void whenReadingMembersOfRoleThenOnlyHoldersReturnedOnePageAtATime() {
+
+        // given
+        Role userRole = persistRole("ROLE_USER");
+        Role adminRole = persistRole("ROLE_ADMIN");
+        persistUser("alice", userRole);
+        persistUser("bob", userRole, adminRole);
+        persistUser("carol", userRole);
+        persistUser("dave", adminRole);
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        Page<RoleMemberModel> firstPage = userRepository.findMembersByRoleId(userRole.getId(),
+                PageRequest.of(0, 2, Sort.by("username")));
+        Page<RoleMemberModel> secondPage = userRepository.findMembersByRoleId(userRole.getId(),
+                PageRequest.of(1, 2, Sort.by("username")));
+
+        // then
+        assertAll("Role members checks",
+                () -> assertEquals(3, firstPage.getTotalElements()),
+                () -> assertEquals("alice", firstPage.getContent().get(0).username()),
+                () -> assertEquals("bob", firstPage.getContent().get(1).username()),
+                () -> assertEquals(1, secondPage.getNumberOfElements()),
+                () -> assertEquals("carol@example.com", secondPage.getContent().get(0).email())
+        );
+    }
+
+    @Test
+    void whenUserLoadedByEmailThenProfileNotLoadedUntilAccessed() {
+
+        // given
+        User user = persistUserWithProfile("erin");
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        User loaded = userRepository.findByEmail("erin@example.com").orElseThrow();
+        long profilesLoadedWithUser = statistics.getEntityStatistics(Profile.class.getName()).getLoadCount();
+        boolean initializedWithUser = Hibernate.isInitialized(loaded.getProfile());
+        String firstName = loaded.getProfile().getFirstName();
+
+        // then
+        assertAll("Lazy profile checks",
+                () -> assertEquals(0, profilesLoadedWithUser),
+                () -> assertFalse(initializedWithUser),
+                () -> assertEquals("Erin", firstName),
+                () -> assertEquals(user.getProfile().getId(), loaded.getProfile().getId())
+        );
+    }
+
+    @Test
+    void whenUserLoadedWithProfileThenRolesAndProfileFetchedInOneQuery() {
+
+        // given
+        Role userRole = persistRole("ROLE_USER");
+        User user = persistUserWithProfile("henry");
+        user.setRoles(Set.of(userRole));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        User loaded = userRepository.findWithProfileById(user.getId()).orElseThrow();
+
+        // then
+        assertAll("Fetch plan checks",
+                () -> assertEquals(1, statistics.getPrepareStatementCount()),
+                () -> assertTrue(Hibernate.isInitialized(loaded.getProfile())),
+                () -> assertEquals("Henry", loaded.getProfile().getFirstName()),
+                () -> assertEquals(Set.of("ROLE_USER"), loaded.getRoles().stream()
+                        .map(Role::getRoleName)
+                        .collect(Collectors.toSet()))
+        );
+    }
+
+    @Test
+    void whenProfileLookedUpByUserIdThenFoundOnlyForThatUser() {
+
+        // given
+        User withProfile = persistUserWithProfile("frank");
+        persistUser("grace");
+        User withoutProfile = userRepository.findByEmail("grace@example.com").orElseThrow();
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        Profile profile = profileRepository.findByUserId(withProfile.getId()).orElseThrow();
+
+        // then
+        assertAll("Profile lookup checks",
+                () -> assertEquals(withProfile.getProfile().getId(), profile.getId()),
+                () -> assertTrue(profileRepository.findByUserId(withoutProfile.getId()).isEmpty())
+        );
+    }
+
+    @Test
+    void whenTokensRevokedThenEpochStoredAndKeptOnEntityFlush() {
+
+        // given
+        User user = persistUser("ivan");
+        entityManager.flush();
+        Instant epoch = Instant.parse("2024-01-01T10:00:00.400Z");
+
+        // when
+        userRepository.updateTokensValidAfter(user.getId(), Timestamp.from(epoch));
+        User loaded = userRepository.findById(user.getId()).orElseThrow();
+        loaded.setUsername("ivan2");
+        entityManager.flush();
+
+        // then
+        assertAll("Revocation epoch checks",
+                () -> assertEquals(epoch, userRepository.findTokenEpochById(user.getId()).orElseThrow()
+                        .tokensValidAfter().toInstant()),
+                () -> assertTrue(userRepository.findTokenEpochById(user.getId() + 1000).isEmpty())
+        );
+    }
+
+    @Test
+    void whenRoleMembersRevokedThenOnlyHoldersAffected() {
+
+        // given
+        Role userRole = persistRole("ROLE_USER");
+        Role adminRole = persistRole("ROLE_ADMIN");
+        User holder = persistUser("judy", adminRole);
+        User other = persistUser("kate", userRole);
+        entityManager.flush();
+        Instant epoch = Instant.now();
+
+        // when
+        int revoked = userRepository.updateTokensValidAfterByRoleId(adminRole.getId(), Timestamp.from(epoch));
+
+        // then
+        assertAll("Role revocation checks",
+                () -> assertEquals(1, revoked),
+                () -> assertNotNull(userRepository.findTokenEpochById(holder.getId()).orElseThrow().tokensValidAfter()),
+                () -> assertNull(userRepository.findTokenEpochById(other.getId()).orElseThrow().tokensValidAfter())
+        );
+    }
+
+    private User persistUserWithProfile(String name) {
+        Profile profile = new Profile();
+        profile.setFirstName(name.substring(0, 1).toUpperCase() + name.substring(1));
+        profile.setLastName("Doe");
+        profile.setPhoneNumber("123456789");
+        profile.setAddress("Main Street 1");
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("password");
+        user.setProfile(profile);
+        return entityManager.persist(user);
+    }
+
+    private Role persistRole(String name) {
+        Role role = new Role();
+        role.setRoleName(name);
+        return entityManager.persist(role);
+    }
+
+    private User persistUser(String name, Role... roles) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("password");
+        user.setRoles(Set.of(roles));
+        return entityManager.persist(user);
+    }
+}
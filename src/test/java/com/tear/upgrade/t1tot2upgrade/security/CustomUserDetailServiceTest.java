@@ -78,6 +78,8 @@ class CustomUserDetailServiceTest {
         // then
         assertAll("UserDetails assertions",
                 () -> assertNotNull(userDetails),
+                () -> assertInstanceOf(AuthenticatedUser.class, userDetails),
+                () -> assertEquals(ID_VALUE, ((AuthenticatedUser) userDetails).getId()),
                 () -> assertEquals(EMAIL, userDetails.getUsername()),
                 () -> assertEquals(PASSWORD, userDetails.getPassword()),
                 () -> assertTrue(userDetails.getAuthorities().contains(new SimpleGrantedAuthority("USER")))
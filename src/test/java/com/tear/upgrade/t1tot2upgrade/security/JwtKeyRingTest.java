@@ -0,0 +1,57 @@
+package com.tear.upgrade.t1tot2upgrade.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    @Test
+    void whenNewestKeyIsActiveThenItSignsAndOlderKeysStillVerify() {
+
+        // given
+        JwtKeyRing jwtKeyRing = new JwtKeyRing(List.of(
+                JwtKeyRing.decode("k1", SECRET, Instant.EPOCH),
+                JwtKeyRing.decode("k2", SECRET, Instant.now().minus(1, ChronoUnit.MINUTES))));
+
+        // when & then
+        assertAll("Key ring checks",
+                () -> assertEquals("k2", jwtKeyRing.getSigningKey().keyId()),
+                () -> assertTrue(jwtKeyRing.findVerificationKey("k1").isPresent()),
+                () -> assertTrue(jwtKeyRing.findVerificationKey("unknown").isEmpty()),
+                () -> assertEquals(jwtKeyRing.getSigningKey().secretKey(), jwtKeyRing.findVerificationKey(null).orElseThrow())
+        );
+    }
+
+    @Test
+    void whenKeyNotYetActiveThenCurrentKeyKeepsSigning() {
+
+        // given
+        JwtKeyRing jwtKeyRing = new JwtKeyRing(List.of(
+                JwtKeyRing.decode("k1", SECRET, Instant.EPOCH),
+                JwtKeyRing.decode("k2", SECRET, Instant.now().plus(1, ChronoUnit.HOURS))));
+
+        // when
+        jwtKeyRing.rotate();
+
+        // then
+        assertAll("Key ring checks",
+                () -> assertEquals("k1", jwtKeyRing.getSigningKey().keyId()),
+                () -> assertTrue(jwtKeyRing.findVerificationKey("k2").isPresent())
+        );
+    }
+
+    @Test
+    void whenNoKeysThenIllegalArgumentExceptionThrown() {
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> new JwtKeyRing(List.of()));
+    }
+}
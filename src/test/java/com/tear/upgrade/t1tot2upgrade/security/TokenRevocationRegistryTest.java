@@ -0,0 +1,164 @@
+package com.tear.upgrade.t1tot2upgrade.security;
+
+import com.tear.upgrade.t1tot2upgrade.entity.model.TokenEpochModel;
+import com.tear.upgrade.t1tot2upgrade.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationRegistryTest {
+
+    public static final long ID_VALUE = 1L;
+
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        tokenRevocationRegistry = new TokenRevocationRegistry(userRepository, 100, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void whenUserRevokedThenEpochPersisted() {
+
+        // given
+        Instant before = Instant.now();
+        ArgumentCaptor<Timestamp> epoch = ArgumentCaptor.forClass(Timestamp.class);
+
+        // when
+        tokenRevocationRegistry.revoke(ID_VALUE);
+
+        // then
+        verify(userRepository).updateTokensValidAfter(eq(ID_VALUE), epoch.capture());
+        assertFalse(epoch.getValue().toInstant().isBefore(before));
+    }
+
+    @Test
+    void whenRoleMembersRevokedThenEpochPersistedForRole() {
+
+        // when
+        tokenRevocationRegistry.revokeRoleMembers(ID_VALUE);
+
+        // then
+        verify(userRepository).updateTokensValidAfterByRoleId(eq(ID_VALUE), any(Timestamp.class));
+    }
+
+    @Test
+    void whenTokenIssuedAtOrBeforeEpochThenRevoked() {
+
+        // given
+        Instant epoch = Instant.parse("2024-01-01T10:00:00.400Z");
+        when(userRepository.findTokenEpochById(ID_VALUE))
+                .thenReturn(Optional.of(new TokenEpochModel(ID_VALUE, Timestamp.from(epoch))));
+        when(userRepository.findTokenEpochById(2L)).thenReturn(Optional.of(new TokenEpochModel(2L, null)));
+        when(userRepository.findTokenEpochById(3L)).thenReturn(Optional.empty());
+
+        // when & then
+        assertAll("Revocation checks",
+                () -> assertTrue(tokenRevocationRegistry.isRevoked(ID_VALUE, epoch.minus(10, ChronoUnit.MINUTES))),
+                () -> assertTrue(tokenRevocationRegistry.isRevoked(ID_VALUE, epoch.truncatedTo(ChronoUnit.SECONDS))),
+                () -> assertFalse(tokenRevocationRegistry.isRevoked(ID_VALUE, epoch.plusSeconds(1))),
+                () -> assertFalse(tokenRevocationRegistry.isRevoked(2L, epoch)),
+                () -> assertTrue(tokenRevocationRegistry.isRevoked(3L, epoch))
+        );
+    }
+
+    @Test
+    void whenEpochCheckedRepeatedlyThenLoadedOnce() {
+
+        // given
+        Instant issuedAt = Instant.now().minus(10, ChronoUnit.MINUTES);
+        when(userRepository.findTokenEpochById(ID_VALUE)).thenReturn(Optional.of(new TokenEpochModel(ID_VALUE, null)));
+
+        // when
+        tokenRevocationRegistry.isRevoked(ID_VALUE, issuedAt);
+        boolean revoked = tokenRevocationRegistry.isRevoked(ID_VALUE, issuedAt);
+
+        // then
+        assertAll("Epoch cache checks",
+                () -> assertFalse(revoked),
+                () -> verify(userRepository, times(1)).findTokenEpochById(ID_VALUE)
+        );
+    }
+
+    @Test
+    void whenUserRevokedInTransactionThenEpochReloadedAfterCompletion() {
+
+        // given
+        Instant issuedAt = Instant.now().minus(10, ChronoUnit.MINUTES);
+        when(userRepository.findTokenEpochById(ID_VALUE))
+                .thenReturn(Optional.of(new TokenEpochModel(ID_VALUE, null)))
+                .thenReturn(Optional.of(new TokenEpochModel(ID_VALUE, null)))
+                .thenReturn(Optional.of(new TokenEpochModel(ID_VALUE, Timestamp.from(Instant.now()))));
+        assertFalse(tokenRevocationRegistry.isRevoked(ID_VALUE, issuedAt));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        tokenRevocationRegistry.revoke(ID_VALUE);
+        boolean beforeCommit = tokenRevocationRegistry.isRevoked(ID_VALUE, issuedAt);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+        boolean afterCommit = tokenRevocationRegistry.isRevoked(ID_VALUE, issuedAt);
+
+        // then
+        assertAll("Revocation eviction checks",
+                () -> assertFalse(beforeCommit),
+                () -> assertTrue(afterCommit),
+                () -> verify(userRepository, times(3)).findTokenEpochById(ID_VALUE)
+        );
+    }
+
+    @Test
+    void whenRoleMembersRevokedThenCachedEpochsDropped() {
+
+        // given
+        Instant issuedAt = Instant.now().minus(10, ChronoUnit.MINUTES);
+        when(userRepository.findTokenEpochById(ID_VALUE))
+                .thenReturn(Optional.of(new TokenEpochModel(ID_VALUE, null)))
+                .thenReturn(Optional.of(new TokenEpochModel(ID_VALUE, Timestamp.from(Instant.now()))));
+        assertFalse(tokenRevocationRegistry.isRevoked(ID_VALUE, issuedAt));
+
+        // when
+        tokenRevocationRegistry.revokeRoleMembers(5L);
+
+        // then
+        assertTrue(tokenRevocationRegistry.isRevoked(ID_VALUE, issuedAt));
+    }
+
+    @Test
+    void whenTokenHasNoUserIdThenNotRevoked() {
+
+        // when & then
+        assertAll("Missing claim checks",
+                () -> assertFalse(tokenRevocationRegistry.isRevoked(null, Instant.now().minus(10, ChronoUnit.MINUTES))),
+                () -> verifyNoInteractions(userRepository)
+        );
+    }
+}
@@ -0,0 +1,135 @@
+package com.tear.upgrade.t1tot2upgrade.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    public static final String EMAIL = "john.doe@example.com";
+
+    public static final String TOKEN = "header.payload.signature";
+
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        verifiedTokenCache = new VerifiedTokenCache(100, Duration.ofMinutes(1));
+        userDetails = new User(EMAIL, "password", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @Test
+    void whenTokenCachedThenUserDetailsReturned() {
+
+        // given
+        verifiedTokenCache.put(TOKEN, userDetails, Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // when
+        Optional<UserDetails> cached = verifiedTokenCache.get(TOKEN);
+
+        // then
+        assertAll("Cache hit checks",
+                () -> assertTrue(cached.isPresent()),
+                () -> assertEquals(EMAIL, cached.get().getUsername())
+        );
+    }
+
+    @Test
+    void whenTokenNotCachedThenEmptyReturned() {
+
+        // when & then
+        assertTrue(verifiedTokenCache.get(TOKEN).isEmpty());
+    }
+
+    @Test
+    void whenTokenAlreadyExpiredThenNotCached() {
+
+        // given
+        verifiedTokenCache.put(TOKEN, userDetails, Instant.now().minus(1, ChronoUnit.MINUTES));
+
+        // when & then
+        assertTrue(verifiedTokenCache.get(TOKEN).isEmpty());
+    }
+
+    @Test
+    void whenUserEvictedThenTokensOfUserRemoved() {
+
+        // given
+        UserDetails otherUser = new User("jane.doe@example.com", "password", List.of());
+        verifiedTokenCache.put(TOKEN, userDetails, Instant.now().plus(1, ChronoUnit.HOURS));
+        verifiedTokenCache.put("other.token.value", otherUser, Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // when
+        verifiedTokenCache.evictUser(EMAIL);
+
+        // then
+        assertAll("Eviction checks",
+                () -> assertTrue(verifiedTokenCache.get(TOKEN).isEmpty()),
+                () -> assertTrue(verifiedTokenCache.get("other.token.value").isPresent())
+        );
+    }
+
+    @Test
+    void whenRoleEvictedThenTokensOfRoleHoldersRemoved() {
+
+        // given
+        UserDetails admin = new User("jane.doe@example.com", "password", List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        verifiedTokenCache.put(TOKEN, userDetails, Instant.now().plus(1, ChronoUnit.HOURS));
+        verifiedTokenCache.put("admin.token.value", admin, Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // when
+        verifiedTokenCache.evictRole("ROLE_ADMIN");
+
+        // then
+        assertAll("Role eviction checks",
+                () -> assertTrue(verifiedTokenCache.get("admin.token.value").isEmpty()),
+                () -> assertTrue(verifiedTokenCache.get(TOKEN).isPresent())
+        );
+    }
+
+    @Test
+    void whenMaximumAgeReachedBeforeTokenExpiresThenEntryDropped() throws InterruptedException {
+
+        // given
+        verifiedTokenCache = new VerifiedTokenCache(100, Duration.ofMillis(50));
+        verifiedTokenCache.put(TOKEN, userDetails, Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // when
+        Thread.sleep(200);
+
+        // then
+        assertTrue(verifiedTokenCache.get(TOKEN).isEmpty());
+    }
+
+    @Test
+    void whenBoundToRegistryThenHitAndMissCountersPublished() {
+
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        verifiedTokenCache.bindTo(registry);
+        verifiedTokenCache.put(TOKEN, userDetails, Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // when
+        verifiedTokenCache.get(TOKEN);
+        verifiedTokenCache.get("missing.token.value");
+
+        // then
+        assertAll("Metric checks",
+                () -> assertEquals(1.0, registry.get("cache.gets").tag("result", "hit").functionCounter().count()),
+                () -> assertEquals(1.0, registry.get("cache.gets").tag("result", "miss").functionCounter().count())
+        );
+    }
+}
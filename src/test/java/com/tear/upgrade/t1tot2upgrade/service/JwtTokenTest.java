@@ -1,13 +1,19 @@
 package com.tear.upgrade.t1tot2upgrade.service;
 
+import com.tear.upgrade.t1tot2upgrade.entity.model.ParsedJwtModel;
+import com.tear.upgrade.t1tot2upgrade.security.AuthenticatedUser;
+import com.tear.upgrade.t1tot2upgrade.security.JwtKeyRing;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Instant;
 import java.util.Base64;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -15,7 +21,6 @@ import static org.mockito.Mockito.when;
 
 class JwtTokenTest {
 
-    @InjectMocks
     private JwtToken jwtToken;
 
     @Mock
@@ -26,6 +31,7 @@ class JwtTokenTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        jwtToken = new JwtToken(JwtKeyRing.generated());
         when(userDetails.getUsername()).thenReturn("john.doe@example.com");
         token = jwtToken.generateToken(userDetails);
     }
@@ -78,4 +84,86 @@ class JwtTokenTest {
         // when & then
         assertFalse(jwtToken.validateToken(token, invalidUserDetails), "Token should be invalid for a user with different username/email");
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenParseTokenThenSubjectRolesAndExpirationReturned() {
+
+        // when
+        ParsedJwtModel parsedToken = jwtToken.parseToken(token);
+
+        // then
+        assertAll("Parsed token checks",
+                () -> assertEquals("john.doe@example.com", parsedToken.subject()),
+                () -> assertTrue(parsedToken.roles().isEmpty()),
+                () -> assertTrue(parsedToken.expiration().isAfter(Instant.now())),
+                () -> assertFalse(parsedToken.isExpired())
+        );
+    }
+
+    @Test
+    void whenValidateParsedTokenThenTokenValid() {
+
+        // given
+        ParsedJwtModel parsedToken = jwtToken.parseToken(token);
+
+        // when & then
+        assertTrue(jwtToken.validateToken(parsedToken, userDetails));
+    }
+
+    @Test
+    void whenParseTamperedTokenThenSignatureExceptionThrown() {
+
+        // given
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + parts[1] + "." + new StringBuilder(parts[2]).reverse();
+
+        // when & then
+        assertThrows(JwtException.class, () -> jwtToken.parseToken(tampered));
+    }
+
+    @Test
+    void whenTokenGeneratedForAuthenticatedUserThenUserIdClaimParsed() {
+
+        // given
+        AuthenticatedUser authenticatedUser = new AuthenticatedUser(1L, "john.doe@example.com", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        // when
+        ParsedJwtModel parsedToken = jwtToken.parseToken(jwtToken.generateToken(authenticatedUser));
+
+        // then
+        assertAll("Parsed token checks",
+                () -> assertEquals(1L, parsedToken.userId()),
+                () -> assertEquals(List.of("ROLE_USER"), parsedToken.roles()),
+                () -> assertNotNull(parsedToken.issuedAt())
+        );
+    }
+
+    @Test
+    void whenTokenGeneratedThenKeyIdWrittenToHeader() {
+
+        // when
+        String header = new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]));
+
+        // then
+        assertTrue(header.contains("\"kid\":\"" + JwtKeyRing.DEFAULT_KEY_ID + "\""), "Header should contain the key id");
+    }
+
+    @Test
+    void whenTokenSignedByPreviousKeyThenStillVerified() {
+
+        // given
+        String previousSecret = Base64.getEncoder().encodeToString(new byte[32]);
+        String nextSecret = Base64.getEncoder().encodeToString("next-secret-next-secret-next-sec".getBytes());
+        JwtKeyRing.JwtKey previousKey = JwtKeyRing.decode("k1", previousSecret, Instant.EPOCH);
+        String previousToken = new JwtToken(new JwtKeyRing(List.of(previousKey))).generateToken(userDetails);
+        JwtToken rotatedJwtToken = new JwtToken(new JwtKeyRing(List.of(previousKey,
+                JwtKeyRing.decode("k2", nextSecret, Instant.now().minusSeconds(1)))));
+
+        // when & then
+        assertAll("Rotation checks",
+                () -> assertEquals("john.doe@example.com", rotatedJwtToken.parseToken(previousToken).subject()),
+                () -> assertThrows(JwtException.class, () -> jwtToken.parseToken(previousToken))
+        );
+    }
+}
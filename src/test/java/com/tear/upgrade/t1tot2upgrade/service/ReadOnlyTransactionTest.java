@@ -0,0 +1,137 @@
+package com.tear.upgrade.t1tot2upgrade.service;
+
+import com.tear.upgrade.t1tot2upgrade.entity.Role;
+import com.tear.upgrade.t1tot2upgrade.repository.RoleRepository;
+import com.tear.upgrade.t1tot2upgrade.security.TokenRevocationRegistry;
+import com.tear.upgrade.t1tot2upgrade.security.VerifiedTokenCache;
+import com.tear.upgrade.t1tot2upgrade.service.impl.RoleServiceImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.ConfigurableTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"spring.datasource.url=jdbc:h2:mem:readonly;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RoleServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadOnlyTransactionTest {
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @MockBean
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<TransactionExecution> begunTransactions = new ArrayList<>();
+
+    private final TransactionExecutionListener listener = new TransactionExecutionListener() {
+        @Override
+        public void beforeBegin(TransactionExecution transaction) {
+            begunTransactions.add(transaction);
+        }
+    };
+
+    private Statistics statistics;
+
+    private Role role;
+
+    @BeforeEach
+    void setUp() {
+        role = roleRepository.findByRoleName("ROLE_AUDITOR").orElseGet(() -> {
+            Role auditor = new Role();
+            auditor.setRoleName("ROLE_AUDITOR");
+            return roleRepository.save(auditor);
+        });
+        ((ConfigurableTransactionManager) transactionManager).addListener(listener);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((ConfigurableTransactionManager) transactionManager).getTransactionExecutionListeners().remove(listener);
+    }
+
+    @Test
+    void whenServiceReadsThenEachRunsInOneReadOnlyTransactionWithoutFlush() {
+
+        // when
+        roleService.readAllRoles();
+        roleService.readRole(role.getId());
+        roleService.readRoleMembers(role.getId(), PageRequest.of(0, 20));
+
+        // then
+        assertAll("Read transaction checks",
+                () -> assertEquals(List.of("readAllRoles", "readRole", "readRoleMembers"), begunTransactions.stream()
+                        .map(transaction -> transaction.getTransactionName()
+                                .substring(transaction.getTransactionName().lastIndexOf('.') + 1))
+                        .toList()),
+                () -> assertTrue(begunTransactions.stream().allMatch(TransactionExecution::isReadOnly)),
+                () -> assertEquals(0, statistics.getFlushCount())
+        );
+    }
+
+    @Test
+    void whenEntityLoadedInReadOnlyTransactionThenNoSnapshotKeptAndNothingFlushed() {
+
+        // given
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        // when
+        List<Object> sessionState = readOnlyTransaction.execute(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            Role loaded = roleRepository.findById(role.getId()).orElseThrow();
+            boolean entityReadOnly = session.isReadOnly(loaded);
+            loaded.setRoleName("ROLE_CHANGED");
+            return List.of(session.isDefaultReadOnly(), session.getHibernateFlushMode(), entityReadOnly);
+        });
+
+        // then
+        assertAll("Read-only session checks",
+                () -> assertEquals(List.of(true, FlushMode.MANUAL, true), sessionState),
+                () -> assertEquals(0, statistics.getFlushCount()),
+                () -> assertEquals(0, statistics.getEntityUpdateCount()),
+                () -> assertEquals("ROLE_AUDITOR", roleRepository.findById(role.getId()).orElseThrow().getRoleName())
+        );
+    }
+}
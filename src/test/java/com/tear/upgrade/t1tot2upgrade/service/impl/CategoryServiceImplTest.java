@@ -1,6 +1,7 @@
 package com.tear.upgrade.t1tot2upgrade.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tear.upgrade.t1tot2upgrade.cache.CategoryCache;
 import com.tear.upgrade.t1tot2upgrade.dto.CategoryDTO;
 import com.tear.upgrade.t1tot2upgrade.entity.Category;
 import com.tear.upgrade.t1tot2upgrade.entity.User;
@@ -44,6 +45,9 @@ class CategoryServiceImplTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private CategoryCache categoryCache;
+
     private ObjectMapper objectMapper;
 
     private CategoryDTO categoryDTOMock;
@@ -54,6 +58,7 @@ class CategoryServiceImplTest {
         User mockUser = mock(User.class);
         when(mockUser.getId()).thenReturn(1L);
         when(userService.getLoggedInUser()).thenReturn(mockUser);
+        when(userService.getLoggedInUserId()).thenReturn(1L);
         objectMapper = new ObjectMapper();
         categoryDTOMock = mock(CategoryDTO.class);
     }
@@ -128,6 +133,28 @@ class CategoryServiceImplTest {
         assertEquals("Updated Category", updatedCategoryDTO.getName());
         assertEquals("Updated Description", updatedCategoryDTO.getDescription());
         verify(categoryRepository, times(1)).save(categoryUpdated);
+        verify(categoryCache, times(2)).evict(1L, "Updated Category");
+    }
+
+    @Test
+    void whenCategoryRenamedThenOldAndNewNamesEvictedFromCache() {
+
+        // given
+        Category category = new Category();
+        category.setId(1L);
+        category.setName("Groceries");
+        CategoryDTO categoryDTO = CategoryDTO.builder().name("Food").build();
+
+        // when
+        when(categoryRepository.findByUserIdAndId(1L, 1L)).thenReturn(Optional.of(category));
+        when(categoryRepository.save(category)).thenReturn(category);
+        categoryService.updateCategory(1L, categoryDTO);
+
+        // then
+        assertAll("Cache eviction checks",
+                () -> verify(categoryCache).evict(1L, "Groceries"),
+                () -> verify(categoryCache).evict(1L, "Food")
+        );
     }
 
     @Test
@@ -143,6 +170,7 @@ class CategoryServiceImplTest {
 
         // then
         verify(categoryRepository, times(1)).delete(category);
+        verify(categoryCache, times(1)).evict(1L, "Updated Category");
     }
 
     @Test
@@ -150,17 +178,32 @@ class CategoryServiceImplTest {
 
         // given
         Pageable pageable = PageRequest.of(0, 2);
-        String validMessagesArray = FileHelper.readFromFile("requests/category/CategoryArray.json");
-        List<Category> categories = Arrays.asList(objectMapper.readValue(validMessagesArray, Category[].class));
-        Page<Category> categoryPage = new PageImpl<>(categories, pageable, categories.size());
 
         // when
-        when(categoryRepository.findByUserId(anyLong(), any(Pageable.class))).thenReturn(categoryPage);
-        categoryService.deleteAllCategoriesForUser(pageable);
+        when(categoryRepository.deleteBatchByUserId(anyLong(), eq(2))).thenReturn(2, 1);
+        long deleted = categoryService.deleteAllCategoriesForUser(pageable);
 
         // then
-        verify(categoryRepository, times(1)).deleteAll(categories);
-        verify(categoryRepository, times(1)).findByUserId(anyLong(), any(Pageable.class));
+        assertEquals(3, deleted);
+        verify(categoryRepository, times(2)).deleteBatchByUserId(anyLong(), eq(2));
+        verify(categoryRepository, never()).findByUserId(anyLong(), any(Pageable.class));
+        verify(categoryCache, times(1)).evictUser(1L);
+    }
+
+    @Test
+    void whenLaterDeleteBatchFailsThenCacheStillEvicted() {
+
+        // given
+        Pageable pageable = PageRequest.of(0, 2);
+        when(categoryRepository.deleteBatchByUserId(anyLong(), eq(2)))
+                .thenReturn(2)
+                .thenThrow(new RuntimeException("Lock wait timeout exceeded"));
+
+        // when
+        assertThrows(RuntimeException.class, () -> categoryService.deleteAllCategoriesForUser(pageable));
+
+        // then
+        verify(categoryCache, times(1)).evictUser(1L);
     }
 
     @Test
@@ -232,7 +275,7 @@ class CategoryServiceImplTest {
         });
 
         // then
-        verify(categoryRepository, never()).findByUserId(anyLong(), any(Pageable.class));
+        verify(categoryRepository, never()).deleteBatchByUserId(anyLong(), anyInt());
     }
 
     @Test
@@ -240,8 +283,7 @@ class CategoryServiceImplTest {
 
         // given
         Pageable pageable = PageRequest.of(0, 2);
-        Page<Category> emptyPage = Page.empty(pageable);
-        when(categoryRepository.findByUserId(anyLong(), any(Pageable.class))).thenReturn(emptyPage);
+        when(categoryRepository.deleteBatchByUserId(anyLong(), anyInt())).thenReturn(0);
 
         // when
         ResourceNotFoundException resourceNotFoundException = assertThrows(ResourceNotFoundException.class, () -> {
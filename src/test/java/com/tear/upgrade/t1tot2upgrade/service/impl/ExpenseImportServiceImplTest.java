@@ -0,0 +1,232 @@
+package com.tear.upgrade.t1tot2upgrade.service.impl;
+
+import com.tear.upgrade.t1tot2upgrade.cache.CategoryCache;
+import com.tear.upgrade.t1tot2upgrade.cache.ExpenseTotalsCache;
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseImportDTO;
+import com.tear.upgrade.t1tot2upgrade.entity.ExpenseImport;
+import com.tear.upgrade.t1tot2upgrade.entity.User;
+import com.tear.upgrade.t1tot2upgrade.exceptions.ItemAlreadyExistsException;
+import com.tear.upgrade.t1tot2upgrade.exceptions.ResourceNotFoundException;
+import com.tear.upgrade.t1tot2upgrade.repository.ExpenseImportRepository;
+import com.tear.upgrade.t1tot2upgrade.repository.ExpenseRepository;
+import com.tear.upgrade.t1tot2upgrade.service.ExpenseRollupService;
+import com.tear.upgrade.t1tot2upgrade.service.UserService;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ExpenseImportServiceImplTest {
+
+    public static final long ID_VALUE = 1L;
+
+    private static final String CSV = """
+            name,description,amount,date,notes,category
+            Lunch,Soup,12.50,2024-10-31,,Food
+            Dinner,,20.00,2024-10-31,,Food
+            X,,1.00,2024-11-01,,Food
+            Train,,30.00,2024-11-02,,Travel
+            Taxi,,not-a-number,2024-11-02,,Travel
+            """;
+
+    @InjectMocks
+    private ExpenseImportServiceImpl expenseImportService;
+
+    @Mock
+    private ExpenseImportRepository expenseImportRepository;
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private CategoryCache categoryCache;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ExpenseRollupService expenseRollupService;
+
+    @Mock
+    private ExpenseTotalsCache expenseTotalsCache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private ExpenseImport expenseImport;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(expenseImportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(expenseImportService, "staleAfter", Duration.ofMinutes(15));
+        User user = new User();
+        user.setId(ID_VALUE);
+        expenseImport = new ExpenseImport();
+        expenseImport.setId(ID_VALUE);
+        expenseImport.setStatus(ExpenseImport.Status.CREATED);
+        expenseImport.setUser(user);
+
+        when(userService.getLoggedInUserId()).thenReturn(ID_VALUE);
+        when(userService.getLoggedInUser()).thenReturn(user);
+        when(expenseImportRepository.findByUserIdAndId(ID_VALUE, ID_VALUE)).thenReturn(Optional.of(expenseImport));
+        when(expenseImportRepository.save(any(ExpenseImport.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(expenseImportRepository.claim(eq(ID_VALUE), eq(ID_VALUE), any(Timestamp.class))).thenReturn(true);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(categoryCache.getOrCreateAll(any(User.class), anyMap())).thenAnswer(invocation -> {
+            Map<String, String> requested = invocation.getArgument(1);
+            return requested.keySet().stream()
+                    .collect(Collectors.toMap(name -> name,
+                            name -> new CategoryCache.CachedCategory((long) name.length(), name, null)));
+        });
+    }
+
+    @Test
+    void whenImportCsvThenRowsCommittedInChunksAndProgressTracked() {
+
+        // when
+        ExpenseImportDTO result = expenseImportService.importExpenses(ID_VALUE, toStream(CSV));
+
+        // then
+        assertAll("Import progress checks",
+                () -> assertEquals(ExpenseImport.Status.COMPLETED, result.getStatus()),
+                () -> assertEquals(5, result.getProcessedRows()),
+                () -> assertEquals(3, result.getImportedRows()),
+                () -> assertEquals(2, result.getFailedRows()),
+                () -> assertTrue(result.getLastError().startsWith("Row 5"))
+        );
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(expenseRepository, times(3)).batchInsert(eq(ID_VALUE), anyList());
+    }
+
+    @Test
+    void whenChunkImportedThenItsCategoriesResolvedWithOneCacheCall() {
+
+        // when
+        expenseImportService.importExpenses(ID_VALUE, toStream(CSV));
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, String>> names = ArgumentCaptor.forClass(Map.class);
+        verify(categoryCache, times(2)).getOrCreateAll(any(User.class), names.capture());
+        assertAll("Category cache checks",
+                () -> assertEquals(List.of("Food"), List.copyOf(names.getAllValues().get(0).keySet())),
+                () -> assertEquals(List.of("Travel"), List.copyOf(names.getAllValues().get(1).keySet()))
+        );
+    }
+
+    @Test
+    void whenImportResumedThenCommittedRowsSkipped() {
+
+        // given
+        expenseImport.setStatus(ExpenseImport.Status.FAILED);
+        expenseImport.setProcessedRows(4);
+        expenseImport.setImportedRows(3);
+        expenseImport.setFailedRows(1);
+
+        // when
+        ExpenseImportDTO result = expenseImportService.importExpenses(ID_VALUE, toStream(CSV));
+
+        // then
+        assertAll("Resume checks",
+                () -> assertEquals(ExpenseImport.Status.COMPLETED, result.getStatus()),
+                () -> assertEquals(5, result.getProcessedRows()),
+                () -> assertEquals(3, result.getImportedRows()),
+                () -> assertEquals(2, result.getFailedRows())
+        );
+        verify(expenseRepository, times(1)).batchInsert(ID_VALUE, List.of());
+    }
+
+    @Test
+    void whenChunkFailsThenImportMarkedFailedAtLastCommittedChunk() {
+
+        // given
+        doNothing().doThrow(new IllegalStateException("Connection lost"))
+                .when(expenseRepository).batchInsert(eq(ID_VALUE), anyList());
+
+        // when
+        ExpenseImportDTO result = expenseImportService.importExpenses(ID_VALUE, toStream(CSV));
+
+        // then
+        assertAll("Failure checks",
+                () -> assertEquals(ExpenseImport.Status.FAILED, result.getStatus()),
+                () -> assertEquals(2, result.getProcessedRows()),
+                () -> assertEquals("Connection lost", result.getLastError()),
+                () -> assertEquals(ExpenseImport.Status.FAILED, expenseImport.getStatus())
+        );
+    }
+
+    @Test
+    void whenImportAlreadyInProgressThenThrowItemAlreadyExistsException() {
+
+        // given
+        expenseImport.setStatus(ExpenseImport.Status.IN_PROGRESS);
+        when(expenseImportRepository.claim(eq(ID_VALUE), eq(ID_VALUE), any(Timestamp.class))).thenReturn(false);
+
+        // when & then
+        assertThrows(ItemAlreadyExistsException.class, () -> expenseImportService.importExpenses(ID_VALUE, toStream(CSV)));
+        verify(expenseRepository, never()).batchInsert(anyLong(), anyList());
+        verify(expenseImportRepository, never()).save(any(ExpenseImport.class));
+    }
+
+    @Test
+    void whenImportClaimedByAnotherUploadMidwayThenThrowItemAlreadyExistsException() {
+
+        // given
+        when(expenseImportRepository.save(any(ExpenseImport.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ExpenseImport.class, ID_VALUE));
+
+        // when & then
+        assertThrows(ItemAlreadyExistsException.class, () -> expenseImportService.importExpenses(ID_VALUE, toStream(CSV)));
+        verify(expenseImportRepository, times(1)).save(any(ExpenseImport.class));
+    }
+
+    @Test
+    void whenImportAlreadyCompletedThenThrowItemAlreadyExistsException() {
+
+        // given
+        expenseImport.setStatus(ExpenseImport.Status.COMPLETED);
+
+        // when & then
+        assertThrows(ItemAlreadyExistsException.class, () -> expenseImportService.importExpenses(ID_VALUE, toStream(CSV)));
+        verify(expenseRepository, never()).batchInsert(anyLong(), anyList());
+    }
+
+    @Test
+    void whenImportNotFoundThenThrowResourceNotFoundException() {
+
+        // when & then
+        assertThrows(ResourceNotFoundException.class, () -> expenseImportService.getImport(2L));
+    }
+
+    private InputStream toStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
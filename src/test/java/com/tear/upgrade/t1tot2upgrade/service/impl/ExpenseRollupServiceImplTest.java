@@ -0,0 +1,174 @@
+package com.tear.upgrade.t1tot2upgrade.service.impl;
+
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseReportDTO;
+import com.tear.upgrade.t1tot2upgrade.entity.Category;
+import com.tear.upgrade.t1tot2upgrade.entity.Expense;
+import com.tear.upgrade.t1tot2upgrade.entity.ExpenseMonthlyRollup;
+import com.tear.upgrade.t1tot2upgrade.entity.User;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseReportModel;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseRollupModel;
+import com.tear.upgrade.t1tot2upgrade.repository.ExpenseMonthlyRollupRepository;
+import com.tear.upgrade.t1tot2upgrade.repository.ExpenseRepository;
+import com.tear.upgrade.t1tot2upgrade.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ExpenseRollupServiceImplTest {
+
+    public static final long ID_VALUE = 1L;
+
+    private static final Date MARCH = Date.valueOf("2024-03-01");
+
+    @InjectMocks
+    private ExpenseRollupServiceImpl expenseRollupService;
+
+    @Mock
+    private ExpenseMonthlyRollupRepository rollupRepository;
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private Category food;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        food = new Category();
+        food.setId(10L);
+        food.setName("Food");
+        when(userService.getLoggedInUserId()).thenReturn(ID_VALUE);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void whenAddExpensesThenOneDeltaPerCategoryAndMonth() {
+
+        // given
+        List<Expense> expenses = List.of(
+                buildExpense("2024-03-02", "10.00"),
+                buildExpense("2024-03-31", "2.50"),
+                buildExpense("2024-04-01", "1.00"));
+
+        // when
+        expenseRollupService.addExpenses(ID_VALUE, expenses);
+
+        // then
+        verify(rollupRepository).addToRollup(ID_VALUE, 10L, MARCH, new BigDecimal("12.50"), 2);
+        verify(rollupRepository).addToRollup(ID_VALUE, 10L, Date.valueOf("2024-04-01"), new BigDecimal("1.00"), 1);
+        verifyNoMoreInteractions(rollupRepository);
+    }
+
+    @Test
+    void whenRemoveExpenseThenNegativeDeltaApplied() {
+
+        // given
+        Expense expense = buildExpense("2024-03-15", "7.25");
+        User user = new User();
+        user.setId(ID_VALUE);
+        expense.setUser(user);
+
+        // when
+        expenseRollupService.removeExpense(expense);
+
+        // then
+        verify(rollupRepository).addToRollup(ID_VALUE, 10L, MARCH, new BigDecimal("-7.25"), -1);
+    }
+
+    @Test
+    void whenReconcileUserThenDriftedGroupsReplacedAndStaleRowsDeleted() {
+
+        // given
+        ExpenseMonthlyRollup consistent = buildRollup(MARCH, "12.50", 2);
+        ExpenseMonthlyRollup drifted = buildRollup(Date.valueOf("2024-04-01"), "3.00", 1);
+        ExpenseMonthlyRollup stale = buildRollup(Date.valueOf("2024-05-01"), "9.00", 1);
+        when(rollupRepository.findByUserIdForUpdate(ID_VALUE)).thenReturn(List.of(consistent, drifted, stale));
+        when(expenseRepository.aggregateMonthlyByUserId(ID_VALUE)).thenReturn(List.of(
+                new ExpenseRollupModel(10L, 2024, 3, new BigDecimal("12.5"), 2L),
+                new ExpenseRollupModel(10L, 2024, 4, new BigDecimal("4.00"), 2L),
+                new ExpenseRollupModel(10L, 2024, 6, BigDecimal.ONE, 1L)));
+
+        // when
+        long corrected = expenseRollupService.reconcileUser(ID_VALUE);
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<ExpenseMonthlyRollup>> deleted = ArgumentCaptor.forClass(Collection.class);
+        verify(rollupRepository).deleteAll(deleted.capture());
+        assertAll("Reconciliation checks",
+                () -> assertEquals(3, corrected),
+                () -> verify(rollupRepository).replaceRollup(ID_VALUE, 10L, Date.valueOf("2024-04-01"), new BigDecimal("4.00"), 2L),
+                () -> verify(rollupRepository).replaceRollup(ID_VALUE, 10L, Date.valueOf("2024-06-01"), BigDecimal.ONE, 1L),
+                () -> verify(rollupRepository, never()).replaceRollup(any(), any(), eq(MARCH), any(), anyLong()),
+                () -> assertEquals(List.of(stale), List.copyOf(deleted.getValue()))
+        );
+    }
+
+    @Test
+    void whenGetMonthlyReportThenPeriodsFormattedFromRollup() {
+
+        // given
+        Date from = Date.valueOf("2024-01-01");
+        Date to = Date.valueOf("2024-12-31");
+
+        // when
+        when(rollupRepository.findMonthlyReportByCategory(ID_VALUE, from, to)).thenReturn(List.of(
+                new ExpenseReportModel(2024, 3, "Food", new BigDecimal("12.50"), 2L)));
+        List<ExpenseReportDTO> report = expenseRollupService.getMonthlyReport(YearMonth.of(2024, 1), YearMonth.of(2024, 12), true);
+
+        // then
+        assertAll("Report checks",
+                () -> assertEquals(1, report.size()),
+                () -> assertEquals("2024-03", report.get(0).getPeriod()),
+                () -> assertEquals("Food", report.get(0).getCategory()),
+                () -> assertEquals(2, report.get(0).getCount())
+        );
+    }
+
+    @Test
+    void whenReportRangeReversedThenThrowIllegalArgumentException() {
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> expenseRollupService.getYearlyReport(2025, 2024, false));
+        verifyNoInteractions(rollupRepository);
+    }
+
+    private Expense buildExpense(String date, String amount) {
+        Expense expense = new Expense();
+        expense.setDate(Date.valueOf(date));
+        expense.setAmount(new BigDecimal(amount));
+        expense.setCategory(food);
+        return expense;
+    }
+
+    private ExpenseMonthlyRollup buildRollup(Date monthStart, String total, long count) {
+        ExpenseMonthlyRollup rollup = new ExpenseMonthlyRollup();
+        rollup.setCategory(food);
+        rollup.setMonthStart(monthStart);
+        rollup.setTotalAmount(new BigDecimal(total));
+        rollup.setExpenseCount(count);
+        return rollup;
+    }
+}
@@ -1,31 +1,54 @@
 package com.tear.upgrade.t1tot2upgrade.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tear.upgrade.t1tot2upgrade.cache.CategoryCache;
+import com.tear.upgrade.t1tot2upgrade.cache.ExpenseTotalsCache;
+import com.tear.upgrade.t1tot2upgrade.dto.CategoryDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.CursorPageDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseBatchResultDTO;
 import com.tear.upgrade.t1tot2upgrade.dto.ExpenseDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseSummaryDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.ExpenseTotalDTO;
 import com.tear.upgrade.t1tot2upgrade.entity.Category;
 import com.tear.upgrade.t1tot2upgrade.entity.Expense;
 import com.tear.upgrade.t1tot2upgrade.entity.User;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseCursorModel;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseExportModel;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExpenseSummaryModel;
+import com.tear.upgrade.t1tot2upgrade.entity.model.ExportFormat;
+import com.tear.upgrade.t1tot2upgrade.entity.model.SummaryGroupBy;
 import com.tear.upgrade.t1tot2upgrade.exceptions.ResourceNotFoundException;
 import com.tear.upgrade.t1tot2upgrade.repository.CategoryRepository;
 import com.tear.upgrade.t1tot2upgrade.repository.ExpenseRepository;
+import com.tear.upgrade.t1tot2upgrade.service.ExpenseRollupService;
 import com.tear.upgrade.t1tot2upgrade.service.UserService;
 import com.tear.upgrade.t1tot2upgrade.utils.FileHelper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.sql.Date;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -49,6 +72,21 @@ class ExpenseServiceImplTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ExpenseRollupService expenseRollupService;
+
+    @Mock
+    private ExpenseTotalsCache expenseTotalsCache;
+
+    @Mock
+    private CategoryCache categoryCache;
+
+    @Spy
+    private ObjectMapper exportObjectMapper = new ObjectMapper();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     private User mockUser;
 
     private ObjectMapper objectMapper;
@@ -60,6 +98,9 @@ class ExpenseServiceImplTest {
         mockUser.setId(1L);
         when(mockUser.getId()).thenReturn(1L);
         when(userService.getLoggedInUser()).thenReturn(mockUser);
+        when(userService.getLoggedInUserId()).thenReturn(1L);
+        ReflectionTestUtils.setField(expenseService, "batchMaxItems", 3);
+        ReflectionTestUtils.setField(expenseService, "searchMinTermLength", 3);
         objectMapper = new ObjectMapper();
     }
 
@@ -150,22 +191,55 @@ class ExpenseServiceImplTest {
 
         // then
         verify(expenseRepository, times(1)).delete(expense);
+        verify(expenseRollupService, times(1)).removeExpense(expense);
     }
 
     @Test
-    void whenExpensesExistForLoggedInUserThenDeleteAllExpensesForUserSuccessfully() throws IOException {
+    void whenExpensesExistForLoggedInUserThenDeleteAllExpensesForUserSuccessfully() {
         // given
-        String validMessage = FileHelper.readFromFile("requests/expense/Expense.json");
-        Expense expense = objectMapper.readValue(validMessage, Expense.class);
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Expense> expensesPage = new PageImpl<>(List.of(expense));
 
         // when
-        when(expenseRepository.findByUserId(ID_VALUE, pageable)).thenReturn(expensesPage);
-        expenseService.deleteAllExpensesForUser(pageable);
+        when(expenseRepository.deleteBatchByUserId(ID_VALUE, 10)).thenReturn(10, 10, 3);
+        long deleted = expenseService.deleteAllExpensesForUser(pageable);
 
         // then
-        verify(expenseRepository, times(1)).deleteAll(expensesPage.getContent());
+        assertEquals(23, deleted);
+        verify(expenseRepository, times(3)).deleteBatchByUserId(ID_VALUE, 10);
+        verify(expenseRepository, never()).findByUserId(anyLong(), any(Pageable.class));
+        verify(expenseRollupService, times(1)).clearUser(ID_VALUE);
+    }
+
+    @Test
+    void whenLaterDeleteBatchFailsThenRollupsAndTotalsStillCleared() {
+        // given
+        Pageable pageable = PageRequest.of(0, 10);
+        when(expenseRepository.deleteBatchByUserId(ID_VALUE, 10))
+                .thenReturn(10)
+                .thenThrow(new RuntimeException("Lock wait timeout exceeded"));
+
+        // when
+        assertThrows(RuntimeException.class, () -> expenseService.deleteAllExpensesForUser(pageable));
+
+        // then
+        assertAll("Cleanup after failed batch checks",
+                () -> verify(expenseRollupService, times(1)).clearUser(ID_VALUE),
+                () -> verify(expenseTotalsCache, times(1)).invalidate(ID_VALUE)
+        );
+    }
+
+    @Test
+    void whenPageSizeAboveLimitThenDeleteBatchSizeBounded() {
+        // given
+        Pageable pageable = PageRequest.of(0, 5000);
+
+        // when
+        when(expenseRepository.deleteBatchByUserId(ID_VALUE, 1000)).thenReturn(1);
+        long deleted = expenseService.deleteAllExpensesForUser(pageable);
+
+        // then
+        assertEquals(1, deleted);
+        verify(expenseRepository, times(1)).deleteBatchByUserId(ID_VALUE, 1000);
     }
 
     @Test
@@ -177,6 +251,8 @@ class ExpenseServiceImplTest {
 
 
         // when
+        when(categoryCache.getOrCreate(mockUser, "Category 1", "Description for category 1"))
+                .thenReturn(new CategoryCache.CachedCategory(ID_VALUE, "Category 1", "Description for category 1"));
         when(expenseRepository.save(any(Expense.class))).thenReturn(expense);
         ExpenseDTO result = expenseService.saveExpanseDetails(expenseDTO);
 
@@ -190,7 +266,9 @@ class ExpenseServiceImplTest {
                 () -> assertEquals(expense.getDate(), result.getDate()),
                 () -> assertEquals(expense.getNotes(), result.getNotes()),
                 () -> assertEquals(expense.getId(), result.getCategoryDTO().getId()),
-                () -> assertEquals(expense.getCategory().getName(), result.getCategoryDTO().getName())
+                () -> assertEquals(expense.getCategory().getName(), result.getCategoryDTO().getName()),
+                () -> verify(expenseRollupService, times(1)).addExpense(expense),
+                () -> verify(categoryRepository, never()).findByNameAndUser(any(), any())
         );
     }
 
@@ -209,7 +287,9 @@ class ExpenseServiceImplTest {
         // when
         when(expenseRepository.findByUserIdAndId(ID_VALUE, expense.getId()))
                 .thenReturn(Optional.of(expense));
-        when(categoryRepository.findByNameAndUser(expenseDTO.getCategoryDTO().getName(), mockUser)).thenReturn(Optional.of(category));
+        when(categoryCache.find(ID_VALUE, expenseDTO.getCategoryDTO().getName()))
+                .thenReturn(Optional.of(new CategoryCache.CachedCategory(ID_VALUE, category.getName(),
+                        expenseDTO.getCategoryDTO().getDescription())));
         when(expenseRepository.save(any(Expense.class))).thenReturn(expense);
 
         ExpenseDTO result = expenseService.updateExpenseDetails(expense.getId(), expenseDTO);
@@ -224,7 +304,37 @@ class ExpenseServiceImplTest {
                 () -> assertEquals(expense.getDate(), result.getDate()),
                 () -> assertEquals(expense.getNotes(), result.getNotes()),
                 () -> assertEquals(expense.getId(), result.getCategoryDTO().getId()),
-                () -> assertEquals(category.getName(), result.getCategoryDTO().getName())
+                () -> assertEquals(category.getName(), result.getCategoryDTO().getName()),
+                () -> verify(categoryRepository, never()).save(any(Category.class))
+        );
+    }
+
+    @Test
+    void whenUpdateChangesCategoryDescriptionThenCategorySavedAndEvicted() throws IOException {
+
+        // given
+        String validMessage = FileHelper.readFromFile("requests/expense/Expense.json");
+        ExpenseDTO expenseDTO = objectMapper.readValue(validMessage, ExpenseDTO.class);
+        Expense expense = objectMapper.convertValue(expenseDTO, Expense.class);
+        Category category = new Category();
+        category.setId(ID_VALUE);
+        category.setName("Category 1");
+        category.setDescription("Old description");
+
+        // when
+        when(expenseRepository.findByUserIdAndId(ID_VALUE, expense.getId())).thenReturn(Optional.of(expense));
+        when(categoryCache.find(ID_VALUE, "Category 1"))
+                .thenReturn(Optional.of(new CategoryCache.CachedCategory(ID_VALUE, "Category 1", "Old description")));
+        when(categoryRepository.findByUserIdAndId(ID_VALUE, ID_VALUE)).thenReturn(Optional.of(category));
+        when(categoryRepository.save(category)).thenReturn(category);
+        when(expenseRepository.save(any(Expense.class))).thenReturn(expense);
+        ExpenseDTO result = expenseService.updateExpenseDetails(expense.getId(), expenseDTO);
+
+        // then
+        assertAll("Category update checks",
+                () -> assertEquals("Description for category 1", result.getCategoryDTO().getDescription()),
+                () -> verify(categoryRepository, times(1)).save(category),
+                () -> verify(categoryCache, times(1)).evict(ID_VALUE, "Category 1")
         );
     }
 
@@ -297,7 +407,8 @@ class ExpenseServiceImplTest {
         String categoryName = expense.getCategory().getName();
 
         // when
-        when(categoryRepository.findByName(categoryName)).thenReturn(Optional.of(category));
+        when(userService.getLoggedInUserId()).thenReturn(ID_VALUE);
+        when(categoryRepository.findByUserIdAndName(ID_VALUE, categoryName)).thenReturn(Optional.of(category));
         when(expenseRepository.findByCategory(category)).thenReturn(List.of(expense));
         List<ExpenseDTO> result = expenseService.getExpensesByCategoryName(categoryName);
 
@@ -314,6 +425,42 @@ class ExpenseServiceImplTest {
         );
     }
 
+    @Test
+    void whenTwoUsersShareCategoryNameThenOnlyLoggedInUsersExpensesReturned() {
+
+        // given
+        long otherUserId = 2L;
+        Category ownFood = new Category();
+        ownFood.setId(10L);
+        ownFood.setName("Food");
+        Category otherFood = new Category();
+        otherFood.setId(20L);
+        otherFood.setName("Food");
+        Expense ownExpense = new Expense();
+        ownExpense.setId(100L);
+        ownExpense.setName("Groceries");
+        ownExpense.setCategory(ownFood);
+        Expense otherExpense = new Expense();
+        otherExpense.setId(200L);
+        otherExpense.setName("Restaurant");
+        otherExpense.setCategory(otherFood);
+
+        // when
+        when(userService.getLoggedInUserId()).thenReturn(ID_VALUE);
+        when(categoryRepository.findByUserIdAndName(ID_VALUE, "Food")).thenReturn(Optional.of(ownFood));
+        when(categoryRepository.findByUserIdAndName(otherUserId, "Food")).thenReturn(Optional.of(otherFood));
+        when(expenseRepository.findByCategory(ownFood)).thenReturn(List.of(ownExpense));
+        when(expenseRepository.findByCategory(otherFood)).thenReturn(List.of(otherExpense));
+        List<ExpenseDTO> result = expenseService.getExpensesByCategoryName("Food");
+
+        // then
+        assertAll("Tenant scoping checks",
+                () -> assertEquals(List.of(100L), result.stream().map(ExpenseDTO::getId).toList()),
+                () -> verify(categoryRepository, never()).findByUserIdAndName(otherUserId, "Food"),
+                () -> verify(expenseRepository, never()).findByCategory(otherFood)
+        );
+    }
+
     @Test
     void whenCategoryExistsForLoggedInUserThenReturnExpenses() throws IOException {
 
@@ -388,10 +535,9 @@ class ExpenseServiceImplTest {
 
         // given
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Expense> emptyExpensesPage = Page.empty();
 
         // when
-        when(expenseRepository.findByUserId(ID_VALUE, pageable)).thenReturn(emptyExpensesPage);
+        when(expenseRepository.deleteBatchByUserId(ID_VALUE, 10)).thenReturn(0);
 
         // then
         ResourceNotFoundException thrown = assertThrows(ResourceNotFoundException.class, () -> {
@@ -444,7 +590,7 @@ class ExpenseServiceImplTest {
         // when
         when(expenseRepository.findByUserIdAndId(ID_VALUE, existingExpense.getId()))
                 .thenReturn(Optional.of(existingExpense));
-        when(categoryRepository.findByNameAndUser(expenseDTO.getCategoryDTO().getName(), mockUser))
+        when(categoryCache.find(ID_VALUE, expenseDTO.getCategoryDTO().getName()))
                 .thenReturn(Optional.empty());
 
         // then
@@ -502,7 +648,8 @@ class ExpenseServiceImplTest {
         String invalidCategoryName = "Nonexistent Category";
 
         // when
-        when(categoryRepository.findByName(invalidCategoryName)).thenReturn(Optional.empty());
+        when(userService.getLoggedInUserId()).thenReturn(ID_VALUE);
+        when(categoryRepository.findByUserIdAndName(ID_VALUE, invalidCategoryName)).thenReturn(Optional.empty());
 
         // then
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -525,4 +672,286 @@ class ExpenseServiceImplTest {
             expenseService.getCategoriesByNameForLoggedInUser(invalidCategoryName);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenMoreExpensesThanPageSizeThenNextCursorReturned() throws IOException {
+
+        // given
+        String validMessagesArray = FileHelper.readFromFile("requests/expense/ExpenseArray.json");
+        List<Expense> expenses = Arrays.asList(objectMapper.readValue(validMessagesArray, Expense[].class));
+
+        // when
+        when(expenseRepository.findKeysetByUserId(ID_VALUE, PageRequest.of(0, 2))).thenReturn(expenses);
+        CursorPageDTO<ExpenseDTO> result = expenseService.getAllExpenses(null, 1);
+
+        // then
+        ExpenseCursorModel nextCursor = ExpenseCursorModel.decode(result.getNextCursor());
+        assertAll("Cursor page checks",
+                () -> assertEquals(1, result.getContent().size()),
+                () -> assertTrue(result.isHasNext()),
+                () -> assertEquals(expenses.get(0).getId(), nextCursor.id()),
+                () -> assertEquals(expenses.get(0).getDate().toLocalDate(), nextCursor.date().toLocalDate())
+        );
+        verify(expenseRepository, never()).findByUserId(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void whenCursorGivenThenExpensesAfterCursorReturned() throws IOException {
+
+        // given
+        String validMessage = FileHelper.readFromFile("requests/expense/Expense.json");
+        Expense expense = objectMapper.readValue(validMessage, Expense.class);
+        ExpenseCursorModel cursor = new ExpenseCursorModel(Date.valueOf("2024-11-05"), 2L);
+
+        // when
+        when(expenseRepository.findKeysetByUserIdAndNameContainingAfter(ID_VALUE, "Expense", cursor.date(), 2L, PageRequest.of(0, 11)))
+                .thenReturn(List.of(expense));
+        CursorPageDTO<ExpenseDTO> result = expenseService.readByName("Expense", cursor.encode(), 10);
+
+        // then
+        assertAll("Cursor page checks",
+                () -> assertEquals(1, result.getContent().size()),
+                () -> assertEquals(expense.getId(), result.getContent().get(0).getId()),
+                () -> assertFalse(result.isHasNext()),
+                () -> assertNull(result.getNextCursor())
+        );
+    }
+
+    @Test
+    void whenInvalidCursorThenThrowIllegalArgumentException() {
+
+        // when & then
+        assertAll("Invalid cursor checks",
+                () -> assertThrows(IllegalArgumentException.class, () -> expenseService.readByDate(null, null, "not-a-cursor", 10)),
+                () -> assertThrows(IllegalArgumentException.class, () -> expenseService.getAllExpenses(null, 0))
+        );
+    }
+
+    @Test
+    void whenSaveExpensesBatchThenCategoriesResolvedOnceAndValidItemsInserted() {
+
+        // given
+        List<ExpenseDTO> expenseDTOs = List.of(
+                buildBatchExpense("Lunch", "Food"),
+                buildBatchExpense("X", "Food"),
+                buildBatchExpense("Train", "Travel"));
+
+        // when
+        when(categoryCache.getOrCreateAll(eq(mockUser), anyMap())).thenReturn(Map.of(
+                "Food", new CategoryCache.CachedCategory(1L, "Food", null),
+                "Travel", new CategoryCache.CachedCategory(2L, "Travel", null)));
+        doAnswer(invocation -> {
+            List<Expense> expenses = invocation.getArgument(1);
+            for (int i = 0; i < expenses.size(); i++) {
+                expenses.get(i).setId(100L + i);
+            }
+            return null;
+        }).when(expenseRepository).batchInsert(eq(ID_VALUE), anyList());
+        List<ExpenseBatchResultDTO> results = expenseService.saveExpensesBatch(expenseDTOs);
+
+        // then
+        assertAll("Batch result checks",
+                () -> assertEquals(3, results.size()),
+                () -> assertEquals(ExpenseBatchResultDTO.Status.CREATED, results.get(0).getStatus()),
+                () -> assertEquals(100L, results.get(0).getExpense().getId()),
+                () -> assertEquals("Food", results.get(0).getExpense().getCategoryDTO().getName()),
+                () -> assertEquals(ExpenseBatchResultDTO.Status.FAILED, results.get(1).getStatus()),
+                () -> assertEquals(1, results.get(1).getIndex()),
+                () -> assertFalse(results.get(1).getErrors().isEmpty()),
+                () -> assertEquals(ExpenseBatchResultDTO.Status.CREATED, results.get(2).getStatus()),
+                () -> assertEquals(101L, results.get(2).getExpense().getId()),
+                () -> assertEquals("Travel", results.get(2).getExpense().getCategoryDTO().getName())
+        );
+        verify(categoryCache, times(1)).getOrCreateAll(eq(mockUser),
+                argThat(requested -> requested.keySet().equals(Set.of("Food", "Travel"))));
+        verify(categoryRepository, never()).findByNameAndUser(any(), any());
+        verify(expenseRepository, times(1)).batchInsert(eq(ID_VALUE), anyList());
+        verify(expenseRepository, never()).save(any(Expense.class));
+    }
+
+    @Test
+    void whenExpenseBatchExceedsLimitThenThrowIllegalArgumentException() {
+
+        // given
+        List<ExpenseDTO> expenseDTOs = List.of(
+                buildBatchExpense("Lunch", "Food"),
+                buildBatchExpense("Dinner", "Food"),
+                buildBatchExpense("Train", "Travel"),
+                buildBatchExpense("Taxi", "Travel"));
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> expenseService.saveExpensesBatch(expenseDTOs));
+        verify(expenseRepository, never()).batchInsert(anyLong(), anyList());
+    }
+
+    @Test
+    void whenExportAsCsvThenHeaderAndEscapedRowsWritten() throws IOException {
+
+        // given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Stream<ExpenseExportModel> rows = Stream.of(
+                new ExpenseExportModel(1L, "Lunch", "Soup, bread", new BigDecimal("12.50"), Date.valueOf("2024-10-31"), null, "Food"),
+                new ExpenseExportModel(2L, "Taxi", "Said \"hurry\"", BigDecimal.TEN, Date.valueOf("2024-11-01"), "late", "Travel"));
+
+        // when
+        when(expenseRepository.streamExportByUserId(ID_VALUE)).thenReturn(rows);
+        long exported = expenseService.exportExpenses(ExportFormat.CSV, outputStream);
+
+        // then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertAll("CSV export checks",
+                () -> assertEquals(2, exported),
+                () -> assertEquals(3, lines.length),
+                () -> assertEquals("id,name,description,amount,date,notes,category", lines[0]),
+                () -> assertEquals("1,Lunch,\"Soup, bread\",12.50,2024-10-31,,Food", lines[1]),
+                () -> assertEquals("2,Taxi,\"Said \"\"hurry\"\"\",10,2024-11-01,late,Travel", lines[2])
+        );
+    }
+
+    @Test
+    void whenExportAsNdjsonThenOneJsonObjectPerLineWritten() throws IOException {
+
+        // given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Stream<ExpenseExportModel> rows = Stream.of(
+                new ExpenseExportModel(1L, "Lunch", null, BigDecimal.ONE, Date.valueOf("2024-10-31"), null, "Food"),
+                new ExpenseExportModel(2L, "Taxi", null, BigDecimal.TEN, Date.valueOf("2024-11-01"), null, "Travel"));
+
+        // when
+        when(expenseRepository.streamExportByUserId(ID_VALUE)).thenReturn(rows);
+        long exported = expenseService.exportExpenses(ExportFormat.NDJSON, outputStream);
+
+        // then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertAll("NDJSON export checks",
+                () -> assertEquals(2, exported),
+                () -> assertEquals(2, lines.length),
+                () -> assertEquals("Lunch", objectMapper.readTree(lines[0]).get("name").asText()),
+                () -> assertEquals("Travel", objectMapper.readTree(lines[1]).get("category").asText())
+        );
+    }
+
+    @Test
+    void whenSummaryByMonthThenPeriodFormattedAsYearMonth() {
+
+        // given
+        Date startDate = Date.valueOf("2024-01-01");
+        Date endDate = Date.valueOf("2024-12-31");
+        Set<SummaryGroupBy> groupBy = EnumSet.of(SummaryGroupBy.CATEGORY, SummaryGroupBy.MONTH);
+        List<ExpenseSummaryModel> groups = List.of(
+                new ExpenseSummaryModel("Food", 2024, 3, null, new BigDecimal("25.50"), 3, BigDecimal.ONE, BigDecimal.TEN));
+
+        // when
+        when(expenseRepository.summarizeByUserId(ID_VALUE, groupBy, startDate, endDate)).thenReturn(groups);
+        List<ExpenseSummaryDTO> summary = expenseService.getExpenseSummary(groupBy, startDate, endDate);
+
+        // then
+        assertAll("Summary checks",
+                () -> assertEquals(1, summary.size()),
+                () -> assertEquals("Food", summary.get(0).getCategory()),
+                () -> assertEquals("2024-03", summary.get(0).getPeriod()),
+                () -> assertEquals(new BigDecimal("25.50"), summary.get(0).getTotal()),
+                () -> assertEquals(3, summary.get(0).getCount()),
+                () -> assertEquals(BigDecimal.ONE, summary.get(0).getMin()),
+                () -> assertEquals(BigDecimal.TEN, summary.get(0).getMax())
+        );
+    }
+
+    @Test
+    void whenSummaryByMonthAndDayThenThrowIllegalArgumentException() {
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> expenseService.getExpenseSummary(
+                EnumSet.of(SummaryGroupBy.MONTH, SummaryGroupBy.DAY), null, null));
+        verify(expenseRepository, never()).summarizeByUserId(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void whenTotalsCacheEnabledThenTotalServedFromCache() {
+
+        // given
+        Date startDate = Date.valueOf("2024-01-01");
+        Date endDate = Date.valueOf("2024-12-31");
+
+        // when
+        when(expenseTotalsCache.isEnabled()).thenReturn(true);
+        when(expenseTotalsCache.getTotal(ID_VALUE, startDate, endDate)).thenReturn(new ExpenseTotalsCache.RangeTotal(12345, 3));
+        ExpenseTotalDTO total = expenseService.getExpenseTotal(startDate, endDate);
+
+        // then
+        assertAll("Total checks",
+                () -> assertEquals(new BigDecimal("123.45"), total.getTotal()),
+                () -> assertEquals(3, total.getCount()),
+                () -> verify(expenseRepository, never()).summarizeByUserId(anyLong(), any(), any(), any())
+        );
+    }
+
+    @Test
+    void whenTotalsCacheDisabledThenTotalComputedInDatabase() {
+
+        // given
+        Date startDate = Date.valueOf("2024-01-01");
+        Date endDate = Date.valueOf("2024-12-31");
+
+        // when
+        when(expenseTotalsCache.isEnabled()).thenReturn(false);
+        when(expenseRepository.summarizeByUserId(ID_VALUE, EnumSet.noneOf(SummaryGroupBy.class), startDate, endDate))
+                .thenReturn(List.of());
+        ExpenseTotalDTO total = expenseService.getExpenseTotal(startDate, endDate);
+
+        // then
+        assertAll("Total checks",
+                () -> assertEquals(BigDecimal.ZERO, total.getTotal()),
+                () -> assertEquals(0, total.getCount()),
+                () -> verify(expenseTotalsCache, never()).getTotal(anyLong(), any(), any())
+        );
+    }
+
+    @Test
+    void whenSearchExpensesThenBooleanQueryBuiltAndRankOrderKept() {
+
+        // given
+        Expense first = new Expense();
+        first.setId(7L);
+        first.setName("Coffee at Starbucks");
+        Expense second = new Expense();
+        second.setId(3L);
+        second.setName("Starter coffee beans");
+
+        // when
+        when(expenseRepository.searchIdsByUserId(ID_VALUE, "+coffee* +star*", PageRequest.of(0, 20)))
+                .thenReturn(List.of(7L, 3L));
+        when(expenseRepository.findByIdIn(List.of(7L, 3L))).thenReturn(List.of(second, first));
+        List<ExpenseDTO> result = expenseService.searchExpenses("Coffee, +star* at", PageRequest.of(0, 20));
+
+        // then
+        assertAll("Search checks",
+                () -> assertEquals(2, result.size()),
+                () -> assertEquals(7L, result.get(0).getId()),
+                () -> assertEquals(3L, result.get(1).getId())
+        );
+    }
+
+    @Test
+    void whenSearchQueryHasNoLongEnoughTermThenIllegalArgumentExceptionThrown() {
+
+        // when
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> expenseService.searchExpenses("a +b", PageRequest.of(0, 20)));
+
+        // then
+        assertAll("Exception checks",
+                () -> assertEquals("Search query must contain a term of at least 3 characters", exception.getMessage()),
+                () -> verify(expenseRepository, never()).searchIdsByUserId(anyLong(), any(), any())
+        );
+    }
+
+    private ExpenseDTO buildBatchExpense(String name, String categoryName) {
+        return ExpenseDTO.builder()
+                .name(name)
+                .amount(BigDecimal.TEN)
+                .date(Date.valueOf("2024-10-31"))
+                .categoryDTO(CategoryDTO.builder().name(categoryName).build())
+                .build();
+    }
+}
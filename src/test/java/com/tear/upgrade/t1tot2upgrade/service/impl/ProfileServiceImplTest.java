@@ -43,6 +43,7 @@ class ProfileServiceImplTest {
         mockUser.setId(1L);
         when(mockUser.getId()).thenReturn(1L);
         when(userService.getLoggedInUser()).thenReturn(mockUser);
+        when(userService.getLoggedInUserId()).thenReturn(1L);
         objectMapper = new ObjectMapper();
     }
 
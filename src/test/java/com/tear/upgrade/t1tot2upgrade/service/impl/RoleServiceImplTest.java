@@ -4,9 +4,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tear.upgrade.t1tot2upgrade.dto.RoleDTO;
 import com.tear.upgrade.t1tot2upgrade.entity.Role;
 import com.tear.upgrade.t1tot2upgrade.entity.User;
+import com.tear.upgrade.t1tot2upgrade.entity.model.RoleMemberModel;
 import com.tear.upgrade.t1tot2upgrade.exceptions.ItemAlreadyExistsException;
 import com.tear.upgrade.t1tot2upgrade.exceptions.ResourceNotFoundException;
 import com.tear.upgrade.t1tot2upgrade.repository.RoleRepository;
+import com.tear.upgrade.t1tot2upgrade.repository.UserRepository;
+import com.tear.upgrade.t1tot2upgrade.security.TokenRevocationRegistry;
+import com.tear.upgrade.t1tot2upgrade.security.VerifiedTokenCache;
 import com.tear.upgrade.t1tot2upgrade.service.UserService;
 import com.tear.upgrade.t1tot2upgrade.utils.FileHelper;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +18,10 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -23,6 +31,8 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class RoleServiceImplTest {
@@ -38,6 +48,15 @@ class RoleServiceImplTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
     private ObjectMapper objectMapper;
 
     @BeforeEach
@@ -106,7 +125,31 @@ class RoleServiceImplTest {
         assertAll("Updated Role DTO checks",
                 () -> assertNotNull(updatedRoleDTO),
                 () -> assertEquals(role.getId(), updatedRoleDTO.getId()),
-                () -> assertEquals(role.getRoleName(), updatedRoleDTO.getRoleName())
+                () -> assertEquals(role.getRoleName(), updatedRoleDTO.getRoleName()),
+                () -> verify(tokenRevocationRegistry, never()).revokeRoleMembers(any()),
+                () -> verify(verifiedTokenCache, never()).evictRole(any())
+        );
+    }
+
+    @Test
+    void whenRoleRenamedThenTokensOfMembersRevoked() throws IOException {
+
+        // given
+        String validMessage = FileHelper.readFromFile("requests/role/Role.json");
+        Role role = objectMapper.readValue(validMessage, Role.class);
+        RoleDTO roleDTO = RoleDTO.builder().roleName("SUPERVISOR").build();
+        Role renamedRole = new Role(role.getId(), "SUPERVISOR");
+
+        // when
+        when(roleRepository.findById(ID_VALUE)).thenReturn(Optional.of(role));
+        when(roleRepository.save(any(Role.class))).thenReturn(renamedRole);
+        RoleDTO updatedRoleDTO = roleService.updateRole(role.getId(), roleDTO);
+
+        // then
+        assertAll("Renamed Role checks",
+                () -> assertEquals("SUPERVISOR", updatedRoleDTO.getRoleName()),
+                () -> verify(tokenRevocationRegistry).revokeRoleMembers(ID_VALUE),
+                () -> verify(verifiedTokenCache).evictRole("ADMIN")
         );
     }
 
@@ -194,4 +237,42 @@ class RoleServiceImplTest {
                 () -> assertTrue(result.isEmpty())
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenRoleExistsThenReadRoleMembersReturnsRequestedPage() {
+
+        // given
+        Pageable page = PageRequest.of(1, 2);
+        List<RoleMemberModel> members = List.of(new RoleMemberModel(3L, "john", "john.doe@example.com"),
+                new RoleMemberModel(4L, "jane", "jane.doe@example.com"));
+
+        // when
+        when(roleRepository.existsById(ID_VALUE)).thenReturn(true);
+        when(userRepository.findMembersByRoleId(ID_VALUE, page)).thenReturn(new PageImpl<>(members, page, 5));
+        Page<RoleMemberModel> result = roleService.readRoleMembers(ID_VALUE, page);
+
+        // then
+        assertAll("Role members checks",
+                () -> assertEquals(members, result.getContent()),
+                () -> assertEquals(5, result.getTotalElements()),
+                () -> assertEquals(3, result.getTotalPages())
+        );
+    }
+
+    @Test
+    void whenRoleNotFoundThenReadRoleMembersThrowsResourceNotFoundException() {
+
+        // given
+        Long nonExistentRoleId = 999L;
+
+        // when
+        when(roleRepository.existsById(nonExistentRoleId)).thenReturn(false);
+
+        // then
+        assertAll("Missing role checks",
+                () -> assertThrows(ResourceNotFoundException.class,
+                        () -> roleService.readRoleMembers(nonExistentRoleId, PageRequest.of(0, 20))),
+                () -> verify(userRepository, never()).findMembersByRoleId(any(), any())
+        );
+    }
+}
@@ -1,7 +1,9 @@
 package com.tear.upgrade.t1tot2upgrade.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tear.upgrade.t1tot2upgrade.dto.RoleDTO;
 import com.tear.upgrade.t1tot2upgrade.dto.UserDTO;
+import com.tear.upgrade.t1tot2upgrade.dto.UserResponseDTO;
 import com.tear.upgrade.t1tot2upgrade.entity.Profile;
 import com.tear.upgrade.t1tot2upgrade.entity.Role;
 import com.tear.upgrade.t1tot2upgrade.entity.User;
@@ -9,6 +11,10 @@ import com.tear.upgrade.t1tot2upgrade.exceptions.ItemAlreadyExistsException;
 import com.tear.upgrade.t1tot2upgrade.exceptions.ResourceNotFoundException;
 import com.tear.upgrade.t1tot2upgrade.repository.RoleRepository;
 import com.tear.upgrade.t1tot2upgrade.repository.UserRepository;
+import com.tear.upgrade.t1tot2upgrade.security.AuthenticatedUser;
+import com.tear.upgrade.t1tot2upgrade.security.LoggedInUserContext;
+import com.tear.upgrade.t1tot2upgrade.security.TokenRevocationRegistry;
+import com.tear.upgrade.t1tot2upgrade.security.VerifiedTokenCache;
 import com.tear.upgrade.t1tot2upgrade.service.UserService;
 import com.tear.upgrade.t1tot2upgrade.utils.FileHelper;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,6 +30,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -50,6 +57,15 @@ class UserServiceImplTest {
     @Mock
     private PasswordEncoder bcryptEncoder;
 
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Mock
+    private LoggedInUserContext loggedInUserContext;
+
     private ObjectMapper objectMapper;
 
     @BeforeEach
@@ -86,7 +102,7 @@ class UserServiceImplTest {
         when(roleRepository.findByRoleName(anyString())).thenReturn(Optional.of(defaultRole));
         when(userRepository.existsByEmail(anyString())).thenReturn(false);
         when(userRepository.save(any(User.class))).thenReturn(user);
-        User result = userServiceImpl.createUser(userDTO);
+        UserResponseDTO result = userServiceImpl.createUser(userDTO);
 
         // then
         assertAll("User creation checks",
@@ -106,18 +122,20 @@ class UserServiceImplTest {
         String validMessage = FileHelper.readFromFile("requests/user/User.json");
         User user = objectMapper.readValue(validMessage, User.class);
         when(userService.getLoggedInUser()).thenReturn(user);
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userRepository.findWithProfileById(user.getId())).thenReturn(Optional.of(user));
         when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
 
         // when
-        User result = userServiceImpl.readUser();
+        UserResponseDTO result = userServiceImpl.readUser();
 
         // then
         assertAll("User reading checks",
                 () -> assertNotNull(result),
                 () -> assertEquals(user.getId(), result.getId()),
                 () -> assertEquals(user.getUsername(), result.getUsername()),
-                () -> assertEquals(user.getEmail(), result.getEmail())
+                () -> assertEquals(user.getEmail(), result.getEmail()),
+                () -> assertEquals(List.of("ADMIN", "USER"), result.getRoles().stream().map(RoleDTO::getRoleName).toList()),
+                () -> assertEquals(user.getProfile().getFirstName(), result.getProfile().getFirstName())
         );
     }
 
@@ -156,15 +174,15 @@ class UserServiceImplTest {
 
         // when
         when(roleRepository.findByRoleName(anyString())).thenReturn(Optional.of(defaultRole));
-        when(userRepository.findById(existingUser.getId())).thenReturn(Optional.of(existingUser));
+        when(userRepository.findWithProfileById(existingUser.getId())).thenReturn(Optional.of(existingUser));
         when(userRepository.save(existingUser)).thenReturn(updatedUser);
-        User result = userServiceImpl.updateUserById(updatedUser.getId(), updatedUser);
+        UserResponseDTO result = userServiceImpl.updateUserById(updatedUser.getId(), updatedUser);
 
         // then
         assertAll("User update checks",
                 () -> assertNotNull(result),
                 () -> assertEquals(updatedUser.getEmail(), result.getEmail()),
-                () -> verify(userRepository, times(1)).findById(existingUser.getId()),
+                () -> verify(userRepository, times(1)).findWithProfileById(existingUser.getId()),
                 () -> verify(userRepository, times(1)).save(existingUser)
         );
     }
@@ -242,7 +260,7 @@ class UserServiceImplTest {
         User updatedUser = objectMapper.readValue(validUpdatedUser, User.class);
 
         // when
-        when(userRepository.findById(ID_VALUE)).thenReturn(Optional.empty());
+        when(userRepository.findWithProfileById(ID_VALUE)).thenReturn(Optional.empty());
 
         // then
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -250,4 +268,56 @@ class UserServiceImplTest {
         });
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void whenUserResolvedEarlierInRequestThenRepositoryNotQueried() throws IOException {
+
+        // given
+        String validMessage = FileHelper.readFromFile("requests/user/User.json");
+        User user = objectMapper.readValue(validMessage, User.class);
+
+        // when
+        when(loggedInUserContext.getUser(user.getEmail())).thenReturn(Optional.of(user));
+        User loggedInUser = userServiceImpl.getLoggedInUser();
+
+        // then
+        assertAll("Cached user checks",
+                () -> assertSame(user, loggedInUser),
+                () -> verify(userRepository, never()).findByEmail(anyString())
+        );
+    }
+
+    @Test
+    void whenUserLoadedThenStoredInRequestContext() throws IOException {
+
+        // given
+        String validMessage = FileHelper.readFromFile("requests/user/User.json");
+        User user = objectMapper.readValue(validMessage, User.class);
+
+        // when
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        userServiceImpl.getLoggedInUser();
+
+        // then
+        verify(loggedInUserContext, times(1)).setUser(user.getEmail(), user);
+    }
+
+    @Test
+    void whenPrincipalCarriesUserIdThenLoggedInUserIdResolvedWithoutLookup() {
+
+        // given
+        AuthenticatedUser principal = new AuthenticatedUser(ID_VALUE, "john.doe@example.com", "", List.of());
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+        SecurityContextHolder.setContext(securityContext);
+
+        // when
+        Long userId = userServiceImpl.getLoggedInUserId();
+
+        // then
+        assertAll("User id checks",
+                () -> assertEquals(ID_VALUE, userId),
+                () -> verify(userRepository, never()).findByEmail(anyString())
+        );
+    }
+}